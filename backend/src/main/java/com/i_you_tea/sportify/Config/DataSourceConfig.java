@@ -0,0 +1,60 @@
+package com.i_you_tea.sportify.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Primary pool from spring.datasource, optional read-only replica pool from
+ * sportify.datasource.replica, and the routing data source and transaction manager on top.
+ * Without a replica url every transaction uses the primary.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public ReadWriteRoutingDataSource dataSource(HikariDataSource primaryDataSource,
+                                                 @Value("${sportify.datasource.replica.url:}") String replicaUrl,
+                                                 @Value("${sportify.datasource.replica.username:}") String replicaUsername,
+                                                 @Value("${sportify.datasource.replica.password:}") String replicaPassword,
+                                                 @Value("${sportify.datasource.replica.maximum-pool-size:10}") int replicaPoolSize) {
+        HikariDataSource replica = null;
+        if (!replicaUrl.isBlank()) {
+            replica = new HikariDataSource();
+            replica.setPoolName("replica");
+            replica.setJdbcUrl(replicaUrl);
+            replica.setUsername(replicaUsername.isBlank() ? primaryDataSource.getUsername() : replicaUsername);
+            replica.setPassword(replicaPassword.isBlank() ? primaryDataSource.getPassword() : replicaPassword);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            System.out.println("[DataSourceConfig] Read-only transactions use the replica at " + replicaUrl);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replica);
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(ReadWriteRoutingDataSource dataSource,
+                                                         ReadYourWritesWindow readYourWritesWindow,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        ReadWriteJpaTransactionManager transactionManager =
+                new ReadWriteJpaTransactionManager(readYourWritesWindow, dataSource.hasReplica());
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+}
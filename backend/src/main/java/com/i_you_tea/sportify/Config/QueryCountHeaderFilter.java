@@ -0,0 +1,48 @@
+package com.i_you_tea.sportify.Config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Development aid: adds the number of Hibernate statements the request executed as the
+ * X-Query-Count response header. The header is written just before the response is committed,
+ * so statements run while the body is being written (e.g. lazy loads during serialization) are
+ * not included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "sportify.dev.query-count-header", havingValue = "true")
+public class QueryCountHeaderFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        HttpServletResponse counted = new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                response.setHeader(HEADER, Long.toString(QueryCounter.current()));
+            }
+        };
+        try {
+            filterChain.doFilter(request, counted);
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, Long.toString(QueryCounter.current()));
+            }
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+}
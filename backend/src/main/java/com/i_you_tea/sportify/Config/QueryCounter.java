@@ -0,0 +1,57 @@
+package com.i_you_tea.sportify.Config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts the JDBC statements Hibernate executes on the current thread between start and stop,
+ * across every session the thread uses. Fed by Hibernate's per-session statistics events; the
+ * global Statistics counters mix in all other threads and cannot be attributed to one request.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    /**
+     * Statements executed since start, or 0 when the thread is not counting.
+     */
+    public static long current() {
+        long[] count = COUNT.get();
+        return count != null ? count[0] : 0;
+    }
+
+    public static long stop() {
+        long count = current();
+        COUNT.remove();
+        return count;
+    }
+
+    /**
+     * Registered for every session through hibernate.session.events.auto; a batch counts as one statement.
+     */
+    public static class Listener implements SessionEventListener {
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            increment();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            increment();
+        }
+
+        private static void increment() {
+            long[] count = COUNT.get();
+            if (count != null) {
+                count[0]++;
+            }
+        }
+    }
+}
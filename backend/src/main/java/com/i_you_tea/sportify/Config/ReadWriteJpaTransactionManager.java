@@ -0,0 +1,78 @@
+package com.i_you_tea.sportify.Config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes each new transaction before it takes its connection: read-only transactions go to the
+ * replica unless the current user is inside their read-your-writes window, everything else to the
+ * primary. Replica transactions read the second-level cache but do not fill it, so a row the
+ * replica has not caught up on yet is never cached over the committed one. Committed writes open
+ * the user's window.
+ */
+public class ReadWriteJpaTransactionManager extends JpaTransactionManager {
+
+    private final ReadYourWritesWindow readYourWritesWindow;
+    private final boolean replicaConfigured;
+
+    public ReadWriteJpaTransactionManager(ReadYourWritesWindow readYourWritesWindow, boolean replicaConfigured) {
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.replicaConfigured = replicaConfigured;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        ReadWriteRoutingDataSource.Route route = replicaConfigured && definition.isReadOnly() && !readYourWritesWindow.isOpen()
+                ? ReadWriteRoutingDataSource.Route.REPLICA
+                : ReadWriteRoutingDataSource.Route.PRIMARY;
+        ReadWriteRoutingDataSource.push(route);
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            ReadWriteRoutingDataSource.pop();
+            throw e;
+        }
+        if (route == ReadWriteRoutingDataSource.Route.REPLICA) {
+            Session session = currentSession();
+            if (session != null) {
+                session.setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            readYourWritesWindow.wrote();
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            if (ReadWriteRoutingDataSource.current() == ReadWriteRoutingDataSource.Route.REPLICA) {
+                // The session outlives the transaction when opened in view
+                Session session = currentSession();
+                if (session != null && session.isOpen()) {
+                    session.setCacheMode(CacheMode.NORMAL);
+                }
+            }
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            ReadWriteRoutingDataSource.pop();
+        }
+    }
+
+    private Session currentSession() {
+        EntityManagerFactory entityManagerFactory = obtainEntityManagerFactory();
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+        return holder != null ? holder.getEntityManager().unwrap(Session.class) : null;
+    }
+}
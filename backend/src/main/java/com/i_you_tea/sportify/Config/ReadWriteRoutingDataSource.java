@@ -0,0 +1,66 @@
+package com.i_you_tea.sportify.Config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Hands out primary or replica connections according to the route of the current transaction,
+ * which ReadWriteJpaTransactionManager sets before the transaction acquires its connection.
+ * Connections taken outside a transaction always come from the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    // Routes of the transactions open on this thread; a REQUIRES_NEW transaction is pushed over its outer one
+    private static final ThreadLocal<Deque<Route>> ROUTES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final DataSource replica;
+
+    /**
+     * @param replica read-only pool owned and closed by this data source, or null to send all traffic to the primary
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        this.replica = replica;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica != null ? replica : primary));
+        setDefaultTargetDataSource(primary);
+    }
+
+    public boolean hasReplica() {
+        return replica != null;
+    }
+
+    static void push(Route route) {
+        ROUTES.get().push(route);
+    }
+
+    static void pop() {
+        Deque<Route> routes = ROUTES.get();
+        routes.poll();
+        if (routes.isEmpty()) {
+            ROUTES.remove();
+        }
+    }
+
+    static Route current() {
+        Route route = ROUTES.get().peek();
+        return route != null ? route : Route.PRIMARY;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return current();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
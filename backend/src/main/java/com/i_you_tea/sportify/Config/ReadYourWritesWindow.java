@@ -0,0 +1,71 @@
+package com.i_you_tea.sportify.Config;
+
+import com.i_you_tea.sportify.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users who committed a write in the last few seconds, whose reads must not go to a replica that
+ * may not have replayed it yet. Kept per application instance, so the window only holds for users
+ * whose requests reach the instance that served the write.
+ */
+@Component
+public class ReadYourWritesWindow {
+
+    // Expired entries are swept once the map grows past this many users
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<Long, Long> openUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesWindow(@Value("${sportify.datasource.read-your-writes-ms:5000}") long windowMs) {
+        this.windowNanos = Math.max(0, windowMs) * 1_000_000;
+    }
+
+    /**
+     * Opens the window for the authenticated user of the current thread, if any.
+     */
+    public void wrote() {
+        Long userId = currentUserId();
+        if (userId == null || windowNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        openUntil.put(userId, now + windowNanos);
+        if (openUntil.size() > SWEEP_THRESHOLD) {
+            openUntil.values().removeIf(deadline -> deadline - now < 0);
+        }
+    }
+
+    /**
+     * Whether the authenticated user of the current thread wrote within the window.
+     */
+    public boolean isOpen() {
+        Long userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long deadline = openUntil.get(userId);
+        if (deadline == null) {
+            return false;
+        }
+        if (deadline - System.nanoTime() < 0) {
+            openUntil.remove(userId, deadline);
+            return false;
+        }
+        return true;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getUserId();
+        }
+        return null;
+    }
+}
@@ -3,6 +3,7 @@ package com.i_you_tea.sportify.Config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -51,11 +52,15 @@ public class SecurityConfiguration {
                                                                 "/api/aws/upload",
                                                                 "/api/utils/getAppVersionByOS/**",
                                                                 "/api/notifications/sendSingleNotification",
+                                                                "/api/notifications/stream",
                                                                 "/actuator/**",
                                                                 "/api/deepLink/**",
                                                                 "/api/user/ping/**",
                                                                 "/api/certificates/**")
                                                 .permitAll()
+                                                // Loaded by <img> tags, which send no token; keys are unguessable hashes
+                                                .requestMatchers(HttpMethod.GET, "/api/users/photos/*")
+                                                .permitAll()
                                                 .anyRequest().authenticated())
                                 .sessionManagement(manager -> manager
                                                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,11 @@
+package com.i_you_tea.sportify.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class NotificationQueueFullException extends RuntimeException {
+    public NotificationQueueFullException(String msg) {
+        super(msg);
+    }
+}
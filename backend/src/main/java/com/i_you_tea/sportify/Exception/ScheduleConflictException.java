@@ -0,0 +1,21 @@
+package com.i_you_tea.sportify.Exception;
+
+import com.i_you_tea.sportify.dto.ScheduleConflictDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ScheduleConflictException extends RuntimeException {
+    private final List<ScheduleConflictDTO> conflicts;
+
+    public ScheduleConflictException(List<ScheduleConflictDTO> conflicts) {
+        super("Venue already booked for " + conflicts.size() + " overlapping slot(s)");
+        this.conflicts = conflicts;
+    }
+
+    public List<ScheduleConflictDTO> getConflicts() {
+        return conflicts;
+    }
+}
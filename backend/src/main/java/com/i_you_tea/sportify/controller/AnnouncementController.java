@@ -1,16 +1,23 @@
 package com.i_you_tea.sportify.controller;
 
 import com.i_you_tea.sportify.dto.AnnouncementDTO;
+import com.i_you_tea.sportify.dto.AnnouncementFeedPageDTO;
 import com.i_you_tea.sportify.entity.Announcement;
+import com.i_you_tea.sportify.service.AnnouncementFeedService;
+import com.i_you_tea.sportify.service.AnnouncementScheduler;
 import com.i_you_tea.sportify.service.AnnouncementService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -20,6 +27,12 @@ public class AnnouncementController {
     @Autowired
     private AnnouncementService announcementService;
 
+    @Autowired
+    private AnnouncementFeedService announcementFeedService;
+
+    @Autowired
+    private AnnouncementScheduler announcementScheduler;
+
     @GetMapping
     public ResponseEntity<List<AnnouncementDTO>> getAllAnnouncements(@RequestHeader("Authorization") String token) {
         token = token.replace("Bearer ", "");
@@ -30,6 +43,37 @@ public class AnnouncementController {
         return ResponseEntity.ok(announcementDTOs);
     }
 
+    /**
+     * Currently active announcements, newest first, with a content preview; cursor-paged through
+     * beforePostedAt/beforeId. Clients revalidate with If-None-Match and get 304 while the feed is unchanged.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<AnnouncementFeedPageDTO> getActiveFeed(
+            @RequestParam(required = false) Long sportId,
+            @RequestParam(required = false) Long tournamentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforePostedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size) {
+        AnnouncementFeedPageDTO page = announcementFeedService.getFeedPage(sportId, tournamentId, beforePostedAt, beforeId, size);
+        // A matching If-None-Match turns this into a 304 without a body
+        return ResponseEntity.ok()
+                .eTag(announcementFeedService.eTag(page.getVersion()))
+                .cacheControl(CacheControl.noCache())
+                .body(page);
+    }
+
+    @GetMapping("/timers/stats")
+    public ResponseEntity<Map<String, Object>> getTimerStats() {
+        return ResponseEntity.ok(announcementScheduler.stats());
+    }
+
+    @GetMapping("/{announcementId}")
+    public ResponseEntity<AnnouncementDTO> getAnnouncement(@PathVariable Long announcementId) {
+        return announcementService.getAnnouncement(announcementId)
+                .map(announcement -> ResponseEntity.ok(AnnouncementDTO.fromEntity(announcement)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("/make")
     public ResponseEntity<AnnouncementDTO> makeAnnouncement(@RequestBody @Valid com.i_you_tea.sportify.dto.AnnouncementMakeDTO dto) {
         Announcement created = announcementService.makeAnnouncement(
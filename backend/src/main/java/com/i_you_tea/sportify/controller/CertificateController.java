@@ -1,6 +1,7 @@
 package com.i_you_tea.sportify.controller;
 
 import com.i_you_tea.sportify.dto.CertificateDTO;
+import com.i_you_tea.sportify.dto.CertificateJobDTO;
 import com.i_you_tea.sportify.entity.Certificate;
 import com.i_you_tea.sportify.entity.Sport;
 import com.i_you_tea.sportify.entity.Tournament;
@@ -8,13 +9,24 @@ import com.i_you_tea.sportify.entity.User;
 import com.i_you_tea.sportify.repository.SportRepository;
 import com.i_you_tea.sportify.repository.TournamentRepository;
 import com.i_you_tea.sportify.repository.UserRepository;
+import com.i_you_tea.sportify.service.CertificateRenderService;
 import com.i_you_tea.sportify.service.CertificateService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -28,6 +40,7 @@ public class CertificateController {
     private final UserRepository userRepository;
     private final TournamentRepository tournamentRepository;
     private final SportRepository sportRepository;
+    private final CertificateRenderService certificateRenderService;
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<CertificateDTO>> getForUser(@PathVariable Long userId) {
@@ -71,11 +84,64 @@ public class CertificateController {
         return ResponseEntity.status(org.springframework.http.HttpStatus.CREATED).body(CertificateDTO.fromEntity(saved));
     }
 
+    /**
+     * Starts background generation and returns 202 with the job; poll the job for progress.
+     */
     @PostMapping("/generate/{tournamentId}")
-    public ResponseEntity<String> generateForTournament(@PathVariable Long tournamentId) {
-        int created = certificateService.generateForTournament(tournamentId);
-        return ResponseEntity.ok("Certificates created: " + created);
+    public ResponseEntity<?> generateForTournament(@PathVariable Long tournamentId) {
+        try {
+            CertificateJobDTO job = certificateService.startGeneration(tournamentId);
+            return ResponseEntity.accepted().body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/generate/{tournamentId}")
+    public ResponseEntity<?> getGenerationStatus(@PathVariable Long tournamentId) {
+        return certificateService.getLatestJob(tournamentId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
-}
 
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String jobId) {
+        return certificateService.getJob(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 
+    /**
+     * Server-rendered certificate, e.g. /api/certificates/42.png or /api/certificates/42.pdf.
+     * Answers 304 for a matching If-None-Match; otherwise the cached file is sent with sendfile
+     * where the connector supports it, or copied channel to channel.
+     */
+    @GetMapping("/{certificateId}.{extension}")
+    public void render(@PathVariable Long certificateId,
+                       @PathVariable String extension,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        Optional<CertificateRenderService.Format> format = CertificateRenderService.Format.fromExtension(extension);
+        if (format.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        Optional<CertificateRenderService.RenderedCertificate> rendered =
+                certificateRenderService.render(certificateId, format.get());
+        if (rendered.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        CertificateRenderService.RenderedCertificate certificate = rendered.get();
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(Duration.ofDays(1)).cachePublic().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(certificate.getETag())) {
+            return;
+        }
+        response.setContentType(format.get().getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename("certificate-" + certificateId + "." + format.get().getExtension())
+                .build().toString());
+        FileBodies.send(request, response, certificate.file(), certificate.size());
+    }
+}
@@ -1,13 +1,19 @@
 package com.i_you_tea.sportify.controller;
 
 import com.i_you_tea.sportify.dto.HallOfFameDTO;
+import com.i_you_tea.sportify.dto.HallOfFameLeaderboardDTO;
 import com.i_you_tea.sportify.entity.HallOfFame;
+import com.i_you_tea.sportify.service.HallOfFameLeaderboardService;
 import com.i_you_tea.sportify.service.HallOfFameService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -16,6 +22,9 @@ import java.util.stream.Collectors;
 public class HallOfFameController {
     @Autowired
     private HallOfFameService hallOfFameService;
+
+    @Autowired
+    private HallOfFameLeaderboardService hallOfFameLeaderboardService;
     
     @GetMapping
     public ResponseEntity<List<HallOfFameDTO>> getAllHallOfFameEntries() {
@@ -26,6 +35,22 @@ public class HallOfFameController {
         return ResponseEntity.ok(hallOfFameDTOs);
     }
 
+    /**
+     * Most titles, most finals and most match wins of the sport, served from memory.
+     * Clients revalidate with If-None-Match and get 304 while the leaderboards are unchanged.
+     */
+    @GetMapping("/sports/{sportId}/leaderboards")
+    public ResponseEntity<?> getLeaderboards(@PathVariable Long sportId) {
+        Optional<HallOfFameLeaderboardDTO> leaderboards = hallOfFameLeaderboardService.getLeaderboards(sportId);
+        if (leaderboards.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Sport not found with id: " + sportId));
+        }
+        return ResponseEntity.ok()
+                .eTag(hallOfFameLeaderboardService.eTag(leaderboards.get().getVersion()))
+                .cacheControl(CacheControl.noCache())
+                .body(leaderboards.get());
+    }
+
     @PostMapping
     public ResponseEntity<HallOfFameDTO> createHallOfFame(@RequestBody HallOfFame hallOfFame) {
         HallOfFame created = hallOfFameService.createHallOfFame(hallOfFame);
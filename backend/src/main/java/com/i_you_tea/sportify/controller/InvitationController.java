@@ -0,0 +1,109 @@
+package com.i_you_tea.sportify.controller;
+
+import com.i_you_tea.sportify.dto.RespondInvitationsDTO;
+import com.i_you_tea.sportify.entity.User;
+import com.i_you_tea.sportify.service.InvitationService;
+import com.i_you_tea.sportify.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Team invitations (PENDING memberships) of the current user.
+ */
+@RestController
+@RequestMapping("/api/invitations")
+@CrossOrigin(origins = "*")
+public class InvitationController {
+    @Autowired
+    private InvitationService invitationService;
+
+    @Autowired
+    private UserService userService;
+
+    @GetMapping
+    public ResponseEntity<?> getPendingInvitations(@RequestHeader("Authorization") String token,
+                                                   @RequestParam(required = false) Long afterTeamId,
+                                                   @RequestParam(defaultValue = "20") int size) {
+        Optional<User> user = userService.getCurrentUserFromToken(token);
+        if (user.isEmpty()) {
+            return unauthorized();
+        }
+        return ResponseEntity.ok(invitationService.getPendingInvitations(user.get().getUserId(), afterTeamId, size));
+    }
+
+    // Badge count, cached per user
+    @GetMapping("/count")
+    public ResponseEntity<?> getPendingCount(@RequestHeader("Authorization") String token) {
+        Optional<User> user = userService.getCurrentUserFromToken(token);
+        if (user.isEmpty()) {
+            return unauthorized();
+        }
+        return ResponseEntity.ok(Map.of("pending", invitationService.getPendingCount(user.get().getUserId())));
+    }
+
+    @PostMapping("/accept")
+    public ResponseEntity<?> acceptInvitations(@RequestHeader("Authorization") String token,
+                                               @RequestBody(required = false) RespondInvitationsDTO request) {
+        Optional<User> user = userService.getCurrentUserFromToken(token);
+        if (user.isEmpty()) {
+            return unauthorized();
+        }
+        Long userId = user.get().getUserId();
+        List<Long> accepted;
+        try {
+            accepted = answersAll(request)
+                    ? invitationService.acceptAllInvitations(userId)
+                    : invitationService.acceptInvitations(userId, request != null ? request.getTeamIds() : null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of(
+            "message", accepted.size() + " invitation(s) accepted",
+            "acceptedTeamIds", accepted
+        ));
+    }
+
+    @PostMapping("/decline")
+    public ResponseEntity<?> declineInvitations(@RequestHeader("Authorization") String token,
+                                                @RequestBody(required = false) RespondInvitationsDTO request) {
+        Optional<User> user = userService.getCurrentUserFromToken(token);
+        if (user.isEmpty()) {
+            return unauthorized();
+        }
+        Long userId = user.get().getUserId();
+        List<Long> declined;
+        try {
+            declined = answersAll(request)
+                    ? invitationService.declineAllInvitations(userId)
+                    : invitationService.declineInvitations(userId, request != null ? request.getTeamIds() : null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of(
+            "message", declined.size() + " invitation(s) declined",
+            "declinedTeamIds", declined
+        ));
+    }
+
+    // Every pending invitation only on an explicit all = true, never for a missing or empty list
+    private static boolean answersAll(RespondInvitationsDTO request) {
+        if (request == null || !request.isAll()) {
+            return false;
+        }
+        if (request.getTeamIds() != null) {
+            throw new IllegalArgumentException("Send either teamIds or all, not both");
+        }
+        return true;
+    }
+
+    private ResponseEntity<?> unauthorized() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Invalid or expired token"));
+    }
+}
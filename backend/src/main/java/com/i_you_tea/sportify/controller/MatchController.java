@@ -1,6 +1,10 @@
 package com.i_you_tea.sportify.controller;
 
+import com.i_you_tea.sportify.Exception.ScheduleConflictException;
 import com.i_you_tea.sportify.dto.MatchDTO;
+import com.i_you_tea.sportify.dto.MatchFeedPageDTO;
+import com.i_you_tea.sportify.dto.MatchScheduleRequestDTO;
+import com.i_you_tea.sportify.dto.ScheduleConflictDTO;
 import com.i_you_tea.sportify.entity.Match;
 import com.i_you_tea.sportify.service.MatchService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,8 +13,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -29,11 +35,69 @@ public class MatchController {
     }
 
     @PostMapping
-    public ResponseEntity<MatchDTO> createMatch(@RequestBody Match match) {
-        Match created = matchService.createMatch(match);
-        return ResponseEntity.status(HttpStatus.CREATED).body(MatchDTO.fromEntity(created));
+    public ResponseEntity<?> createMatch(@RequestBody Match match) {
+        try {
+            Match created = matchService.createMatch(match);
+            return ResponseEntity.status(HttpStatus.CREATED).body(MatchDTO.fromEntity(created));
+        } catch (ScheduleConflictException e) {
+            return conflictResponse(e);
+        }
+    }
+
+    /**
+     * Set venue/time for several matches in one call. Nothing is saved if any slot conflicts.
+     */
+    @PutMapping("/schedule")
+    public ResponseEntity<?> scheduleMatches(@RequestBody List<MatchScheduleRequestDTO> requests) {
+        if (requests.stream().anyMatch(request -> request == null || request.getMatchId() == null)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Match ID is required"));
+        }
+        try {
+            List<MatchDTO> matchDTOs = matchService.scheduleMatches(requests).stream()
+                    .map(MatchDTO::fromEntity)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(matchDTOs);
+        } catch (ScheduleConflictException e) {
+            return conflictResponse(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Venue double-bookings involving a tournament's matches on the given day
+     */
+    @GetMapping("/conflicts/tournament/{tournamentId}")
+    public ResponseEntity<List<ScheduleConflictDTO>> getTournamentDayConflicts(
+            @PathVariable Long tournamentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(matchService.getTournamentDayConflicts(tournamentId, date));
     }
     
+    /**
+     * Upcoming matches feed, keyset paginated.
+     * Pass nextAfterTime/nextAfterId from the previous page as afterTime/afterId.
+     */
+    @GetMapping("/feed/upcoming")
+    public ResponseEntity<MatchFeedPageDTO> getUpcomingFeed(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterTime,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(matchService.getUpcomingFeed(afterTime, afterId, size));
+    }
+
+    /**
+     * Ongoing matches feed, keyset paginated.
+     */
+    @GetMapping("/feed/ongoing")
+    public ResponseEntity<MatchFeedPageDTO> getOngoingFeed(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterTime,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(matchService.getOngoingFeed(afterTime, afterId, size));
+    }
+
     @GetMapping("/{matchId}")
     public ResponseEntity<MatchDTO> getMatchById(@PathVariable Long matchId) {
         return matchService.getMatchById(matchId)
@@ -71,10 +135,12 @@ public class MatchController {
     }
     
     @PutMapping("/{matchId}")
-    public ResponseEntity<MatchDTO> updateMatch(@PathVariable Long matchId, @RequestBody Match matchDetails) {
+    public ResponseEntity<?> updateMatch(@PathVariable Long matchId, @RequestBody Match matchDetails) {
         try {
             Match updated = matchService.updateMatch(matchId, matchDetails);
             return ResponseEntity.ok(MatchDTO.fromEntity(updated));
+        } catch (ScheduleConflictException e) {
+            return conflictResponse(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -104,4 +170,11 @@ public class MatchController {
         return ResponseEntity.ok(matchDTOs);
     }
 
+    private ResponseEntity<?> conflictResponse(ScheduleConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                    "error", e.getMessage(),
+                    "conflicts", e.getConflicts()
+                ));
+    }
 }
\ No newline at end of file
@@ -1,13 +1,33 @@
 package com.i_you_tea.sportify.controller;
 
+import com.i_you_tea.sportify.Exception.NotificationQueueFullException;
 import com.i_you_tea.sportify.dto.NotificationDTO;
+import com.i_you_tea.sportify.dto.NotificationFanOutDTO;
+import com.i_you_tea.sportify.dto.NotificationPageDTO;
 import com.i_you_tea.sportify.entity.Notification;
+import com.i_you_tea.sportify.entity.NotificationPreference;
+import com.i_you_tea.sportify.entity.User;
+import com.i_you_tea.sportify.service.NotificationDigestService;
+import com.i_you_tea.sportify.service.NotificationFanOutService;
+import com.i_you_tea.sportify.service.NotificationPreferenceService;
+import com.i_you_tea.sportify.service.NotificationPushService;
 import com.i_you_tea.sportify.service.NotificationService;
+import com.i_you_tea.sportify.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -16,6 +36,21 @@ import java.util.stream.Collectors;
 public class NotificationController {
     @Autowired
     private NotificationService notificationService;
+
+    @Autowired
+    private NotificationFanOutService notificationFanOutService;
+
+    @Autowired
+    private NotificationPushService notificationPushService;
+
+    @Autowired
+    private NotificationPreferenceService notificationPreferenceService;
+
+    @Autowired
+    private NotificationDigestService notificationDigestService;
+
+    @Autowired
+    private UserService userService;
     
     @GetMapping
     public ResponseEntity<List<NotificationDTO>> getAllNotifications() {
@@ -41,6 +76,57 @@ public class NotificationController {
         return ResponseEntity.ok(notificationDTOs);
     }
 
+    /**
+     * Cursor-paged history, newest first. Omit beforeSentAt/beforeId for the first page.
+     */
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<NotificationPageDTO> getNotificationPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeSentAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(notificationService.getNotificationPage(userId, beforeSentAt, beforeId, size));
+    }
+
+    /**
+     * Unread badge count, served from memory.
+     */
+    @GetMapping("/user/{userId}/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@PathVariable Long userId) {
+        return ResponseEntity.ok(Map.of("unread", notificationService.getUnreadCount(userId)));
+    }
+
+    /**
+     * Marks all of the user's notifications as read, or only those with an id up to upToId.
+     */
+    @PutMapping("/user/{userId}/read-all")
+    public ResponseEntity<Map<String, Object>> markAllAsRead(@PathVariable Long userId,
+                                                             @RequestParam(required = false) Long upToId) {
+        int updated = notificationService.markAllAsRead(userId, upToId);
+        return ResponseEntity.ok(Map.of(
+            "updated", updated,
+            "unread", notificationService.getUnreadCount(userId)
+        ));
+    }
+
+    @GetMapping("/user/{userId}/preferences")
+    public ResponseEntity<Map<Notification.Category, NotificationPreference.Mode>> getPreferences(@PathVariable Long userId) {
+        return ResponseEntity.ok(notificationPreferenceService.getPreferences(userId));
+    }
+
+    /**
+     * Sets the delivery mode (IMMEDIATE, DIGEST or OFF) of the given categories, e.g. {"SCHEDULE": "DIGEST"}.
+     */
+    @PutMapping("/user/{userId}/preferences")
+    public ResponseEntity<?> updatePreferences(@PathVariable Long userId,
+                                               @RequestBody Map<Notification.Category, NotificationPreference.Mode> changes) {
+        try {
+            return ResponseEntity.ok(notificationPreferenceService.updatePreferences(userId, changes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}/read")
     public ResponseEntity<NotificationDTO> markNotificationAsRead(@PathVariable Long id) {
         Notification updated = notificationService.markAsRead(id);
@@ -49,4 +135,67 @@ public class NotificationController {
         }
         return ResponseEntity.notFound().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Queues one message for a team, tournament, sport or list of users and returns at once (202).
+     * Answers 503 with Retry-After while the fan-out queue is full.
+     */
+    @PostMapping("/fan-out")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CAPTAIN')")
+    public ResponseEntity<?> fanOut(@RequestBody NotificationFanOutDTO request) {
+        try {
+            boolean queued = notificationFanOutService.enqueue(request.getAudience(), request.getTargetId(),
+                    request.getUserIds(), request.getMessage(), request.getCategory());
+            if (!queued) {
+                return ResponseEntity.ok(Map.of("queued", false, "message", "Same message was already sent to this audience"));
+            }
+            return ResponseEntity.accepted().body(Map.of("queued", true));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (NotificationQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Server-Sent Events stream of the current user's new notifications (event "notification",
+     * id = notification id). Browsers' EventSource cannot set headers, so the token may also be
+     * passed as ?token=; a reconnect resumes after the Last-Event-ID header or ?lastEventId=.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> stream(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                    @RequestParam(required = false) String token,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+                                    @RequestParam(required = false) Long lastEventId) {
+        String credentials = authorization != null ? authorization : token;
+        Optional<User> user = credentials != null ? userService.getCurrentUserFromToken(credentials) : Optional.empty();
+        if (user.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("error", "Invalid or expired token"));
+        }
+        SseEmitter emitter = notificationPushService.subscribe(user.get().getUserId(),
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                // Stops nginx-style proxies from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    @GetMapping("/fan-out/stats")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CAPTAIN')")
+    public ResponseEntity<Map<String, Object>> getFanOutStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(notificationFanOutService.stats());
+        stats.put("connectedUsers", notificationPushService.connectedUsers());
+        stats.put("openStreams", notificationPushService.openConnections());
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/digest/stats")
+    public ResponseEntity<Map<String, Object>> getDigestStats() {
+        return ResponseEntity.ok(notificationDigestService.stats());
+    }
+}
@@ -0,0 +1,54 @@
+package com.i_you_tea.sportify.controller;
+
+import com.i_you_tea.sportify.dto.SearchResultDTO;
+import com.i_you_tea.sportify.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+    @Autowired
+    private SearchService searchService;
+
+    /**
+     * Ranked typeahead across entity types.
+     * types: comma separated subset of team, tournament, user, announcement (default: all)
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CAPTAIN') or hasRole('PLAYER') or hasRole('SCOREKEEPER')")
+    public ResponseEntity<?> search(@RequestParam("q") String query,
+                                    @RequestParam(required = false) List<String> types,
+                                    @RequestParam(defaultValue = "10") int limit) {
+        Set<SearchService.SearchType> selected = EnumSet.allOf(SearchService.SearchType.class);
+        if (types != null && !types.isEmpty()) {
+            selected = EnumSet.noneOf(SearchService.SearchType.class);
+            try {
+                for (String type : types) {
+                    selected.add(SearchService.parseType(type));
+                }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
+        return ResponseEntity.ok(searchService.search(query, selected, limit));
+    }
+
+    /**
+     * User typeahead for the add-member flow, matching username or display name
+     */
+    @GetMapping("/users")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CAPTAIN') or hasRole('PLAYER')")
+    public ResponseEntity<List<SearchResultDTO>> searchUsers(@RequestParam("q") String query,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchService.search(SearchService.SearchType.USER, query, limit));
+    }
+}
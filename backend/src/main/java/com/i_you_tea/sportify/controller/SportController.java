@@ -2,6 +2,7 @@ package com.i_you_tea.sportify.controller;
 
 import com.i_you_tea.sportify.dto.SportDTO;
 import com.i_you_tea.sportify.entity.Sport;
+import com.i_you_tea.sportify.service.ReferenceDataService;
 import com.i_you_tea.sportify.service.SportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -10,6 +11,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -18,15 +20,26 @@ import java.util.stream.Collectors;
 public class SportController {
     @Autowired
     private SportService sportService;
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    /**
+     * All sports, served from the in-memory sports list
+     */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('CAPTAIN') or hasRole('PLAYER')")
     public ResponseEntity<List<SportDTO>> getAllSports(@RequestHeader("Authorization") String token) {
-        token = token.replace("Bearer ", "");
-        List<Sport> sports = sportService.getAllSports();
-        List<SportDTO> sportDTOs = sports.stream()
-                .map(SportDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(sportDTOs);
+        return ResponseEntity.ok(referenceDataService.getSports());
+    }
+
+    /**
+     * Hit, miss and eviction counts of the sports list and of the Sport/Role second-level cache regions
+     */
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(referenceDataService.stats());
     }
 
     @PostMapping
@@ -26,11 +26,29 @@ public class TeamController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('CAPTAIN') or hasRole('PLAYER')")
     public ResponseEntity<List<TeamDTO>> getAllTeams(@RequestHeader("Authorization") String token) {
         token = token.replace("Bearer ", "");
-        List<Team> teams = teamService.getAllTeams();
-        List<TeamDTO> teamDTOs = teams.stream()
-                .map(TeamDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(teamDTOs);
+        return ResponseEntity.ok(teamService.getAllTeamSummaries());
+    }
+
+    /**
+     * Paginated team listing with optional sport, tournament, dummy and creator filters.
+     * sort: teamId, teamName, sportName, createdByName, tournamentName or tournamentStartDate
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CAPTAIN') or hasRole('PLAYER')")
+    public ResponseEntity<?> getTeamPage(@RequestParam(required = false) Long sportId,
+                                         @RequestParam(required = false) Long tournamentId,
+                                         @RequestParam(required = false) Boolean dummy,
+                                         @RequestParam(required = false) Long createdById,
+                                         @RequestParam(defaultValue = "teamName") String sort,
+                                         @RequestParam(defaultValue = "asc") String direction,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(teamService.getTeamPage(
+                    sportId, tournamentId, dummy, createdById, sort, direction, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     /**
@@ -66,11 +84,7 @@ public class TeamController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('CAPTAIN') or hasRole('PLAYER')")
     public ResponseEntity<List<TeamDTO>> getTeamsByTournamentId(@RequestHeader("Authorization") String token,
                                                                 @PathVariable Long tournamentId) {
-        List<Team> teams = teamService.getTeamsByTournamentId(tournamentId);
-        List<TeamDTO> teamDTOs = teams.stream()
-                .map(TeamDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(teamDTOs);
+        return ResponseEntity.ok(teamService.getTeamSummariesByTournamentId(tournamentId));
     }
 
     @DeleteMapping("/{id}")
@@ -99,19 +113,15 @@ public class TeamController {
                         .body(Map.of("error", "User ID is required"));
             }
 
-            List<Team> teams = teamService.getTeamsByUserId(request.getUserId());
+            List<TeamDTO> teamDTOs = teamService.getTeamSummariesByUserId(request.getUserId());
             
-            if (teams.isEmpty()) {
+            if (teamDTOs.isEmpty()) {
                 return ResponseEntity.ok(Map.of(
                     "message", "No teams found for this user",
                     "teams", List.of()
                 ));
             }
 
-            List<TeamDTO> teamDTOs = teams.stream()
-                    .map(TeamDTO::fromEntity)
-                    .collect(Collectors.toList());
-
             return ResponseEntity.ok(Map.of(
                 "message", "Teams retrieved successfully",
                 "teams", teamDTOs,
@@ -157,6 +167,10 @@ public class TeamController {
             response.put("message", "Dummy team created successfully");
             response.put("team", teamDTO);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Failed to create dummy team: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("error", "Failed to create dummy team: " + e.getMessage());
@@ -171,6 +185,17 @@ public class TeamController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Reset the placeholder winners of a round in a single indexed delete
+     */
+    @DeleteMapping("/dummy/source-round/{roundId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CAPTAIN')")
+    public ResponseEntity<Map<String, Object>> deleteDummyTeamsBySourceRound(@RequestHeader("Authorization") String token,
+                                                                             @PathVariable Long roundId) {
+        int deleted = teamService.deleteDummyTeamsBySourceRoundId(roundId);
+        return ResponseEntity.ok(Map.of("roundId", roundId, "deletedTeams", deleted));
+    }
+
     @DeleteMapping("/dummy/tournament/{tournamentId}/round/{roundValue}")
     public ResponseEntity<Void> deleteDummyTeamsByTournamentAndRound(
             @RequestHeader("Authorization") String token,
@@ -1,6 +1,9 @@
 package com.i_you_tea.sportify.controller;
 
 import com.i_you_tea.sportify.dto.AddTeamMemberDTO;
+import com.i_you_tea.sportify.dto.BulkAddTeamMembersDTO;
+import com.i_you_tea.sportify.dto.BulkTeamMemberResultDTO;
+import com.i_you_tea.sportify.dto.BulkTeamMemberUsersDTO;
 import com.i_you_tea.sportify.dto.TeamMemberDTO;
 import com.i_you_tea.sportify.dto.UpdateTeamMemberStatusDTO;
 import com.i_you_tea.sportify.entity.TeamMember;
@@ -47,6 +50,59 @@ public class TeamMemberController {
         }
     }
     
+    // Add many members to a team at once; results are per user, in request order
+    @PostMapping("/bulk")
+    public ResponseEntity<?> addTeamMembers(@RequestHeader("Authorization") String token,
+                                            @RequestBody BulkAddTeamMembersDTO request) {
+        try {
+            return ResponseEntity.ok(bulkResponse(request.getTeamId(), teamMemberService.addTeamMembers(request)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(bulkError(e));
+        }
+    }
+    
+    // Remove many members from a team at once
+    @PostMapping("/bulk/remove")
+    public ResponseEntity<?> removeTeamMembers(@RequestHeader("Authorization") String token,
+                                               @RequestBody BulkTeamMemberUsersDTO request) {
+        try {
+            return ResponseEntity.ok(bulkResponse(request.getTeamId(),
+                    teamMemberService.removeTeamMembers(request.getTeamId(), request.getUserIds())));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(bulkError(e));
+        }
+    }
+    
+    // Accept many pending members at once
+    @PostMapping("/bulk/accept")
+    public ResponseEntity<?> acceptTeamMembers(@RequestHeader("Authorization") String token,
+                                               @RequestBody BulkTeamMemberUsersDTO request) {
+        try {
+            return ResponseEntity.ok(bulkResponse(request.getTeamId(),
+                    teamMemberService.acceptTeamMembers(request.getTeamId(), request.getUserIds())));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(bulkError(e));
+        }
+    }
+    
+    // Map.of rejects null values, and exceptions like NullPointerException may carry no message
+    private static Map<String, Object> bulkError(RuntimeException e) {
+        return Map.of("error", e.getMessage() != null ? e.getMessage() : "Invalid bulk request");
+    }
+
+    private Map<String, Object> bulkResponse(Long teamId, List<BulkTeamMemberResultDTO> results) {
+        long succeeded = results.stream().filter(BulkTeamMemberResultDTO::isSuccess).count();
+        return Map.of(
+            "teamId", teamId,
+            "results", results,
+            "succeeded", succeeded,
+            "failed", results.size() - succeeded
+        );
+    }
+    
     // Update team member status
     @PutMapping("/status")
     public ResponseEntity<?> updateTeamMemberStatus(@RequestHeader("Authorization") String token,
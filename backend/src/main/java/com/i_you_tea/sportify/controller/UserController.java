@@ -1,16 +1,31 @@
 package com.i_you_tea.sportify.controller;
 
+import com.i_you_tea.sportify.dto.PlayerCareerStatsDTO;
 import com.i_you_tea.sportify.dto.UserDTO;
+import com.i_you_tea.sportify.dto.UserDirectoryPageDTO;
+import com.i_you_tea.sportify.dto.UserMembershipsDTO;
 import com.i_you_tea.sportify.entity.User;
+import com.i_you_tea.sportify.service.MembershipReadModelService;
+import com.i_you_tea.sportify.service.PlayerCareerStatsService;
+import com.i_you_tea.sportify.service.ProfilePhotoService;
 import com.i_you_tea.sportify.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,6 +38,18 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private MembershipReadModelService membershipReadModelService;
+
+    @Autowired
+    private PlayerCareerStatsService playerCareerStatsService;
+
+    @Autowired
+    private ProfilePhotoService profilePhotoService;
+
+    /**
+     * Every user in one response; lists and pickers should page through /directory instead
+     */
     @GetMapping
     public ResponseEntity<List<UserDTO>> getAllUsers() {
         List<User> users = userService.getAllUsers();
@@ -32,6 +59,20 @@ public class UserController {
         return ResponseEntity.ok(userDTOs);
     }
 
+    /**
+     * User directory for admin screens and member pickers, keyset paginated and without photo data.
+     * Filters by role and by name prefix; pass nextAfterName/nextAfterId from the previous page as afterName/afterId.
+     */
+    @GetMapping("/directory")
+    public ResponseEntity<UserDirectoryPageDTO> getDirectory(
+            @RequestParam(required = false) User.UserRole role,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) String afterName,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.getDirectory(role, namePrefix, afterName, afterId, size));
+    }
+
     @GetMapping("/profile")
     public ResponseEntity<?> getCurrentUserProfile(@RequestHeader("Authorization") String token) {
         try {
@@ -84,21 +125,115 @@ public class UserController {
             if (updateRequest.getAddress() != null) {
                 currentUser.setAddress(updateRequest.getAddress());
             }
-            if (updateRequest.getProfilePhoto() != null) {
-                currentUser.setProfilePhoto(updateRequest.getProfilePhoto());
+            // Photos are uploaded to /profile/photo; a data URI is still accepted here, the photo URL
+            // the profile was read with is not a change
+            String photoKey = null;
+            String photo = updateRequest.getProfilePhoto();
+            boolean photoChanged = photo != null && (photo.isEmpty() || ProfilePhotoService.isBase64Photo(photo));
+            if (photoChanged && !photo.isEmpty()) {
+                photoKey = profilePhotoService.storeBase64(photo);
             }
 
             User updatedUser = userService.updateUser(currentUser);
+            if (photoChanged) {
+                updatedUser = userService.updateProfilePhoto(updatedUser, photoKey);
+            }
             UserDTO responseDTO = UserDTO.fromEntity(updatedUser);
 
             return ResponseEntity.ok(responseDTO);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Error updating user profile"));
         }
     }
 
+    /**
+     * Replace the current user's photo with a multipart upload (form field "file"), streamed to the photo store
+     */
+    @PostMapping("/profile/photo")
+    public ResponseEntity<?> uploadProfilePhoto(@RequestHeader("Authorization") String token,
+            @RequestParam("file") MultipartFile file) {
+        try {
+            Optional<User> userOptional = userService.getCurrentUserFromToken(token);
+            if (userOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Invalid or expired token"));
+            }
+
+            String photoKey;
+            try (InputStream input = file.getInputStream()) {
+                photoKey = profilePhotoService.store(input);
+            }
+            User updatedUser = userService.updateProfilePhoto(userOptional.get(), photoKey);
+            return ResponseEntity.ok(UserDTO.fromEntity(updatedUser));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("[UserController] Error uploading profile photo: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error uploading profile photo"));
+        }
+    }
+
+    @DeleteMapping("/profile/photo")
+    public ResponseEntity<?> deleteProfilePhoto(@RequestHeader("Authorization") String token) {
+        try {
+            Optional<User> userOptional = userService.getCurrentUserFromToken(token);
+            if (userOptional.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error", "Invalid or expired token"));
+            }
+            User updatedUser = userService.updateProfilePhoto(userOptional.get(), null);
+            return ResponseEntity.ok(UserDTO.fromEntity(updatedUser));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error removing profile photo"));
+        }
+    }
+
+    /**
+     * A stored photo: size small (64px), medium (256px, default) or original. Files never change
+     * under a key, so they are cacheable for a year; sent with sendfile where supported.
+     */
+    @GetMapping("/photos/{key}")
+    public void getPhoto(@PathVariable String key,
+                         @RequestParam(defaultValue = "medium") String size,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        Optional<ProfilePhotoService.StoredPhoto> stored = ProfilePhotoService.Size.fromName(size)
+                .flatMap(photoSize -> profilePhotoService.find(key, photoSize));
+        if (stored.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        ProfilePhotoService.StoredPhoto photo = stored.get();
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(photo.getETag())) {
+            return;
+        }
+        response.setContentType(photo.mediaType().toString());
+        FileBodies.send(request, response, photo.file(), photo.length());
+    }
+
+    /**
+     * Move base64 photos left in the users table into the photo store now (Admin only); also runs at startup
+     */
+    @PostMapping("/photos/migrate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> migratePhotos() {
+        try {
+            return ResponseEntity.ok(Map.of("migrated", profilePhotoService.migrateLegacyPhotos()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error migrating profile photos: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
         try {
@@ -117,6 +252,48 @@ public class UserController {
         }
     }
 
+    /**
+     * Player dashboard: teams and tournaments of a user from the membership read model
+     */
+    @GetMapping("/{id}/memberships")
+    public ResponseEntity<?> getUserMemberships(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(UserMembershipsDTO.fromMemberships(id, membershipReadModelService.getMemberships(id)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error retrieving user memberships"));
+        }
+    }
+
+    /**
+     * Career statistics of a user per sport (optionally one sport) from the career stats materialization
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<?> getUserStats(@PathVariable Long id, @RequestParam(required = false) Long sportId) {
+        try {
+            return ResponseEntity.ok(PlayerCareerStatsDTO.fromStats(id, sportId != null
+                    ? playerCareerStatsService.getStats(id, sportId)
+                    : playerCareerStatsService.getStats(id)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error retrieving user stats"));
+        }
+    }
+
+    /**
+     * Recompute all career statistics from match history (Admin only)
+     */
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildStats() {
+        try {
+            return ResponseEntity.ok(Map.of("rows", playerCareerStatsService.rebuild()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Error rebuilding user stats: " + e.getMessage()));
+        }
+    }
+
     /**
      * Update the role of a user (Admin only)
      */
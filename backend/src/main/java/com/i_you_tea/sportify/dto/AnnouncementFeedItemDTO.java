@@ -0,0 +1,31 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Slim announcement projection used by the active feed: the content is cut to a preview,
+ * the full text is fetched per announcement. Built by a JPQL constructor expression.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnnouncementFeedItemDTO {
+
+    private Long announcementId;
+    private String title;
+    private String contentPreview;
+    private boolean contentTruncated;
+    private Long postedById;
+    private String postedByName;
+    private LocalDateTime postedAt;
+    private Long relatedSportId;
+    private String relatedSportName;
+    private Long relatedTournamentId;
+    private String relatedTournamentName;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+}
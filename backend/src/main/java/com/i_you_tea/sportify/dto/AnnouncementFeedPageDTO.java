@@ -0,0 +1,25 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of the active announcement feed, newest first.
+ * Pass nextBeforePostedAt/nextBeforeId back as beforePostedAt/beforeId to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnnouncementFeedPageDTO {
+
+    private List<AnnouncementFeedItemDTO> items;
+    private boolean hasMore;
+    private LocalDateTime nextBeforePostedAt;
+    private Long nextBeforeId;
+    // Version of the feed snapshot this page was cut from; part of the ETag
+    private long version;
+}
@@ -0,0 +1,31 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAddTeamMembersDTO {
+
+    // Required; this and the limits below are checked by TeamMemberService
+    private Long teamId;
+
+    // 1 to 100 members
+    private List<Member> members;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Member {
+
+        // Required
+        private Long userId;
+
+        // At most 50 characters
+        private String roleInTeam;
+    }
+}
@@ -0,0 +1,35 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk roster operation for one requested user, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTeamMemberResultDTO {
+
+    public enum Outcome {
+        ADDED,
+        UPDATED,
+        REMOVED,
+        ACCEPTED,
+        ALREADY_ACCEPTED,
+        NOT_A_MEMBER,
+        USER_NOT_FOUND,
+        DUPLICATE
+    }
+
+    private Long userId;
+    private Outcome outcome;
+    // Membership status after the operation, null when the user is not a member
+    private String status;
+
+    public boolean isSuccess() {
+        return outcome == Outcome.ADDED || outcome == Outcome.UPDATED
+                || outcome == Outcome.REMOVED || outcome == Outcome.ACCEPTED;
+    }
+}
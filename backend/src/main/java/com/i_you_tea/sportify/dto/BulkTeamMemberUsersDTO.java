@@ -0,0 +1,22 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Users of one team to remove or accept in a single request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTeamMemberUsersDTO {
+
+    // Required; this and the limit below are checked by TeamMemberService
+    private Long teamId;
+
+    // 1 to 100 user ids, none null
+    private List<Long> userIds;
+}
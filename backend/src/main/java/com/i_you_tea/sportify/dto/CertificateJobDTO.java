@@ -0,0 +1,34 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a background certificate generation run for one tournament.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificateJobDTO {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String jobId;
+    private Long tournamentId;
+    private Status status;
+    // Recipients still without a certificate when the run started
+    private int total;
+    private int processed;
+    private int created;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+}
@@ -21,4 +21,7 @@ public class CreateDummyTeamDTO {
 
     @NotNull(message = "Created by user ID is required")
     private Long createdById;
+
+    // Round whose winner this team stands for; parsed from a trailing "Round N" in teamName when omitted
+    private Integer roundValue;
 }
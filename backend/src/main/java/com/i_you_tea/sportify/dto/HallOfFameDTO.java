@@ -1,6 +1,7 @@
 package com.i_you_tea.sportify.dto;
 
 import com.i_you_tea.sportify.entity.HallOfFame;
+import com.i_you_tea.sportify.entity.Match;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -34,9 +35,15 @@ public class HallOfFameDTO {
             hallOfFame.getStats(),
             hallOfFame.getPhoto(),
             hallOfFame.getMatch() != null ? hallOfFame.getMatch().getMatchId() : null,
-            hallOfFame.getMatch() != null ? (hallOfFame.getMatch().getTeam1().getTeamName() + " vs " + hallOfFame.getMatch().getTeam2().getTeamName()) : null,
+            hallOfFame.getMatch() != null ? matchInfo(hallOfFame.getMatch()) : null,
             hallOfFame.getTournament() != null ? hallOfFame.getTournament().getTournamentId() : null,
             hallOfFame.getTournament() != null ? hallOfFame.getTournament().getName() : null
         );
     }
+
+    private static String matchInfo(Match match) {
+        String team1 = match.getTeam1() != null ? match.getTeam1().getTeamName() : "TBD";
+        // Byes have no second team
+        return match.getTeam2() != null ? team1 + " vs " + match.getTeam2().getTeamName() : team1 + " (bye)";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Hall of Fame leaderboards of one sport: the top players by titles, finals reached and match wins.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HallOfFameLeaderboardDTO {
+
+    private Long sportId;
+    private String sportName;
+    private List<LeaderboardEntryDTO> mostTitles;
+    private List<LeaderboardEntryDTO> mostFinals;
+    private List<LeaderboardEntryDTO> mostMatchWins;
+    // Bumped whenever any of the three boards changes; part of the ETag
+    private long version;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LeaderboardEntryDTO {
+        private int rank;
+        private Long userId;
+        private String userName;
+        private long count;
+    }
+}
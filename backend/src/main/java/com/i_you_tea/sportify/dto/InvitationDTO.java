@@ -0,0 +1,25 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A pending team membership as shown in the invitation inbox.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvitationDTO {
+
+    private Long teamId;
+    private String teamName;
+    private String logo;
+    private String roleInTeam;
+    private Long sportId;
+    private String sportName;
+    private Long tournamentId;
+    private String tournamentName;
+    private Long invitedById;
+    private String invitedByName;
+}
@@ -0,0 +1,21 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the invitation inbox, ordered by team id.
+ * Pass nextAfterTeamId back as afterTeamId to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvitationPageDTO {
+
+    private List<InvitationDTO> items;
+    private boolean hasMore;
+    private Long nextAfterTeamId;
+}
@@ -0,0 +1,32 @@
+package com.i_you_tea.sportify.dto;
+
+import com.i_you_tea.sportify.entity.Match;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Slim match projection used by the upcoming/ongoing feeds.
+ * Built directly by a JPQL constructor expression, so no Match entity is loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchFeedItemDTO {
+
+    private Long matchId;
+    private Long tournamentId;
+    private String tournamentName;
+    private Long sportId;
+    private String sportName;
+    private Long team1Id;
+    private String team1Name;
+    private Long team2Id;
+    private String team2Name;
+    private LocalDateTime scheduledTime;
+    private String venue;
+    private Match.MatchStatus status;
+    private String roundName;
+}
@@ -0,0 +1,23 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of a match feed.
+ * Pass nextAfterTime/nextAfterId back as afterTime/afterId to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchFeedPageDTO {
+
+    private List<MatchFeedItemDTO> items;
+    private boolean hasMore;
+    private LocalDateTime nextAfterTime;
+    private Long nextAfterId;
+}
@@ -0,0 +1,20 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchScheduleRequestDTO {
+
+    // Required; a missing id is rejected by MatchController
+    private Long matchId;
+
+    private LocalDateTime scheduledTime;
+
+    private String venue;
+}
@@ -18,6 +18,7 @@ public class NotificationDTO {
     private String message;
     private LocalDateTime sentAt;
     private Boolean isRead;
+    private Notification.Category category;
     
     public static NotificationDTO fromEntity(Notification notification) {
         return new NotificationDTO(
@@ -26,7 +27,8 @@ public class NotificationDTO {
             notification.getRecipient() != null ? notification.getRecipient().getName() : null,
             notification.getMessage(),
             notification.getSentAt(),
-            notification.getIsRead()
+            notification.getIsRead(),
+            notification.getCategory()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.i_you_tea.sportify.dto;
+
+import com.i_you_tea.sportify.entity.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One message to everyone in an audience: the accepted members of a team, of every team in a
+ * tournament or of every team playing a sport, or an explicit list of users.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFanOutDTO {
+
+    public enum Audience {
+        TEAM,
+        TOURNAMENT,
+        SPORT,
+        USERS
+    }
+
+    // Required; this and the limits below are checked by NotificationFanOutService.enqueue
+    private Audience audience;
+
+    // Team, tournament or sport id; unused for USERS
+    private Long targetId;
+
+    // Recipients for USERS, at most 10000
+    private List<Long> userIds;
+
+    // Required, at most 2000 characters
+    private String message;
+
+    // Defaults to GENERAL; recipients who turned the category off are skipped
+    private Notification.Category category;
+}
@@ -0,0 +1,23 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of a user's notifications, newest first.
+ * Pass nextBeforeSentAt/nextBeforeId back as beforeSentAt/beforeId to fetch older ones.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageDTO {
+
+    private List<NotificationDTO> items;
+    private boolean hasMore;
+    private LocalDateTime nextBeforeSentAt;
+    private Long nextBeforeId;
+}
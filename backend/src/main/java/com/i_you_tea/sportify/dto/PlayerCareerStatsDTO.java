@@ -0,0 +1,55 @@
+package com.i_you_tea.sportify.dto;
+
+import com.i_you_tea.sportify.entity.PlayerCareerStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Career statistics of a player: one entry per sport played plus totals over all sports.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerCareerStatsDTO {
+
+    private Long userId;
+    private int matchesPlayed;
+    private int wins;
+    private int titles;
+    private List<SportStatsDTO> sports;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SportStatsDTO {
+        private Long sportId;
+        private String sportName;
+        private int matchesPlayed;
+        private int wins;
+        private int titles;
+        private int runs;
+        private int wickets;
+        private LocalDateTime updatedAt;
+
+        public static SportStatsDTO fromEntity(PlayerCareerStats stats) {
+            return new SportStatsDTO(stats.getSportId(), stats.getSportName(), stats.getMatchesPlayed(),
+                    stats.getWins(), stats.getTitles(), stats.getRuns(), stats.getWickets(), stats.getUpdatedAt());
+        }
+    }
+
+    public static PlayerCareerStatsDTO fromStats(Long userId, List<PlayerCareerStats> stats) {
+        List<SportStatsDTO> sports = stats.stream()
+                .map(SportStatsDTO::fromEntity)
+                .collect(Collectors.toList());
+        return new PlayerCareerStatsDTO(userId,
+                sports.stream().mapToInt(SportStatsDTO::getMatchesPlayed).sum(),
+                sports.stream().mapToInt(SportStatsDTO::getWins).sum(),
+                sports.stream().mapToInt(SportStatsDTO::getTitles).sum(),
+                sports);
+    }
+}
@@ -0,0 +1,22 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Teams whose invitations to accept or decline, or all = true to answer every pending invitation.
+ * An empty teamIds list answers none.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RespondInvitationsDTO {
+
+    // At most 500, checked by InvitationService
+    private List<Long> teamIds;
+
+    private boolean all;
+}
@@ -0,0 +1,21 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleConflictDTO {
+
+    private String venue;
+    private Long matchId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private Long conflictingMatchId;
+    private LocalDateTime conflictingStart;
+    private LocalDateTime conflictingEnd;
+}
@@ -0,0 +1,20 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One typeahead hit. type is TEAM, TOURNAMENT, USER or ANNOUNCEMENT and id is that entity's id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+
+    private String type;
+    private Long id;
+    private String title;
+    private String subtitle;
+    private int score;
+}
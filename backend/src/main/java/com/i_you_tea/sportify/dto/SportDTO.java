@@ -23,6 +23,7 @@ public class SportDTO {
     private String recentChampionName;
     private Long recentRunnerUpId;
     private String recentRunnerUpName;
+    private Integer matchDurationMinutes;
     
     public static SportDTO fromEntity(Sport sport) {
         return new SportDTO(
@@ -36,7 +37,8 @@ public class SportDTO {
             sport.getRecentChampion() != null ? sport.getRecentChampion().getTeamId() : null,
             sport.getRecentChampion() != null ? sport.getRecentChampion().getTeamName() : null,
             sport.getRecentRunnerUp() != null ? sport.getRecentRunnerUp().getTeamId() : null,
-            sport.getRecentRunnerUp() != null ? sport.getRecentRunnerUp().getTeamName() : null
+            sport.getRecentRunnerUp() != null ? sport.getRecentRunnerUp().getTeamName() : null,
+            sport.getMatchDurationMinutes()
         );
     }
     
@@ -47,6 +49,7 @@ public class SportDTO {
         sport.setIsTeamGame(this.isTeamGame);
         sport.setRules(this.rules);
         sport.setPlayerCount(this.playerCount);
+        sport.setMatchDurationMinutes(this.matchDurationMinutes);
         if (this.captainId != null) {
             User captain = new User();
             captain.setUserId(this.captainId);
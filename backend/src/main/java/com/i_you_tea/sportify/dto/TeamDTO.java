@@ -1,6 +1,7 @@
 package com.i_you_tea.sportify.dto;
 
 import com.i_you_tea.sportify.entity.Team;
+import com.i_you_tea.sportify.entity.UserMembership;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -57,4 +58,26 @@ public class TeamDTO {
             team.getDummy() != null ? team.getDummy() : false
         );
     }
+
+    public static TeamDTO fromMembership(UserMembership membership) {
+        return new TeamDTO(
+            membership.getTeamId(),
+            membership.getTeamName(),
+            membership.getSportId(),
+            membership.getSportName(),
+            membership.getCreatedById(),
+            membership.getCreatedByName(),
+            membership.getLogo(),
+            membership.getTournamentId(),
+            membership.getTournamentName(),
+            membership.getTournamentStartDate(),
+            membership.getTournamentEndDate(),
+            membership.getTournamentCreatedByName(),
+            membership.getChampionId(),
+            membership.getChampionName(),
+            membership.getRunnerUpId(),
+            membership.getRunnerUpName(),
+            membership.getDummy() != null ? membership.getDummy() : false
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the team listing. No total count is computed; request page + 1 while hasNext is true.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamPageDTO {
+
+    private List<TeamDTO> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
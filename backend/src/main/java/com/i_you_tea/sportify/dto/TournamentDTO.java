@@ -4,6 +4,7 @@ import com.i_you_tea.sportify.entity.Tournament;
 import com.i_you_tea.sportify.entity.Sport;
 import com.i_you_tea.sportify.entity.Team;
 import com.i_you_tea.sportify.entity.User;
+import com.i_you_tea.sportify.entity.UserMembership;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -48,6 +49,27 @@ public class TournamentDTO {
         );
     }
     
+    /**
+     * Tournament summary from a membership read model row; the row must have a tournament.
+     */
+    public static TournamentDTO fromMembership(UserMembership membership) {
+        return new TournamentDTO(
+            membership.getTournamentId(),
+            membership.getTournamentName(),
+            membership.getTournamentSportId(),
+            membership.getTournamentSportName(),
+            membership.getTournamentStartDate(),
+            membership.getTournamentEndDate(),
+            membership.getTournamentCreatedById(),
+            membership.getTournamentCreatedByName(),
+            membership.getChampionId(),
+            membership.getChampionName(),
+            membership.getRunnerUpId(),
+            membership.getRunnerUpName(),
+            membership.getFixtureGenerated() != null ? membership.getFixtureGenerated() : false
+        );
+    }
+    
     public Tournament toEntity() {
         Tournament tournament = new Tournament();      
         tournament.setTournamentId(this.tournamentId);       
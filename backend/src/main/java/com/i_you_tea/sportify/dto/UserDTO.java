@@ -4,6 +4,9 @@ import com.i_you_tea.sportify.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @Data
 @NoArgsConstructor
@@ -16,7 +19,10 @@ public class UserDTO {
     private String phone;
     private String address;
     private User.UserRole role;
+    // URL of the 256px photo; a data URI (base64 image) in a profile update replaces the photo, "" removes it
     private String profilePhoto;
+    // URL of the 64px photo, for avatars in lists
+    private String profilePhotoThumbnail;
 
     public static UserDTO fromEntity(User user) {
         return new UserDTO(
@@ -26,7 +32,23 @@ public class UserDTO {
                 user.getPhone(),
                 user.getAddress(),
                 user.getRole(),
-                user.getProfilePhoto());
+                photoUrl(user.getProfilePhotoKey(), "medium"),
+                photoUrl(user.getProfilePhotoKey(), "small"));
+    }
+
+    /**
+     * Absolute URL of the stored photo when called for a request (the frontend is served from
+     * another origin), else relative; null without a photo.
+     */
+    public static String photoUrl(String key, String size) {
+        if (key == null) {
+            return null;
+        }
+        UriComponentsBuilder builder = RequestContextHolder.getRequestAttributes() != null
+                ? ServletUriComponentsBuilder.fromCurrentContextPath()
+                : UriComponentsBuilder.newInstance();
+        return builder.path("/api/users/photos/{key}").queryParam("size", size)
+                .buildAndExpand(key).toUriString();
     }
 
     public User toEntity() {
@@ -37,7 +59,6 @@ public class UserDTO {
         user.setPhone(this.phone);
         user.setAddress(this.address);
         user.setRole(this.role);
-        user.setProfilePhoto(this.profilePhoto);
         return user;
     }
-}
\ No newline at end of file
+}
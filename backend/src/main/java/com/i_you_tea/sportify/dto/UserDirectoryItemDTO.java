@@ -0,0 +1,23 @@
+package com.i_you_tea.sportify.dto;
+
+import com.i_you_tea.sportify.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Slim user projection of the user directory: no contact details beyond the email, no photo data.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDirectoryItemDTO {
+
+    private Long userId;
+    private String name;
+    private String userName;
+    private String email;
+    private User.UserRole role;
+    // URL of the 64px photo, null without a photo
+    private String profilePhotoThumbnail;
+}
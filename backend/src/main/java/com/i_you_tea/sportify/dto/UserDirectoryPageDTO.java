@@ -0,0 +1,22 @@
+package com.i_you_tea.sportify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the user directory, ordered by name (case-insensitive) and user id.
+ * Pass nextAfterName/nextAfterId back as afterName/afterId to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDirectoryPageDTO {
+
+    private List<UserDirectoryItemDTO> items;
+    private boolean hasMore;
+    private String nextAfterName;
+    private Long nextAfterId;
+}
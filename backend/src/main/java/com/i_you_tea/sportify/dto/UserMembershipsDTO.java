@@ -0,0 +1,41 @@
+package com.i_you_tea.sportify.dto;
+
+import com.i_you_tea.sportify.entity.UserMembership;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Player dashboard: the user's teams and the distinct tournaments those teams play in.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserMembershipsDTO {
+
+    private Long userId;
+    private List<TeamDTO> teams;
+    private List<TournamentDTO> tournaments;
+
+    public static UserMembershipsDTO fromMemberships(Long userId, List<UserMembership> memberships) {
+        List<TeamDTO> teams = memberships.stream()
+                .map(TeamDTO::fromMembership)
+                .collect(Collectors.toList());
+        return new UserMembershipsDTO(userId, teams, tournamentsOf(memberships));
+    }
+
+    public static List<TournamentDTO> tournamentsOf(List<UserMembership> memberships) {
+        Map<Long, TournamentDTO> tournaments = new LinkedHashMap<>();
+        for (UserMembership membership : memberships) {
+            if (membership.getTournamentId() != null) {
+                tournaments.putIfAbsent(membership.getTournamentId(), TournamentDTO.fromMembership(membership));
+            }
+        }
+        return List.copyOf(tournaments.values());
+    }
+}
@@ -45,4 +45,8 @@ public class Announcement {
     
     @Column(name = "end_date")
     private LocalDateTime endDate;
+
+    // Set once when the announcement went live and its notifications were sent (see AnnouncementScheduler)
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
 }
\ No newline at end of file
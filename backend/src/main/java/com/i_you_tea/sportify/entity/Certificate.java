@@ -8,7 +8,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "certificates")
+@Table(name = "certificates",
+       uniqueConstraints = @UniqueConstraint(name = "uk_certificates_user_tournament",
+                                             columnNames = {"user_id", "tournament_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
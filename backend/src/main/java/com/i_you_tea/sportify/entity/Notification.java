@@ -7,12 +7,37 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * Stored in monthly range partitions on sent_at (see V15); the database primary key is
+ * (notification_id, sent_at), notification_id alone stays unique through its identity sequence.
+ */
 @Entity
 @Table(name = "notifications")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Notification {
+
+    /**
+     * What a notification is about; users choose per category how they receive it (see NotificationPreference).
+     */
+    public enum Category {
+        MEMBERSHIP(NotificationPreference.Mode.DIGEST),
+        ROUND(NotificationPreference.Mode.DIGEST),
+        SCHEDULE(NotificationPreference.Mode.DIGEST),
+        ANNOUNCEMENT(NotificationPreference.Mode.IMMEDIATE),
+        GENERAL(NotificationPreference.Mode.IMMEDIATE);
+
+        private final NotificationPreference.Mode defaultMode;
+
+        Category(NotificationPreference.Mode defaultMode) {
+            this.defaultMode = defaultMode;
+        }
+
+        public NotificationPreference.Mode getDefaultMode() {
+            return defaultMode;
+        }
+    }
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,7 +45,9 @@ public class Notification {
     private Long notificationId;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "recipient_id", nullable = false)
+    // fk_notifications_recipient is created by V15; schema update cannot see constraints of partitioned tables
+    @JoinColumn(name = "recipient_id", nullable = false,
+                foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User recipient;
     
     @Column(name = "message", nullable = false, columnDefinition = "TEXT")
@@ -31,4 +58,8 @@ public class Notification {
     
     @Column(name = "is_read", nullable = false)
     private Boolean isRead = false;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false, length = 20)
+    private Category category = Category.GENERAL;
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.i_you_tea.sportify.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * How a user receives notifications of one category. Categories without a row use their default mode.
+ */
+@Entity
+@Table(name = "notification_preferences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(NotificationPreference.NotificationPreferenceId.class)
+public class NotificationPreference {
+
+    public enum Mode {
+        // Written and pushed at once
+        IMMEDIATE,
+        // Coalesced with the user's other notifications of the digest window into one
+        DIGEST,
+        // Not written at all
+        OFF
+    }
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", length = 20)
+    private Notification.Category category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false, length = 10)
+    private Mode mode;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NotificationPreferenceId implements Serializable {
+        private Long userId;
+        private Notification.Category category;
+    }
+}
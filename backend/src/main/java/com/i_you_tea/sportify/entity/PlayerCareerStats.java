@@ -0,0 +1,61 @@
+package com.i_you_tea.sportify.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized career statistics of a player in one sport, aggregated from completed matches,
+ * cricket scores and tournament titles. Maintained by PlayerCareerStatsService; never edit directly.
+ */
+@Entity
+@Table(name = "player_career_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(PlayerCareerStats.PlayerCareerStatsId.class)
+public class PlayerCareerStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "sport_id")
+    private Long sportId;
+
+    @Column(name = "sport_name")
+    private String sportName;
+
+    @Column(name = "matches_played", nullable = false)
+    private Integer matchesPlayed;
+
+    @Column(name = "wins", nullable = false)
+    private Integer wins;
+
+    @Column(name = "titles", nullable = false)
+    private Integer titles;
+
+    // Cricket scores are recorded per team: runs scored by the player's team in the player's matches
+    @Column(name = "runs", nullable = false)
+    private Integer runs;
+
+    // Wickets the player's team took, i.e. the wickets the opponent lost
+    @Column(name = "wickets", nullable = false)
+    private Integer wickets;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PlayerCareerStatsId implements Serializable {
+        private Long userId;
+        private Long sportId;
+    }
+}
@@ -4,9 +4,13 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "sports")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,6 +32,10 @@ public class Sport {
     
     @Column(name = "player_count")
     private Integer playerCount;
+
+    // Default slot length used for venue conflict detection
+    @Column(name = "match_duration_minutes")
+    private Integer matchDurationMinutes;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "captain_id")
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
 @Table(name = "teams")
@@ -39,4 +41,12 @@ public class Team {
 
     @Column(name="dummy",nullable = true)
     private Boolean dummy = false;
+
+    // For dummy teams: the round whose winner this placeholder stands for.
+    // Deleting the round nulls the link, leaving the team for DummyTeamSweeper.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "source_round_id", nullable = true,
+                foreignKey = @ForeignKey(name = "fk_teams_source_round"))
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Round sourceRound;
 }
\ No newline at end of file
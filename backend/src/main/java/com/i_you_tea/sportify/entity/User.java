@@ -45,8 +45,9 @@ public class User implements UserDetails {
     @Column(name = "role", nullable = false)
     private UserRole role;
 
-    @Column(name = "profile_photo", columnDefinition = "TEXT")
-    private String profilePhoto;
+    // SHA-256 of the photo in the profile photo store
+    @Column(name = "profile_photo_key", length = 64)
+    private String profilePhotoKey;
 
     public enum UserRole {
         PLAYER, ADMIN, CAPTAIN, SCOREKEEPER
@@ -0,0 +1,113 @@
+package com.i_you_tea.sportify.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized read model: one row per (user, team) membership carrying the team and tournament
+ * summaries shown on the player dashboard. Maintained by MembershipReadModelService; never edit directly.
+ */
+@Entity
+@Table(name = "user_memberships",
+       indexes = {
+           @Index(name = "idx_user_memberships_team_id", columnList = "team_id"),
+           @Index(name = "idx_user_memberships_tournament_id", columnList = "tournament_id")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(UserMembership.UserMembershipId.class)
+public class UserMembership {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+
+    @Column(name = "role_in_team")
+    private String roleInTeam;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private TeamMember.TeamMemberStatus status;
+
+    @Column(name = "team_name", nullable = false)
+    private String teamName;
+
+    @Column(name = "logo")
+    private String logo;
+
+    @Column(name = "dummy")
+    private Boolean dummy;
+
+    @Column(name = "sport_id")
+    private Long sportId;
+
+    @Column(name = "sport_name")
+    private String sportName;
+
+    @Column(name = "created_by_id")
+    private Long createdById;
+
+    @Column(name = "created_by_name")
+    private String createdByName;
+
+    @Column(name = "tournament_id")
+    private Long tournamentId;
+
+    @Column(name = "tournament_name")
+    private String tournamentName;
+
+    @Column(name = "tournament_sport_id")
+    private Long tournamentSportId;
+
+    @Column(name = "tournament_sport_name")
+    private String tournamentSportName;
+
+    @Column(name = "tournament_start_date")
+    private LocalDate tournamentStartDate;
+
+    @Column(name = "tournament_end_date")
+    private LocalDate tournamentEndDate;
+
+    @Column(name = "tournament_created_by_id")
+    private Long tournamentCreatedById;
+
+    @Column(name = "tournament_created_by_name")
+    private String tournamentCreatedByName;
+
+    @Column(name = "champion_id")
+    private Long championId;
+
+    @Column(name = "champion_name")
+    private String championName;
+
+    @Column(name = "runner_up_id")
+    private Long runnerUpId;
+
+    @Column(name = "runner_up_name")
+    private String runnerUpName;
+
+    @Column(name = "fixture_generated")
+    private Boolean fixtureGenerated;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserMembershipId implements Serializable {
+        private Long userId;
+        private Long teamId;
+    }
+}
@@ -1,14 +1,18 @@
 package com.i_you_tea.sportify.repository;
 
+import com.i_you_tea.sportify.dto.AnnouncementFeedItemDTO;
 import com.i_you_tea.sportify.entity.Announcement;
 import com.i_you_tea.sportify.entity.User;
 import com.i_you_tea.sportify.entity.Sport;
 import com.i_you_tea.sportify.entity.Tournament;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
@@ -24,4 +28,77 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
     List<Announcement> findByTitleContainingIgnoreCase(String title);
     
     List<Announcement> findAllByOrderByPostedAtDesc();
-}
\ No newline at end of file
+
+    /**
+     * Fields of an announcement held by the search index
+     */
+    interface AnnouncementSearchView {
+        Long getAnnouncementId();
+        String getTitle();
+        String getContent();
+    }
+
+    String ANNOUNCEMENT_SEARCH_SELECT =
+           "SELECT a.announcementId AS announcementId, a.title AS title, a.content AS content FROM Announcement a";
+
+    @Query(ANNOUNCEMENT_SEARCH_SELECT)
+    List<AnnouncementSearchView> findSearchViews();
+
+    @Query(ANNOUNCEMENT_SEARCH_SELECT + " WHERE a.announcementId = :announcementId")
+    Optional<AnnouncementSearchView> findSearchViewById(@Param("announcementId") Long announcementId);
+
+    /**
+     * Active announcements (started, not yet ended; open ends count as active) for the feed snapshot.
+     * Content is cut in the database to one character past the preview so truncation can be detected.
+     */
+    @Query("SELECT new com.i_you_tea.sportify.dto.AnnouncementFeedItemDTO(" +
+           "a.announcementId, a.title, SUBSTRING(a.content, 1, :previewLength), false, " +
+           "p.userId, p.name, a.postedAt, s.sportId, s.name, t.tournamentId, t.name, a.startDate, a.endDate) " +
+           "FROM Announcement a " +
+           "JOIN a.postedBy p " +
+           "LEFT JOIN a.relatedSport s " +
+           "LEFT JOIN a.relatedTournament t " +
+           "WHERE (a.startDate IS NULL OR a.startDate <= :now) AND (a.endDate IS NULL OR a.endDate > :now) " +
+           "ORDER BY a.postedAt DESC, a.announcementId DESC")
+    List<AnnouncementFeedItemDTO> findActiveFeedItems(@Param("now") LocalDateTime now,
+                                                      @Param("previewLength") int previewLength);
+
+    /**
+     * Start and end dates of announcements with a timer still to fire: not yet published, or not yet ended.
+     */
+    interface AnnouncementTimerView {
+        Long getAnnouncementId();
+        LocalDateTime getStartDate();
+        LocalDateTime getEndDate();
+        LocalDateTime getPublishedAt();
+    }
+
+    @Query("SELECT a.announcementId AS announcementId, a.startDate AS startDate, a.endDate AS endDate, " +
+           "a.publishedAt AS publishedAt " +
+           "FROM Announcement a WHERE a.publishedAt IS NULL OR a.endDate > :now")
+    List<AnnouncementTimerView> findTimerViews(@Param("now") LocalDateTime now);
+
+    @Query("SELECT a.announcementId AS announcementId, a.startDate AS startDate, a.endDate AS endDate, " +
+           "a.publishedAt AS publishedAt " +
+           "FROM Announcement a WHERE a.announcementId = :announcementId")
+    Optional<AnnouncementTimerView> findTimerViewById(@Param("announcementId") Long announcementId);
+
+    interface PublishedAnnouncementView {
+        String getTitle();
+        Long getRelatedSportId();
+        Long getRelatedTournamentId();
+        LocalDateTime getEndDate();
+    }
+
+    /**
+     * Marks the announcement published, once: returns empty when it already was (or does not exist),
+     * so each announcement is announced exactly once even if its timer fires twice.
+     */
+    @Query(value = "UPDATE announcements SET published_at = :now " +
+                   "WHERE announcement_id = :announcementId AND published_at IS NULL " +
+                   "RETURNING title, related_sport_id AS relatedSportId, " +
+                   "related_tournament_id AS relatedTournamentId, end_date AS endDate",
+           nativeQuery = true)
+    Optional<PublishedAnnouncementView> markPublished(@Param("announcementId") Long announcementId,
+                                                      @Param("now") LocalDateTime now);
+}
@@ -3,15 +3,84 @@ package com.i_you_tea.sportify.repository;
 import com.i_you_tea.sportify.entity.Certificate;
 import com.i_you_tea.sportify.entity.Tournament;
 import com.i_you_tea.sportify.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CertificateRepository extends JpaRepository<Certificate, Long> {
     List<Certificate> findByUser(User user);
     List<Certificate> findByTournament(Tournament tournament);
-}
 
+    /**
+     * Everything printed on a rendered certificate
+     */
+    interface CertificateRenderView {
+        Long getCertificateId();
+        String getRecipientName();
+        String getTournamentName();
+        Long getSportId();
+        String getSportName();
+        String getPosition();
+        LocalDate getIssuedOn();
+    }
+
+    @Query("SELECT c.certificateId AS certificateId, u.name AS recipientName, t.name AS tournamentName, " +
+           "s.sportId AS sportId, s.name AS sportName, c.position AS position, c.issuedOn AS issuedOn " +
+           "FROM Certificate c JOIN c.user u JOIN c.tournament t JOIN c.sport s " +
+           "WHERE c.certificateId = :certificateId")
+    Optional<CertificateRenderView> findRenderViewById(@Param("certificateId") Long certificateId);
+
+    /**
+     * A certificate recipient with the best rank among their teams:
+     * 0 = champion, 1 = runner-up, 2 = participant.
+     */
+    interface CertificateRecipientView {
+        Long getUserId();
+        Integer getRank();
+    }
 
+    /**
+     * Members of every team of the tournament plus the champion and runner-up teams, one row per user.
+     */
+    @Query(value = "SELECT tm.user_id AS userId, " +
+                   "MIN(CASE WHEN tm.team_id = :championId THEN 0 " +
+                   "         WHEN tm.team_id = :runnerUpId THEN 1 ELSE 2 END) AS rank " +
+                   "FROM team_members tm JOIN teams t ON t.team_id = tm.team_id " +
+                   "WHERE t.tournament_id = :tournamentId OR tm.team_id = :championId OR tm.team_id = :runnerUpId " +
+                   "GROUP BY tm.user_id " +
+                   "ORDER BY tm.user_id",
+           nativeQuery = true)
+    List<CertificateRecipientView> findRecipients(@Param("tournamentId") Long tournamentId,
+                                                  @Param("championId") Long championId,
+                                                  @Param("runnerUpId") Long runnerUpId);
+
+    @Query("SELECT c.user.userId FROM Certificate c WHERE c.tournament.tournamentId = :tournamentId")
+    List<Long> findUserIdsByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Multi-row insert of one batch; rows for users that already hold a certificate are skipped.
+     * @return number of certificates inserted
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "certificates"))
+    @Query(value = "INSERT INTO certificates (user_id, tournament_id, sport_id, position, issued_on) " +
+                   "SELECT r.user_id, :tournamentId, :sportId, r.position, :issuedOn " +
+                   "FROM unnest(CAST(:userIds AS bigint[]), CAST(:positions AS varchar[])) AS r(user_id, position) " +
+                   "ON CONFLICT (user_id, tournament_id) DO NOTHING",
+           nativeQuery = true)
+    int insertCertificates(@Param("tournamentId") Long tournamentId,
+                           @Param("sportId") Long sportId,
+                           @Param("issuedOn") LocalDate issuedOn,
+                           @Param("userIds") Long[] userIds,
+                           @Param("positions") String[] positions);
+}
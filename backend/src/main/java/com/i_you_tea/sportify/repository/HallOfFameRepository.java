@@ -6,8 +6,11 @@ import com.i_you_tea.sportify.entity.Sport;
 import com.i_you_tea.sportify.entity.Match;
 import com.i_you_tea.sportify.entity.Tournament;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,4 +27,73 @@ public interface HallOfFameRepository extends JpaRepository<HallOfFame, Long> {
     List<HallOfFame> findByTitle(String title);
     
     List<HallOfFame> findByUserAndSport(User user, Sport sport);
-}
\ No newline at end of file
+
+    /**
+     * Everything HallOfFameDTO reads, in one query instead of four lazy loads per entry.
+     */
+    @Query("SELECT h FROM HallOfFame h " +
+           "LEFT JOIN FETCH h.user LEFT JOIN FETCH h.sport LEFT JOIN FETCH h.tournament " +
+           "LEFT JOIN FETCH h.match m LEFT JOIN FETCH m.team1 LEFT JOIN FETCH m.team2")
+    List<HallOfFame> findAllWithDetails();
+
+    interface PlayerStandingView {
+        Long getSportId();
+        String getSportName();
+        Long getUserId();
+        String getName();
+        Long getTitles();
+        Long getFinals();
+        Long getMatchWins();
+    }
+
+    /**
+     * Per sport and player: tournaments won and finals reached (as an accepted member of the
+     * champion or runner-up team, or by a Champion / Runner-up certificate), and matches won by
+     * the player's teams, byes excluded. Callers fill in the three filters, each either empty or
+     * starting with AND.
+     */
+    String STANDINGS_SELECT_PLACINGS =
+            "SELECT s.sport_id AS sportId, s.name AS sportName, u.user_id AS userId, u.name AS name, " +
+            "COALESCE(p.titles, 0) AS titles, COALESCE(p.finals, 0) AS finals, COALESCE(w.match_wins, 0) AS matchWins " +
+            "FROM (SELECT x.sport_id, x.user_id, " +
+            "             COUNT(DISTINCT x.tournament_id) FILTER (WHERE x.champion) AS titles, " +
+            "             COUNT(DISTINCT x.tournament_id) AS finals " +
+            "      FROM (SELECT t.sport_id, tm.user_id, t.tournament_id, tm.team_id = t.champion_id AS champion " +
+            "            FROM tournaments t " +
+            "            JOIN team_members tm ON tm.team_id IN (t.champion_id, t.runner_up_id) AND tm.status = 'ACCEPTED' " +
+            "            WHERE t.sport_id IS NOT NULL ";
+
+    String STANDINGS_CERTIFICATES =
+            "            UNION " +
+            "            SELECT c.sport_id, c.user_id, c.tournament_id, c.position = 'Champion' " +
+            "            FROM certificates c " +
+            "            WHERE c.position IN ('Champion', 'Runner-up') AND c.sport_id IS NOT NULL ";
+
+    String STANDINGS_MATCH_WINS =
+            "      ) x GROUP BY x.sport_id, x.user_id) p " +
+            "FULL JOIN (SELECT m.sport_id, tm.user_id, COUNT(*) AS match_wins " +
+            "           FROM matches m " +
+            "           JOIN team_members tm ON tm.team_id = m.winner_team_id AND tm.status = 'ACCEPTED' " +
+            "           WHERE m.team2_id IS NOT NULL AND m.sport_id IS NOT NULL ";
+
+    String STANDINGS_END =
+            "           GROUP BY m.sport_id, tm.user_id) w " +
+            "ON w.sport_id = p.sport_id AND w.user_id = p.user_id " +
+            "JOIN sports s ON s.sport_id = COALESCE(p.sport_id, w.sport_id) " +
+            "JOIN users u ON u.user_id = COALESCE(p.user_id, w.user_id)";
+
+    @Query(value = STANDINGS_SELECT_PLACINGS + STANDINGS_CERTIFICATES + STANDINGS_MATCH_WINS + STANDINGS_END,
+           nativeQuery = true)
+    List<PlayerStandingView> findAllPlayerStandings();
+
+    /**
+     * The same standings restricted to some players of one sport; players without any result get no row.
+     */
+    @Query(value = STANDINGS_SELECT_PLACINGS + "AND t.sport_id = :sportId AND tm.user_id IN (:userIds) " +
+                   STANDINGS_CERTIFICATES + "AND c.sport_id = :sportId AND c.user_id IN (:userIds) " +
+                   STANDINGS_MATCH_WINS + "AND m.sport_id = :sportId AND tm.user_id IN (:userIds) " +
+                   STANDINGS_END,
+           nativeQuery = true)
+    List<PlayerStandingView> findPlayerStandings(@Param("sportId") Long sportId,
+                                                 @Param("userIds") Collection<Long> userIds);
+}
@@ -1,9 +1,11 @@
 package com.i_you_tea.sportify.repository;
 
+import com.i_you_tea.sportify.dto.MatchFeedItemDTO;
 import com.i_you_tea.sportify.entity.Match;
 import com.i_you_tea.sportify.entity.Tournament;
 import com.i_you_tea.sportify.entity.Team;
 import com.i_you_tea.sportify.entity.Sport;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -12,10 +14,39 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MatchRepository extends JpaRepository<Match, Long> {
+
+    /**
+     * Matches with everything MatchDTO shows fetched in the same statement, so listing them costs
+     * one query whatever their number. Sport is left to the second-level cache.
+     */
+    String MATCH_DETAILS_SELECT =
+            "SELECT m FROM Match m " +
+            "LEFT JOIN FETCH m.tournament " +
+            "LEFT JOIN FETCH m.team1 " +
+            "LEFT JOIN FETCH m.team2 " +
+            "LEFT JOIN FETCH m.winnerTeam " +
+            "LEFT JOIN FETCH m.round r ";
+
+    @Query(MATCH_DETAILS_SELECT)
+    List<Match> findAllWithDetails();
+
+    @Query(MATCH_DETAILS_SELECT + "WHERE m.tournament.tournamentId = :tournamentId")
+    List<Match> findWithDetailsByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    @Query(MATCH_DETAILS_SELECT + "WHERE r.roundId = :roundId")
+    List<Match> findWithDetailsByRoundId(@Param("roundId") Long roundId);
+
+    @Query(MATCH_DETAILS_SELECT + "WHERE r.roundValue = :roundValue")
+    List<Match> findWithDetailsByRoundValue(@Param("roundValue") Integer roundValue);
+
+    @Query(MATCH_DETAILS_SELECT + "WHERE r.roundId = :roundId AND m.tournament.tournamentId = :tournamentId")
+    List<Match> findWithDetailsByRoundIdAndTournamentId(@Param("roundId") Long roundId,
+                                                        @Param("tournamentId") Long tournamentId);
     
     List<Match> findByTournament(Tournament tournament);
     
@@ -54,4 +85,74 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
     @Modifying
     @Query("DELETE FROM Match m WHERE m.tournament.tournamentId = :tournamentId AND m.round.roundValue = :roundValue")
     void deleteByTournamentIdAndRoundValue(@Param("tournamentId") Long tournamentId, @Param("roundValue") int roundValue);
-}
\ No newline at end of file
+
+    /**
+     * Keyset page of the match feed for a status, ordered by (scheduledTime, matchId).
+     * Returns rows strictly after the (afterTime, afterId) cursor; the Pageable only supplies the limit.
+     * Backed by idx_matches_status_scheduled_time_id (V6); the redundant scheduledTime >= bound lets
+     * PostgreSQL seek the index to the cursor instead of reading every earlier row of the status.
+     */
+    @Query("SELECT new com.i_you_tea.sportify.dto.MatchFeedItemDTO(" +
+           "m.matchId, t.tournamentId, t.name, s.sportId, s.name, " +
+           "t1.teamId, t1.teamName, t2.teamId, t2.teamName, " +
+           "m.scheduledTime, m.venue, m.status, r.roundName) " +
+           "FROM Match m " +
+           "JOIN m.tournament t " +
+           "JOIN m.sport s " +
+           "JOIN m.team1 t1 " +
+           "LEFT JOIN m.team2 t2 " +
+           "LEFT JOIN m.round r " +
+           "WHERE m.status = :status AND m.scheduledTime >= :afterTime " +
+           "AND (m.scheduledTime > :afterTime OR (m.scheduledTime = :afterTime AND m.matchId > :afterId)) " +
+           "ORDER BY m.scheduledTime ASC, m.matchId ASC")
+    List<MatchFeedItemDTO> findFeedPage(@Param("status") Match.MatchStatus status,
+                                        @Param("afterTime") LocalDateTime afterTime,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    /**
+     * Venue booking of a match, as loaded into the scheduling conflict index.
+     */
+    interface MatchSlotView {
+        Long getMatchId();
+        Long getTournamentId();
+        Long getSportId();
+        String getVenue();
+        LocalDateTime getScheduledTime();
+    }
+
+    String BOOKED_SLOT_SELECT = "SELECT m.matchId AS matchId, m.tournament.tournamentId AS tournamentId, " +
+            "m.sport.sportId AS sportId, m.venue AS venue, m.scheduledTime AS scheduledTime " +
+            "FROM Match m " +
+            "WHERE m.venue IS NOT NULL AND m.scheduledTime IS NOT NULL " +
+            "AND m.status <> com.i_you_tea.sportify.entity.Match.MatchStatus.CANCELLED ";
+
+    @Query(BOOKED_SLOT_SELECT + "AND m.scheduledTime >= :start")
+    List<MatchSlotView> findBookedSlotsFrom(@Param("start") LocalDateTime start);
+
+    @Query(BOOKED_SLOT_SELECT + "AND m.scheduledTime >= :start AND m.scheduledTime < :end")
+    List<MatchSlotView> findBookedSlotsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query(BOOKED_SLOT_SELECT + "AND m.matchId IN :matchIds")
+    List<MatchSlotView> findBookedSlotsByMatchIds(@Param("matchIds") Collection<Long> matchIds);
+
+    /**
+     * One row per owner of a real team in the match (once when they own both), for schedule notifications.
+     */
+    interface ScheduleRecipientView {
+        Long getMatchId();
+        Long getOwnerId();
+        String getTeam1Name();
+        String getTeam2Name();
+    }
+
+    @Query(value = "SELECT DISTINCT m.match_id AS matchId, o.created_by AS ownerId, " +
+                   "t1.team_name AS team1Name, t2.team_name AS team2Name " +
+                   "FROM matches m " +
+                   "JOIN teams t1 ON t1.team_id = m.team1_id " +
+                   "LEFT JOIN teams t2 ON t2.team_id = m.team2_id " +
+                   "JOIN teams o ON o.team_id IN (m.team1_id, m.team2_id) " +
+                   "WHERE m.match_id IN (:matchIds) AND o.dummy IS NOT TRUE",
+           nativeQuery = true)
+    List<ScheduleRecipientView> findScheduleRecipients(@Param("matchIds") Collection<Long> matchIds);
+}
@@ -0,0 +1,42 @@
+package com.i_you_tea.sportify.repository;
+
+import com.i_you_tea.sportify.entity.NotificationDigestItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationDigestItemRepository extends JpaRepository<NotificationDigestItem, Long> {
+
+    /**
+     * Claims a recipient's buffered items by deleting them, so only one flush can write them: a
+     * concurrent flush waits for the row locks and then finds nothing. Rows come back unordered.
+     * RETURNING needs a result set, which @Modifying cannot execute; the hints flush pending changes
+     * first, as flushAutomatically does, and name the table it writes.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_digest_items"),
+                 @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "ALWAYS")})
+    @Query(value = "DELETE FROM notification_digest_items WHERE recipient_id = :recipientId RETURNING *",
+           nativeQuery = true)
+    List<NotificationDigestItem> claimByRecipientId(@Param("recipientId") Long recipientId);
+
+    /**
+     * One row per recipient with buffered items, for resuming digests after a restart.
+     */
+    interface PendingDigestView {
+        Long getRecipientId();
+        LocalDateTime getOpenedAt();
+        Long getItems();
+    }
+
+    @Query("SELECT i.recipientId AS recipientId, MIN(i.createdAt) AS openedAt, COUNT(i) AS items " +
+           "FROM NotificationDigestItem i GROUP BY i.recipientId")
+    List<PendingDigestView> findPendingDigests();
+}
@@ -0,0 +1,14 @@
+package com.i_you_tea.sportify.repository;
+
+import com.i_you_tea.sportify.entity.NotificationPreference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NotificationPreferenceRepository
+        extends JpaRepository<NotificationPreference, NotificationPreference.NotificationPreferenceId> {
+
+    List<NotificationPreference> findByUserId(Long userId);
+}
@@ -2,7 +2,14 @@ package com.i_you_tea.sportify.repository;
 
 import com.i_you_tea.sportify.entity.Notification;
 import com.i_you_tea.sportify.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -20,4 +27,92 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByRecipientOrderBySentAtDesc(User recipient);
     
     long countByRecipientAndIsRead(User recipient, Boolean isRead);
-}
\ No newline at end of file
+
+    /**
+     * Newest first, strictly before the (beforeSentAt, beforeId) cursor; the Pageable only supplies the limit.
+     * The redundant sentAt bound lets PostgreSQL prune newer partitions and range-scan the cursor index.
+     */
+    @Query("SELECT n FROM Notification n " +
+           "WHERE n.recipient.userId = :userId AND n.sentAt <= :beforeSentAt " +
+           "AND (n.sentAt < :beforeSentAt OR (n.sentAt = :beforeSentAt AND n.notificationId < :beforeId)) " +
+           "ORDER BY n.sentAt DESC, n.notificationId DESC")
+    List<Notification> findPageBefore(@Param("userId") Long userId,
+                                      @Param("beforeSentAt") LocalDateTime beforeSentAt,
+                                      @Param("beforeId") Long beforeId,
+                                      Pageable pageable);
+
+    /**
+     * Notifications newer than afterId, oldest first, for replaying a push stream after a reconnect.
+     */
+    @Query("SELECT n FROM Notification n JOIN FETCH n.recipient " +
+           "WHERE n.recipient.userId = :userId AND n.notificationId > :afterId AND n.sentAt >= :since " +
+           "ORDER BY n.notificationId")
+    List<Notification> findByRecipientAfterId(@Param("userId") Long userId,
+                                              @Param("afterId") Long afterId,
+                                              @Param("since") LocalDateTime since,
+                                              Pageable pageable);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient.userId = :userId AND n.isRead = false")
+    long countUnreadByRecipientId(@Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notifications"))
+    @Query(value = "UPDATE notifications SET is_read = true WHERE recipient_id = :userId AND is_read = false",
+           nativeQuery = true)
+    int markAllAsRead(@Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notifications"))
+    @Query(value = "UPDATE notifications SET is_read = true " +
+                   "WHERE recipient_id = :userId AND is_read = false AND notification_id <= :upToId",
+           nativeQuery = true)
+    int markAsReadUpTo(@Param("userId") Long userId, @Param("upToId") Long upToId);
+
+    // Fan-out recipients: accepted members, each user once
+
+    @Query(value = "SELECT DISTINCT tm.user_id FROM team_members tm " +
+                   "WHERE tm.team_id = :teamId AND tm.status = 'ACCEPTED'",
+           nativeQuery = true)
+    List<Long> findTeamRecipientIds(@Param("teamId") Long teamId);
+
+    @Query(value = "SELECT DISTINCT tm.user_id FROM team_members tm JOIN teams t ON t.team_id = tm.team_id " +
+                   "WHERE t.tournament_id = :tournamentId AND tm.status = 'ACCEPTED'",
+           nativeQuery = true)
+    List<Long> findTournamentRecipientIds(@Param("tournamentId") Long tournamentId);
+
+    @Query(value = "SELECT DISTINCT tm.user_id FROM team_members tm JOIN teams t ON t.team_id = tm.team_id " +
+                   "LEFT JOIN tournaments tr ON tr.tournament_id = t.tournament_id " +
+                   "WHERE (t.sport_id = :sportId OR tr.sport_id = :sportId) AND tm.status = 'ACCEPTED'",
+           nativeQuery = true)
+    List<Long> findSportRecipientIds(@Param("sportId") Long sportId);
+
+    interface InsertedNotificationView {
+        Long getNotificationId();
+        Long getRecipientId();
+    }
+
+    /**
+     * Multi-row insert of one message for a batch of recipients. Unknown users are skipped, as are
+     * recipients who turned the category off and those who already received the same message since dedupeSince.
+     * RETURNING needs a result set, which @Modifying cannot execute; the hints flush pending changes first,
+     * as flushAutomatically does, and name the table it writes.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notifications"),
+                 @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "ALWAYS")})
+    @Query(value = "INSERT INTO notifications (recipient_id, message, sent_at, is_read, category) " +
+                   "SELECT u.user_id, :message, :sentAt, false, :category " +
+                   "FROM unnest(CAST(:recipientIds AS bigint[])) AS r(recipient_id) " +
+                   "JOIN users u ON u.user_id = r.recipient_id " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM notifications n " +
+                   "                  WHERE n.recipient_id = r.recipient_id " +
+                   "                    AND n.sent_at >= :dedupeSince AND n.message = :message) " +
+                   "AND NOT EXISTS (SELECT 1 FROM notification_preferences p " +
+                   "                WHERE p.user_id = r.recipient_id AND p.category = :category AND p.mode = 'OFF') " +
+                   "RETURNING notification_id AS notificationId, recipient_id AS recipientId",
+           nativeQuery = true)
+    List<InsertedNotificationView> insertForRecipients(@Param("recipientIds") Long[] recipientIds,
+                                                       @Param("message") String message,
+                                                       @Param("category") String category,
+                                                       @Param("sentAt") LocalDateTime sentAt,
+                                                       @Param("dedupeSince") LocalDateTime dedupeSince);
+}
@@ -0,0 +1,148 @@
+package com.i_you_tea.sportify.repository;
+
+import com.i_you_tea.sportify.entity.PlayerCareerStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PlayerCareerStatsRepository extends JpaRepository<PlayerCareerStats, PlayerCareerStats.PlayerCareerStatsId> {
+
+    /**
+     * Aggregates career stats from the normalized tables and upserts them. A match counts once it
+     * is completed and has two teams; accepted members of either team played it. Titles are
+     * tournaments won as an accepted member of the champion team or by a Champion certificate.
+     * Callers fill in the three filters, each either empty or starting with AND, selecting which
+     * (player, sport) pairs to (re)compute: after STATS_PLAYED on tm and m, after STATS_TITLES on
+     * tm and t, after STATS_CERTIFICATES on c.
+     */
+    String STATS_PLAYED =
+            "WITH played AS (" +
+            "    SELECT DISTINCT tm.user_id, m.sport_id, m.match_id, tm.team_id, " +
+            "           CASE WHEN tm.team_id = m.team1_id THEN m.team2_id ELSE m.team1_id END AS opponent_id, " +
+            "           m.winner_team_id IS NOT DISTINCT FROM tm.team_id AS won " +
+            "    FROM matches m " +
+            "    JOIN team_members tm ON tm.team_id IN (m.team1_id, m.team2_id) AND tm.status = 'ACCEPTED' " +
+            "    WHERE m.status = 'COMPLETED' AND m.team2_id IS NOT NULL AND m.sport_id IS NOT NULL ";
+
+    String STATS_TITLES =
+            "), match_stats AS (" +
+            "    SELECT p.user_id, p.sport_id, COUNT(DISTINCT p.match_id) AS matches_played, " +
+            "           COUNT(DISTINCT p.match_id) FILTER (WHERE p.won) AS wins, " +
+            "           COALESCE(SUM(r.runs), 0) AS runs, COALESCE(SUM(w.wickets), 0) AS wickets " +
+            "    FROM played p " +
+            "    LEFT JOIN LATERAL (SELECT SUM(cs.runs) AS runs FROM cricket_scores cs " +
+            "                       WHERE cs.match_id = p.match_id AND cs.team_id = p.team_id) r ON true " +
+            "    LEFT JOIN LATERAL (SELECT SUM(cs.wickets) AS wickets FROM cricket_scores cs " +
+            "                       WHERE cs.match_id = p.match_id AND cs.team_id = p.opponent_id) w ON true " +
+            "    GROUP BY p.user_id, p.sport_id " +
+            "), titles AS (" +
+            "    SELECT x.user_id, x.sport_id, COUNT(DISTINCT x.tournament_id) AS titles " +
+            "    FROM (SELECT tm.user_id, t.sport_id, t.tournament_id " +
+            "          FROM tournaments t " +
+            "          JOIN team_members tm ON tm.team_id = t.champion_id AND tm.status = 'ACCEPTED' " +
+            "          WHERE t.sport_id IS NOT NULL ";
+
+    String STATS_CERTIFICATES =
+            "          UNION " +
+            "          SELECT c.user_id, c.sport_id, c.tournament_id " +
+            "          FROM certificates c " +
+            "          WHERE c.position = 'Champion' AND c.sport_id IS NOT NULL ";
+
+    String STATS_UPSERT =
+            "    ) x GROUP BY x.user_id, x.sport_id " +
+            ") " +
+            "INSERT INTO player_career_stats (user_id, sport_id, sport_name, matches_played, wins, titles, " +
+            "                                 runs, wickets, updated_at) " +
+            "SELECT COALESCE(ms.user_id, ti.user_id), s.sport_id, s.name, COALESCE(ms.matches_played, 0), " +
+            "       COALESCE(ms.wins, 0), COALESCE(ti.titles, 0), COALESCE(ms.runs, 0), COALESCE(ms.wickets, 0), now() " +
+            "FROM match_stats ms " +
+            "FULL JOIN titles ti ON ti.user_id = ms.user_id AND ti.sport_id = ms.sport_id " +
+            "JOIN sports s ON s.sport_id = COALESCE(ms.sport_id, ti.sport_id) " +
+            "ON CONFLICT (user_id, sport_id) DO UPDATE SET " +
+            "sport_name = EXCLUDED.sport_name, matches_played = EXCLUDED.matches_played, wins = EXCLUDED.wins, " +
+            "titles = EXCLUDED.titles, runs = EXCLUDED.runs, wickets = EXCLUDED.wickets, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    // Served by the primary key (user_id, sport_id)
+    List<PlayerCareerStats> findByUserIdOrderBySportNameAsc(Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "player_career_stats"))
+    @Query(value = STATS_PLAYED + "AND m.sport_id = :sportId AND tm.user_id IN (:userIds) " +
+                   STATS_TITLES + "AND t.sport_id = :sportId AND tm.user_id IN (:userIds) " +
+                   STATS_CERTIFICATES + "AND c.sport_id = :sportId AND c.user_id IN (:userIds) " +
+                   STATS_UPSERT,
+           nativeQuery = true)
+    int upsertPlayers(@Param("sportId") Long sportId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * One of the partitions of a full rebuild: the players whose id falls into the bucket.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "player_career_stats"))
+    @Query(value = STATS_PLAYED + "AND tm.user_id % :buckets = :bucket " +
+                   STATS_TITLES + "AND tm.user_id % :buckets = :bucket " +
+                   STATS_CERTIFICATES + "AND c.user_id % :buckets = :bucket " +
+                   STATS_UPSERT,
+           nativeQuery = true)
+    int upsertBucket(@Param("buckets") int buckets, @Param("bucket") int bucket);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "player_career_stats"))
+    @Query(value = "DELETE FROM player_career_stats WHERE sport_id = :sportId AND user_id IN (:userIds)",
+           nativeQuery = true)
+    int deletePlayers(@Param("sportId") Long sportId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "player_career_stats"))
+    @Query(value = "DELETE FROM player_career_stats WHERE user_id % :buckets = :bucket", nativeQuery = true)
+    int deleteBucket(@Param("buckets") int buckets, @Param("bucket") int bucket);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "player_career_stats"))
+    @Query(value = "UPDATE player_career_stats s SET sport_name = sp.name FROM sports sp " +
+                   "WHERE sp.sport_id = :sportId AND s.sport_id = :sportId",
+           nativeQuery = true)
+    int updateSportName(@Param("sportId") Long sportId);
+
+    /**
+     * A player whose stats in a sport count something that is about to be deleted.
+     */
+    interface AffectedPlayerView {
+        Long getSportId();
+        Long getUserId();
+    }
+
+    String COMPLETED_MATCH_PLAYERS =
+            "SELECT DISTINCT m.sport_id AS sportId, tm.user_id AS userId " +
+            "FROM matches m " +
+            "JOIN team_members tm ON tm.team_id IN (m.team1_id, m.team2_id) AND tm.status = 'ACCEPTED' " +
+            "WHERE m.status = 'COMPLETED' AND m.sport_id IS NOT NULL ";
+
+    @Query(value = COMPLETED_MATCH_PLAYERS + "AND m.match_id IN (:matchIds)", nativeQuery = true)
+    List<AffectedPlayerView> findPlayersOfCompletedMatches(@Param("matchIds") Collection<Long> matchIds);
+
+    @Query(value = COMPLETED_MATCH_PLAYERS + "AND m.round_id = :roundId", nativeQuery = true)
+    List<AffectedPlayerView> findPlayersOfCompletedRoundMatches(@Param("roundId") Long roundId);
+
+    /**
+     * Players of the tournament's completed matches, of its champion team, and holders of its Champion certificates.
+     */
+    @Query(value = COMPLETED_MATCH_PLAYERS + "AND m.tournament_id = :tournamentId " +
+                   "UNION SELECT t.sport_id, tm.user_id FROM tournaments t " +
+                   "JOIN team_members tm ON tm.team_id = t.champion_id AND tm.status = 'ACCEPTED' " +
+                   "WHERE t.tournament_id = :tournamentId AND t.sport_id IS NOT NULL " +
+                   "UNION SELECT c.sport_id, c.user_id FROM certificates c " +
+                   "WHERE c.tournament_id = :tournamentId AND c.position = 'Champion' AND c.sport_id IS NOT NULL",
+           nativeQuery = true)
+    List<AffectedPlayerView> findPlayersOfTournament(@Param("tournamentId") Long tournamentId);
+}
@@ -1,8 +1,10 @@
 package com.i_you_tea.sportify.repository;
 
+import com.i_you_tea.sportify.dto.SportDTO;
 import com.i_you_tea.sportify.entity.Sport;
 import com.i_you_tea.sportify.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,4 +20,13 @@ public interface SportRepository extends JpaRepository<Sport, Long> {
     List<Sport> findByCaptain(User captain);
     
     List<Sport> findByCaptainUserId(Long captainId);
+
+    /**
+     * The sports list with captain and recent result names, in one query instead of lazy loads per sport.
+     */
+    @Query("SELECT new com.i_you_tea.sportify.dto.SportDTO(s.sportId, s.name, s.isTeamGame, s.rules, s.playerCount, " +
+           "c.userId, c.name, rc.teamId, rc.teamName, rr.teamId, rr.teamName, s.matchDurationMinutes) " +
+           "FROM Sport s LEFT JOIN s.captain c LEFT JOIN s.recentChampion rc LEFT JOIN s.recentRunnerUp rr " +
+           "ORDER BY s.sportId")
+    List<SportDTO> findAllSportDTOs();
 }
\ No newline at end of file
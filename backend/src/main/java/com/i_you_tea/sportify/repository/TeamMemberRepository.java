@@ -1,11 +1,20 @@
 package com.i_you_tea.sportify.repository;
 
+import com.i_you_tea.sportify.dto.InvitationDTO;
 import com.i_you_tea.sportify.entity.TeamMember;
 import com.i_you_tea.sportify.entity.Team;
 import com.i_you_tea.sportify.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,4 +27,114 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, TeamMemb
     List<TeamMember> findByRoleInTeam(String roleInTeam);
     
     boolean existsByTeamAndUser(Team team, User user);
-}
\ No newline at end of file
+
+    interface MembershipCheckView {
+        Long getUserId();
+        // Null when the user exists but is not a member of the team
+        String getStatus();
+    }
+
+    interface UpsertedMemberView {
+        Long getUserId();
+        String getStatus();
+        Boolean getInserted();
+    }
+
+    /**
+     * Set-based validation: one row per requested user that exists, with its current status in the team.
+     */
+    @Query(value = "SELECT u.user_id AS userId, tm.status AS status FROM users u " +
+                   "LEFT JOIN team_members tm ON tm.user_id = u.user_id AND tm.team_id = :teamId " +
+                   "WHERE u.user_id IN (:userIds)",
+           nativeQuery = true)
+    List<MembershipCheckView> findMembershipChecks(@Param("teamId") Long teamId, @Param("userIds") List<Long> userIds);
+
+    // The writes below return rows (RETURNING), which @Modifying cannot execute; the hints flush
+    // pending changes first, as flushAutomatically does, and name the table they write.
+
+    /**
+     * Inserts all members in one statement. Existing members keep their status and only take a new
+     * role when one is given, so concurrent adds of the same user cannot fail or duplicate.
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "team_members"),
+                 @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "ALWAYS")})
+    @Query(value = "INSERT INTO team_members (team_id, user_id, role_in_team, status) " +
+                   "SELECT :teamId, m.user_id, m.role_in_team, m.status " +
+                   "FROM unnest(CAST(:userIds AS bigint[]), CAST(:roles AS varchar[]), CAST(:statuses AS varchar[])) " +
+                   "AS m(user_id, role_in_team, status) " +
+                   "ON CONFLICT (team_id, user_id) DO UPDATE " +
+                   "SET role_in_team = COALESCE(EXCLUDED.role_in_team, team_members.role_in_team) " +
+                   "RETURNING user_id AS userId, status AS status, (xmax = 0) AS inserted",
+           nativeQuery = true)
+    List<UpsertedMemberView> upsertMembers(@Param("teamId") Long teamId,
+                                           @Param("userIds") Long[] userIds,
+                                           @Param("roles") String[] roles,
+                                           @Param("statuses") String[] statuses);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "team_members"),
+                 @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "ALWAYS")})
+    @Query(value = "DELETE FROM team_members WHERE team_id = :teamId AND user_id IN (:userIds) RETURNING user_id",
+           nativeQuery = true)
+    List<Long> deleteMembers(@Param("teamId") Long teamId, @Param("userIds") List<Long> userIds);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "team_members"),
+                 @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "ALWAYS")})
+    @Query(value = "UPDATE team_members SET status = 'ACCEPTED' " +
+                   "WHERE team_id = :teamId AND user_id IN (:userIds) AND status IS DISTINCT FROM 'ACCEPTED' RETURNING user_id",
+           nativeQuery = true)
+    List<Long> acceptMembers(@Param("teamId") Long teamId, @Param("userIds") List<Long> userIds);
+
+    // Invitation inbox; pending rows are served by the partial index idx_team_members_pending_user
+
+    @Query("SELECT new com.i_you_tea.sportify.dto.InvitationDTO(" +
+           "t.teamId, t.teamName, t.logo, tm.roleInTeam, s.sportId, s.name, " +
+           "tr.tournamentId, tr.name, cu.userId, cu.name) " +
+           "FROM TeamMember tm " +
+           "JOIN tm.team t " +
+           "LEFT JOIN t.sport s " +
+           "LEFT JOIN t.tournament tr " +
+           "LEFT JOIN t.createdBy cu " +
+           "WHERE tm.user.userId = :userId " +
+           "AND tm.status = com.i_you_tea.sportify.entity.TeamMember.TeamMemberStatus.PENDING " +
+           "AND t.teamId > :afterTeamId " +
+           "ORDER BY t.teamId")
+    List<InvitationDTO> findPendingInvitations(@Param("userId") Long userId,
+                                               @Param("afterTeamId") Long afterTeamId,
+                                               Pageable pageable);
+
+    @Query(value = "SELECT count(*) FROM team_members WHERE user_id = :userId AND status = 'PENDING'",
+           nativeQuery = true)
+    long countPendingInvitations(@Param("userId") Long userId);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "team_members"),
+                 @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "ALWAYS")})
+    @Query(value = "UPDATE team_members SET status = 'ACCEPTED' " +
+                   "WHERE user_id = :userId AND status = 'PENDING' AND team_id IN (:teamIds) RETURNING team_id",
+           nativeQuery = true)
+    List<Long> acceptInvitations(@Param("userId") Long userId, @Param("teamIds") List<Long> teamIds);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "team_members"),
+                 @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "ALWAYS")})
+    @Query(value = "UPDATE team_members SET status = 'ACCEPTED' " +
+                   "WHERE user_id = :userId AND status = 'PENDING' RETURNING team_id",
+           nativeQuery = true)
+    List<Long> acceptAllInvitations(@Param("userId") Long userId);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "team_members"),
+                 @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "ALWAYS")})
+    @Query(value = "DELETE FROM team_members " +
+                   "WHERE user_id = :userId AND status = 'PENDING' AND team_id IN (:teamIds) RETURNING team_id",
+           nativeQuery = true)
+    List<Long> declineInvitations(@Param("userId") Long userId, @Param("teamIds") List<Long> teamIds);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "team_members"),
+                 @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "ALWAYS")})
+    @Query(value = "DELETE FROM team_members WHERE user_id = :userId AND status = 'PENDING' RETURNING team_id",
+           nativeQuery = true)
+    List<Long> declineAllInvitations(@Param("userId") Long userId);
+
+    @Query(value = "SELECT DISTINCT tm.user_id FROM team_members tm " +
+                   "WHERE tm.team_id IN (:teamIds) AND tm.status = 'ACCEPTED'",
+           nativeQuery = true)
+    List<Long> findAcceptedMemberIds(@Param("teamIds") Collection<Long> teamIds);
+}
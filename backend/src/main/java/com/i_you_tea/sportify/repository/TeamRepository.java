@@ -1,15 +1,23 @@
 package com.i_you_tea.sportify.repository;
 
+import com.i_you_tea.sportify.dto.TeamDTO;
 import com.i_you_tea.sportify.entity.Team;
 import com.i_you_tea.sportify.entity.Sport;
 import com.i_you_tea.sportify.entity.User;
 import com.i_you_tea.sportify.entity.Tournament;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,22 +46,129 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
             "UNION SELECT DISTINCT m.team2.teamId FROM Match m WHERE m.round.roundId = :roundId)")
     void deleteDummyTeamsByRoundId(@Param("roundId") Long roundId);
 
+    // Placeholder teams standing for winners of a round; served by idx_teams_source_round_id
     @Modifying
-    @Query("DELETE FROM Team t WHERE t.dummy = true AND t.tournament.tournamentId = :tournamentId AND t.teamName LIKE %:roundPattern%")
-    void deleteDummyTeamsByTournamentIdAndRoundValue(@Param("tournamentId") Long tournamentId, @Param("roundPattern") String roundPattern);
+    @Query("DELETE FROM Team t WHERE t.dummy = true AND t.sourceRound.roundId = :roundId")
+    int deleteDummyTeamsBySourceRoundId(@Param("roundId") Long roundId);
 
-    @Query("SELECT t FROM Team t WHERE t.dummy = true AND t.tournament.tournamentId = :tournamentId AND t.teamName LIKE %:roundPattern%")
-    List<Team> findDummyTeamsByTournamentIdAndRoundValue(@Param("tournamentId") Long tournamentId, @Param("roundPattern") String roundPattern);
+    // Creator and tournament are fetched with the teams for TeamDTO
+    @Query("SELECT t FROM Team t LEFT JOIN FETCH t.createdBy LEFT JOIN FETCH t.tournament " +
+           "WHERE t.dummy = true AND t.sourceRound.roundId = :roundId ORDER BY t.teamId")
+    List<Team> findDummyTeamsBySourceRoundId(@Param("roundId") Long roundId);
 
-    // Find all dummy teams for a tournament (regardless of round)
-    @Query("SELECT t FROM Team t WHERE t.dummy = true AND t.tournament.tournamentId = :tournamentId")
+    /**
+     * Deletes up to batchSize dummy teams whose source round is gone and that nothing references any more.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "teams"))
+    @Query(value = "DELETE FROM teams WHERE team_id IN (" +
+                   "SELECT t.team_id FROM teams t " +
+                   "WHERE t.dummy = true AND t.source_round_id IS NULL " +
+                   "AND NOT EXISTS (SELECT 1 FROM matches m WHERE m.team1_id = t.team_id " +
+                   "OR m.team2_id = t.team_id OR m.winner_team_id = t.team_id) " +
+                   "AND NOT EXISTS (SELECT 1 FROM tournaments tr WHERE tr.champion_id = t.team_id " +
+                   "OR tr.runner_up_id = t.team_id) " +
+                   "AND NOT EXISTS (SELECT 1 FROM sports s WHERE s.recent_champion_id = t.team_id " +
+                   "OR s.recent_runner_up_id = t.team_id) " +
+                   "AND NOT EXISTS (SELECT 1 FROM team_members tm WHERE tm.team_id = t.team_id) " +
+                   "ORDER BY t.team_id LIMIT :batchSize)",
+           nativeQuery = true)
+    int deleteOrphanedDummyTeams(@Param("batchSize") int batchSize);
+
+    // Find all dummy teams for a tournament (regardless of round), with their creators for TeamDTO
+    @Query("SELECT t FROM Team t LEFT JOIN FETCH t.createdBy LEFT JOIN FETCH t.tournament " +
+           "WHERE t.dummy = true AND t.tournament.tournamentId = :tournamentId")
     List<Team> findAllDummyTeamsByTournamentId(@Param("tournamentId") Long tournamentId);
 
-    // Find team by id with eagerly loaded relations
+    // Find team by id with eagerly loaded relations, including the tournament details TeamDTO shows
     @Query("SELECT t FROM Team t " +
            "LEFT JOIN FETCH t.sport s " +
            "LEFT JOIN FETCH t.createdBy u " +
            "LEFT JOIN FETCH t.tournament tour " +
+           "LEFT JOIN FETCH tour.createdBy " +
+           "LEFT JOIN FETCH tour.champion " +
+           "LEFT JOIN FETCH tour.runnerUp " +
            "WHERE t.teamId = :teamId")
     Optional<Team> findByIdWithDetails(@Param("teamId") Long teamId);
-}
\ No newline at end of file
+
+    /**
+     * Team listing as a single constructor-projection statement; every column TeamDTO needs
+     * comes from outer joins, so no lazy loads follow. Null filters are ignored.
+     * Aliases s, cu, tr, tcu, ch and ru may be used in Sort properties.
+     */
+    String TEAM_SUMMARY_SELECT =
+           "SELECT new com.i_you_tea.sportify.dto.TeamDTO(" +
+           "t.teamId, t.teamName, s.sportId, s.name, cu.userId, cu.name, t.logo, " +
+           "tr.tournamentId, tr.name, tr.startDate, tr.endDate, tcu.name, " +
+           "ch.teamId, ch.teamName, ru.teamId, ru.teamName, COALESCE(t.dummy, false)) " +
+           "FROM Team t " +
+           "LEFT JOIN t.sport s " +
+           "LEFT JOIN t.createdBy cu " +
+           "LEFT JOIN t.tournament tr " +
+           "LEFT JOIN tr.createdBy tcu " +
+           "LEFT JOIN tr.champion ch " +
+           "LEFT JOIN tr.runnerUp ru " +
+           "WHERE (:sportId IS NULL OR t.sport.sportId = :sportId) " +
+           "AND (:tournamentId IS NULL OR t.tournament.tournamentId = :tournamentId) " +
+           "AND (:dummy IS NULL OR COALESCE(t.dummy, false) = :dummy) " +
+           "AND (:createdById IS NULL OR t.createdBy.userId = :createdById)";
+
+    // Slice fetches one extra row instead of running a count query
+    @Query(TEAM_SUMMARY_SELECT)
+    Slice<TeamDTO> findTeamSummaryPage(@Param("sportId") Long sportId,
+                                       @Param("tournamentId") Long tournamentId,
+                                       @Param("dummy") Boolean dummy,
+                                       @Param("createdById") Long createdById,
+                                       Pageable pageable);
+
+    @Query(TEAM_SUMMARY_SELECT)
+    List<TeamDTO> findTeamSummaries(@Param("sportId") Long sportId,
+                                    @Param("tournamentId") Long tournamentId,
+                                    @Param("dummy") Boolean dummy,
+                                    @Param("createdById") Long createdById,
+                                    Sort sort);
+
+    /**
+     * Fields of a team held by the search index
+     */
+    interface TeamSearchView {
+        Long getTeamId();
+        String getTeamName();
+        String getSportName();
+    }
+
+    String TEAM_SEARCH_SELECT =
+           "SELECT t.teamId AS teamId, t.teamName AS teamName, s.name AS sportName " +
+           "FROM Team t LEFT JOIN t.sport s WHERE (t.dummy = false OR t.dummy IS NULL)";
+
+    @Query(TEAM_SEARCH_SELECT)
+    List<TeamSearchView> findSearchViews();
+
+    @Query(TEAM_SEARCH_SELECT + " AND t.teamId = :teamId")
+    Optional<TeamSearchView> findSearchViewById(@Param("teamId") Long teamId);
+
+    @Query(TEAM_SEARCH_SELECT + " AND t.sport.sportId = :sportId")
+    List<TeamSearchView> findSearchViewsBySportId(@Param("sportId") Long sportId);
+
+    /**
+     * Team name and owner (creator), the recipient of the team's membership notifications
+     */
+    interface TeamOwnerView {
+        Long getTeamId();
+        String getTeamName();
+        Long getOwnerId();
+    }
+
+    @Query("SELECT t.teamId AS teamId, t.teamName AS teamName, t.createdBy.userId AS ownerId " +
+           "FROM Team t WHERE t.teamId IN :teamIds")
+    List<TeamOwnerView> findOwnerViews(@Param("teamIds") Collection<Long> teamIds);
+
+    /**
+     * Owners of the real (non-dummy) teams playing in the round, each once.
+     */
+    @Query(value = "SELECT DISTINCT t.created_by FROM matches m " +
+                   "JOIN teams t ON t.team_id IN (m.team1_id, m.team2_id) " +
+                   "WHERE m.round_id = :roundId AND t.dummy IS NOT TRUE",
+           nativeQuery = true)
+    List<Long> findOwnerIdsByRoundId(@Param("roundId") Long roundId);
+}
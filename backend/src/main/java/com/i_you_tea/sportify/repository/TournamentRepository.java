@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TournamentRepository extends JpaRepository<Tournament, Long> {
@@ -35,4 +36,26 @@ public interface TournamentRepository extends JpaRepository<Tournament, Long> {
            "JOIN TeamMember tm ON tm.team.teamId = team.teamId " +
            "WHERE tm.user.userId = :userId")
     List<Tournament> findTournamentsByUserId(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    /**
+     * Fields of a tournament held by the search index
+     */
+    interface TournamentSearchView {
+        Long getTournamentId();
+        String getName();
+        String getSportName();
+    }
+
+    String TOURNAMENT_SEARCH_SELECT =
+           "SELECT t.tournamentId AS tournamentId, t.name AS name, s.name AS sportName " +
+           "FROM Tournament t LEFT JOIN t.sport s";
+
+    @Query(TOURNAMENT_SEARCH_SELECT)
+    List<TournamentSearchView> findSearchViews();
+
+    @Query(TOURNAMENT_SEARCH_SELECT + " WHERE t.tournamentId = :tournamentId")
+    Optional<TournamentSearchView> findSearchViewById(@Param("tournamentId") Long tournamentId);
+
+    @Query(TOURNAMENT_SEARCH_SELECT + " WHERE t.sport.sportId = :sportId")
+    List<TournamentSearchView> findSearchViewsBySportId(@Param("sportId") Long sportId);
+}
@@ -0,0 +1,135 @@
+package com.i_you_tea.sportify.repository;
+
+import com.i_you_tea.sportify.entity.UserMembership;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserMembershipRepository extends JpaRepository<UserMembership, UserMembership.UserMembershipId> {
+
+    /**
+     * Rebuilds read model rows from the normalized tables. Callers append a WHERE clause
+     * selecting which team_members rows to (re)project; existing rows are overwritten.
+     */
+    String UPSERT_FROM_MEMBERS =
+            "INSERT INTO user_memberships (user_id, team_id, role_in_team, status, team_name, logo, dummy, " +
+            "sport_id, sport_name, created_by_id, created_by_name, " +
+            "tournament_id, tournament_name, tournament_sport_id, tournament_sport_name, " +
+            "tournament_start_date, tournament_end_date, tournament_created_by_id, tournament_created_by_name, " +
+            "champion_id, champion_name, runner_up_id, runner_up_name, fixture_generated, updated_at) " +
+            "SELECT tm.user_id, tm.team_id, tm.role_in_team, tm.status, t.team_name, t.logo, t.dummy, " +
+            "s.sport_id, s.name, cu.user_id, cu.name, " +
+            "tr.tournament_id, tr.name, ts.sport_id, ts.name, " +
+            "tr.start_date, tr.end_date, tcu.user_id, tcu.name, " +
+            "ch.team_id, ch.team_name, ru.team_id, ru.team_name, tr.fixture_generated, now() " +
+            "FROM team_members tm " +
+            "JOIN teams t ON t.team_id = tm.team_id " +
+            "LEFT JOIN sports s ON s.sport_id = t.sport_id " +
+            "LEFT JOIN users cu ON cu.user_id = t.created_by " +
+            "LEFT JOIN tournaments tr ON tr.tournament_id = t.tournament_id " +
+            "LEFT JOIN sports ts ON ts.sport_id = tr.sport_id " +
+            "LEFT JOIN users tcu ON tcu.user_id = tr.created_by " +
+            "LEFT JOIN teams ch ON ch.team_id = tr.champion_id " +
+            "LEFT JOIN teams ru ON ru.team_id = tr.runner_up_id ";
+
+    String ON_CONFLICT_OVERWRITE =
+            " ON CONFLICT (user_id, team_id) DO UPDATE SET " +
+            "role_in_team = EXCLUDED.role_in_team, status = EXCLUDED.status, " +
+            "team_name = EXCLUDED.team_name, logo = EXCLUDED.logo, dummy = EXCLUDED.dummy, " +
+            "sport_id = EXCLUDED.sport_id, sport_name = EXCLUDED.sport_name, " +
+            "created_by_id = EXCLUDED.created_by_id, created_by_name = EXCLUDED.created_by_name, " +
+            "tournament_id = EXCLUDED.tournament_id, tournament_name = EXCLUDED.tournament_name, " +
+            "tournament_sport_id = EXCLUDED.tournament_sport_id, tournament_sport_name = EXCLUDED.tournament_sport_name, " +
+            "tournament_start_date = EXCLUDED.tournament_start_date, tournament_end_date = EXCLUDED.tournament_end_date, " +
+            "tournament_created_by_id = EXCLUDED.tournament_created_by_id, " +
+            "tournament_created_by_name = EXCLUDED.tournament_created_by_name, " +
+            "champion_id = EXCLUDED.champion_id, champion_name = EXCLUDED.champion_name, " +
+            "runner_up_id = EXCLUDED.runner_up_id, runner_up_name = EXCLUDED.runner_up_name, " +
+            "fixture_generated = EXCLUDED.fixture_generated, updated_at = EXCLUDED.updated_at";
+
+    // Served by the primary key (user_id, team_id)
+    List<UserMembership> findByUserIdOrderByTeamNameAsc(Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = UPSERT_FROM_MEMBERS + "WHERE tm.team_id = :teamId AND tm.user_id = :userId" + ON_CONFLICT_OVERWRITE,
+           nativeQuery = true)
+    int upsertMembership(@Param("teamId") Long teamId, @Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = UPSERT_FROM_MEMBERS + "WHERE tm.team_id = :teamId" + ON_CONFLICT_OVERWRITE, nativeQuery = true)
+    int upsertTeam(@Param("teamId") Long teamId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = UPSERT_FROM_MEMBERS + "WHERE t.tournament_id = :tournamentId" + ON_CONFLICT_OVERWRITE, nativeQuery = true)
+    int upsertTournament(@Param("tournamentId") Long tournamentId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = UPSERT_FROM_MEMBERS + "WHERE t.sport_id = :sportId OR tr.sport_id = :sportId" + ON_CONFLICT_OVERWRITE,
+           nativeQuery = true)
+    int upsertSport(@Param("sportId") Long sportId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = UPSERT_FROM_MEMBERS + "WHERE t.created_by = :userId OR tr.created_by = :userId" + ON_CONFLICT_OVERWRITE,
+           nativeQuery = true)
+    int upsertCreatedBy(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = UPSERT_FROM_MEMBERS + ON_CONFLICT_OVERWRITE, nativeQuery = true)
+    int upsertAll();
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = "UPDATE user_memberships SET status = :status, updated_at = now() " +
+                   "WHERE team_id = :teamId AND user_id = :userId", nativeQuery = true)
+    int updateStatus(@Param("teamId") Long teamId, @Param("userId") Long userId, @Param("status") String status);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = "UPDATE user_memberships SET status = :status, updated_at = now() " +
+                   "WHERE user_id = :userId AND team_id IN (:teamIds)", nativeQuery = true)
+    int updateStatusForUser(@Param("userId") Long userId, @Param("teamIds") Collection<Long> teamIds,
+                            @Param("status") String status);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = "DELETE FROM user_memberships WHERE user_id = :userId AND team_id IN (:teamIds)", nativeQuery = true)
+    int deleteForUser(@Param("userId") Long userId, @Param("teamIds") Collection<Long> teamIds);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = "DELETE FROM user_memberships WHERE team_id = :teamId AND user_id = :userId", nativeQuery = true)
+    int deleteMembership(@Param("teamId") Long teamId, @Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = "DELETE FROM user_memberships WHERE team_id = :teamId AND user_id IN (:userIds)", nativeQuery = true)
+    int deleteMemberships(@Param("teamId") Long teamId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = "DELETE FROM user_memberships WHERE team_id = :teamId", nativeQuery = true)
+    int deleteTeam(@Param("teamId") Long teamId);
+
+    // Rows whose membership no longer exists
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_memberships"))
+    @Query(value = "DELETE FROM user_memberships um WHERE NOT EXISTS " +
+                   "(SELECT 1 FROM team_members tm WHERE tm.team_id = um.team_id AND tm.user_id = um.user_id)",
+           nativeQuery = true)
+    int deleteOrphans();
+}
@@ -1,7 +1,13 @@
 package com.i_you_tea.sportify.repository;
 
 import com.i_you_tea.sportify.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,4 +25,95 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUserName(String userName);
 
     boolean existsByUserName(String userName);
+
+    /**
+     * Fields of a user held by the search index (no password or profile photo)
+     */
+    interface UserSearchView {
+        Long getUserId();
+        String getUserName();
+        String getName();
+        User.UserRole getRole();
+    }
+
+    String USER_SEARCH_SELECT =
+           "SELECT u.userId AS userId, u.userName AS userName, u.name AS name, u.role AS role FROM User u";
+
+    @Query(USER_SEARCH_SELECT)
+    List<UserSearchView> findSearchViews();
+
+    @Query(USER_SEARCH_SELECT + " WHERE u.userId = :userId")
+    Optional<UserSearchView> findSearchViewById(@Param("userId") Long userId);
+
+    /**
+     * Row of the user directory; sortName is the lowercased name the directory is ordered by
+     */
+    interface UserDirectoryView {
+        Long getUserId();
+        String getName();
+        String getUserName();
+        String getEmail();
+        String getRole();
+        String getProfilePhotoKey();
+        String getSortName();
+    }
+
+    /**
+     * Keyset page of the user directory: names in [lower, upper) strictly after the (afterName,
+     * afterId) cursor, in (lower(name) COLLATE "C", user_id) order. Callers fill in an optional
+     * filter starting with AND. Backed by idx_users_directory_name / idx_users_directory_role_name (V22).
+     */
+    String DIRECTORY_SELECT =
+            "SELECT u.user_id AS userId, u.name AS name, u.username AS userName, u.email AS email, " +
+            "       u.role AS role, u.profile_photo_key AS profilePhotoKey, lower(u.name) AS sortName " +
+            "FROM users u " +
+            "WHERE lower(u.name) COLLATE \"C\" < :upper " +
+            "AND (lower(u.name) COLLATE \"C\", u.user_id) > (:afterName, :afterId) ";
+
+    String DIRECTORY_END =
+            "ORDER BY lower(u.name) COLLATE \"C\", u.user_id LIMIT :limit";
+
+    @Query(value = DIRECTORY_SELECT + DIRECTORY_END, nativeQuery = true)
+    List<UserDirectoryView> findDirectoryPage(@Param("upper") String upper,
+                                              @Param("afterName") String afterName,
+                                              @Param("afterId") long afterId,
+                                              @Param("limit") int limit);
+
+    @Query(value = DIRECTORY_SELECT + "AND u.role = :role " + DIRECTORY_END, nativeQuery = true)
+    List<UserDirectoryView> findDirectoryPageByRole(@Param("role") String role,
+                                                    @Param("upper") String upper,
+                                                    @Param("afterName") String afterName,
+                                                    @Param("afterId") long afterId,
+                                                    @Param("limit") int limit);
+
+    /**
+     * A base64 photo still held in the legacy users.profile_photo column (not mapped on User)
+     */
+    interface LegacyPhotoView {
+        Long getUserId();
+        String getProfilePhoto();
+    }
+
+    // Keyset walk over idx_users_legacy_profile_photo; rows that fail to migrate are passed, not retried
+    @Query(value = "SELECT user_id AS userId, profile_photo AS profilePhoto FROM users " +
+                   "WHERE profile_photo IS NOT NULL AND user_id > :afterId ORDER BY user_id LIMIT :limit",
+           nativeQuery = true)
+    List<LegacyPhotoView> findLegacyPhotos(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Points the user at the stored photo and empties the legacy column, unless a photo was
+     * uploaded to the store in the meantime.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "UPDATE users SET profile_photo_key = COALESCE(profile_photo_key, :key), profile_photo = NULL " +
+                   "WHERE user_id = :userId AND profile_photo IS NOT NULL",
+           nativeQuery = true)
+    int moveLegacyPhoto(@Param("userId") Long userId, @Param("key") String key);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "UPDATE users SET profile_photo = NULL WHERE user_id = :userId AND profile_photo IS NOT NULL",
+           nativeQuery = true)
+    int clearLegacyPhoto(@Param("userId") Long userId);
 }
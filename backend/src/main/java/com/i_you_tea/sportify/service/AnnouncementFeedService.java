@@ -0,0 +1,128 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.dto.AnnouncementFeedItemDTO;
+import com.i_you_tea.sportify.dto.AnnouncementFeedPageDTO;
+import com.i_you_tea.sportify.repository.AnnouncementRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feed of the currently active announcements, served from an immutable in-memory snapshot.
+ * The snapshot is reloaded when an announcement is written (after commit) or when one starts or
+ * ends (AnnouncementScheduler's timers), so the active set stays exact without polling the database.
+ * Each distinct snapshot gets a new version, which clients revalidate through the ETag.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnnouncementFeedService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int PREVIEW_LENGTH = 280;
+
+    private record Snapshot(long version, long generation, List<AnnouncementFeedItemDTO> items) {
+    }
+
+    private final AnnouncementRepository announcementRepository;
+
+    // Distinguishes versions of different runs, so an ETag from before a restart never matches
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+    // Bumped on every write, start and end; a snapshot loaded before the latest bump is reloaded
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /**
+     * A page of active announcements, newest first, optionally limited to a sport and/or tournament.
+     */
+    public AnnouncementFeedPageDTO getFeedPage(Long sportId, Long tournamentId,
+                                               LocalDateTime beforePostedAt, Long beforeId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Snapshot current = currentSnapshot();
+
+        List<AnnouncementFeedItemDTO> rows = new ArrayList<>(pageSize + 1);
+        for (AnnouncementFeedItemDTO item : current.items()) {
+            if (sportId != null && !sportId.equals(item.getRelatedSportId())) {
+                continue;
+            }
+            if (tournamentId != null && !tournamentId.equals(item.getRelatedTournamentId())) {
+                continue;
+            }
+            if (beforePostedAt != null && !isBefore(item, beforePostedAt, beforeId != null ? beforeId : Long.MAX_VALUE)) {
+                continue;
+            }
+            rows.add(item);
+            if (rows.size() > pageSize) {
+                break;
+            }
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<AnnouncementFeedItemDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        AnnouncementFeedItemDTO last = hasMore ? items.get(items.size() - 1) : null;
+        return new AnnouncementFeedPageDTO(items, hasMore,
+                last != null ? last.getPostedAt() : null,
+                last != null ? last.getAnnouncementId() : null,
+                current.version());
+    }
+
+    public String eTag(long version) {
+        return "\"announcements-" + instanceTag + "-" + version + "\"";
+    }
+
+    /**
+     * Called by writers of announcements; the snapshot is reloaded on the next read after commit.
+     */
+    public void announcementsChanged() {
+        AfterCommit.run(invalidations::incrementAndGet);
+    }
+
+    /**
+     * Called when an announcement starts or ends; the snapshot is reloaded on the next read.
+     */
+    public void activeSetChanged() {
+        invalidations.incrementAndGet();
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.generation() == invalidations.get()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            long generation = invalidations.get();
+            if (current != null && current.generation() == generation) {
+                return current;
+            }
+            snapshot = load(current, generation, LocalDateTime.now());
+            return snapshot;
+        }
+    }
+
+    private Snapshot load(Snapshot previous, long generation, LocalDateTime now) {
+        List<AnnouncementFeedItemDTO> items = announcementRepository.findActiveFeedItems(now, PREVIEW_LENGTH + 1);
+        for (AnnouncementFeedItemDTO item : items) {
+            String preview = item.getContentPreview();
+            if (preview != null && preview.length() > PREVIEW_LENGTH) {
+                item.setContentPreview(preview.substring(0, PREVIEW_LENGTH));
+                item.setContentTruncated(true);
+            }
+        }
+
+        List<AnnouncementFeedItemDTO> frozen = List.copyOf(items);
+        // Reloads that find the same announcements keep the version, so clients still get 304
+        long version = previous == null ? 1
+                : Objects.equals(previous.items(), frozen) ? previous.version() : previous.version() + 1;
+        return new Snapshot(version, generation, frozen);
+    }
+
+    private static boolean isBefore(AnnouncementFeedItemDTO item, LocalDateTime beforePostedAt, long beforeId) {
+        int byTime = item.getPostedAt().compareTo(beforePostedAt);
+        return byTime < 0 || (byTime == 0 && item.getAnnouncementId() < beforeId);
+    }
+}
@@ -0,0 +1,201 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.Exception.NotificationQueueFullException;
+import com.i_you_tea.sportify.dto.NotificationFanOutDTO;
+import com.i_you_tea.sportify.entity.Notification;
+import com.i_you_tea.sportify.repository.AnnouncementRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Acts on announcement start and end dates with timers on a hashed timing wheel instead of
+ * polling. When an announcement starts it is marked published (once, guarded in the database)
+ * and the members of its tournament or sport are notified; when it starts or ends the active
+ * feed is refreshed. Timers are registered when an announcement is created and reloaded from
+ * the database at startup; starts missed while the application was down fire right away.
+ */
+@Service
+public class AnnouncementScheduler {
+
+    private record Timers(TimingWheel.Timeout start, TimingWheel.Timeout end) {
+
+        void cancel() {
+            if (start != null) {
+                start.cancel();
+            }
+            if (end != null) {
+                end.cancel();
+            }
+        }
+    }
+
+    private final AnnouncementRepository announcementRepository;
+    private final AnnouncementFeedService announcementFeedService;
+    private final NotificationFanOutService notificationFanOutService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TimingWheel timingWheel;
+    private final Map<Long, Timers> timers = new ConcurrentHashMap<>();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong ended = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public AnnouncementScheduler(AnnouncementRepository announcementRepository,
+                                 AnnouncementFeedService announcementFeedService,
+                                 NotificationFanOutService notificationFanOutService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${sportify.announcements.timers.tick-ms:1000}") long tickMs,
+                                 @Value("${sportify.announcements.timers.wheel-size:4096}") int wheelSize) {
+        this.announcementRepository = announcementRepository;
+        this.announcementFeedService = announcementFeedService;
+        this.notificationFanOutService = notificationFanOutService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.timingWheel = new TimingWheel("announcement-timers", Duration.ofMillis(tickMs), wheelSize, executor);
+    }
+
+    @PreDestroy
+    void stop() {
+        timingWheel.stop();
+        executor.shutdown();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        List<AnnouncementRepository.AnnouncementTimerView> pending = announcementRepository.findTimerViews(now);
+        pending.forEach(view -> register(view, now));
+        System.out.println("[AnnouncementScheduler] Registered timers for " + pending.size()
+                + " scheduled announcements");
+    }
+
+    /**
+     * Registers the timers of a newly written announcement once the surrounding transaction commits.
+     */
+    public void announcementSaved(Long announcementId) {
+        AfterCommit.run(() -> announcementRepository.findTimerViewById(announcementId)
+                .ifPresent(view -> register(view, LocalDateTime.now())));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("scheduledAnnouncements", timers.size());
+        stats.put("pendingTimers", timingWheel.pending());
+        stats.put("published", published.get());
+        stats.put("ended", ended.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    private void register(AnnouncementRepository.AnnouncementTimerView view, LocalDateTime now) {
+        Long announcementId = view.getAnnouncementId();
+        TimingWheel.Timeout start = null;
+        if (view.getPublishedAt() == null) {
+            LocalDateTime startAt = view.getStartDate() != null ? view.getStartDate() : now;
+            start = schedule(() -> start(announcementId, startAt), startAt, now);
+        }
+        TimingWheel.Timeout end = null;
+        if (view.getEndDate() != null && view.getEndDate().isAfter(now)) {
+            LocalDateTime endAt = view.getEndDate();
+            end = schedule(() -> end(announcementId, endAt), endAt, now);
+        }
+        Timers previous = start != null || end != null
+                ? timers.put(announcementId, new Timers(start, end))
+                : timers.remove(announcementId);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private TimingWheel.Timeout schedule(Runnable task, LocalDateTime at, LocalDateTime now) {
+        return timingWheel.schedule(task, Duration.between(now, at));
+    }
+
+    private void start(Long announcementId, LocalDateTime startAt) {
+        if (rescheduledEarlyFire(() -> start(announcementId, startAt), startAt)) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Optional<AnnouncementRepository.PublishedAnnouncementView> marked =
+                    transactionTemplate.execute(status -> announcementRepository.markPublished(announcementId, now));
+            announcementFeedService.activeSetChanged();
+            if (marked != null && marked.isPresent()) {
+                published.incrementAndGet();
+                notifyAudience(marked.get(), now);
+            }
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            System.err.println("[AnnouncementScheduler] Could not publish announcement " + announcementId + ": " + e.getMessage());
+        } finally {
+            timers.computeIfPresent(announcementId, (id, current) -> current.end() != null && !current.end().isExpired()
+                    ? new Timers(null, current.end()) : null);
+        }
+    }
+
+    private void end(Long announcementId, LocalDateTime endAt) {
+        if (rescheduledEarlyFire(() -> end(announcementId, endAt), endAt)) {
+            return;
+        }
+        announcementFeedService.activeSetChanged();
+        ended.incrementAndGet();
+        timers.remove(announcementId);
+    }
+
+    /**
+     * The wheel runs on the monotonic clock; if the wall clock has not reached the date yet, waits the rest.
+     */
+    private boolean rescheduledEarlyFire(Runnable task, LocalDateTime at) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!now.isBefore(at)) {
+            return false;
+        }
+        timingWheel.schedule(task, Duration.between(now, at));
+        return true;
+    }
+
+    /**
+     * Members of the related tournament, else of the related sport; announcements for everyone only go to the feed.
+     */
+    private void notifyAudience(AnnouncementRepository.PublishedAnnouncementView announcement, LocalDateTime now) {
+        if (announcement.getEndDate() != null && !announcement.getEndDate().isAfter(now)) {
+            // Started and ended while the application was down
+            return;
+        }
+        NotificationFanOutDTO.Audience audience;
+        Long targetId;
+        if (announcement.getRelatedTournamentId() != null) {
+            audience = NotificationFanOutDTO.Audience.TOURNAMENT;
+            targetId = announcement.getRelatedTournamentId();
+        } else if (announcement.getRelatedSportId() != null) {
+            audience = NotificationFanOutDTO.Audience.SPORT;
+            targetId = announcement.getRelatedSportId();
+        } else {
+            return;
+        }
+        try {
+            notificationFanOutService.enqueue(audience, targetId, null,
+                    "New announcement: " + announcement.getTitle(), Notification.Category.ANNOUNCEMENT);
+        } catch (NotificationQueueFullException e) {
+            failed.incrementAndGet();
+            System.err.println("[AnnouncementScheduler] Announcement notification dropped: " + e.getMessage());
+        }
+    }
+}
@@ -24,13 +24,24 @@ public class AnnouncementService {
     private final SportRepository sportRepository;
     private final TournamentRepository tournamentRepository;
     private final JWTService jwtService;
+    private final SearchService searchService;
+    private final AnnouncementFeedService announcementFeedService;
+    private final AnnouncementScheduler announcementScheduler;
     
     public List<Announcement> getAllAnnouncements() {
         return announcementRepository.findAll();
     }
 
+    public Optional<Announcement> getAnnouncement(Long announcementId) {
+        return announcementRepository.findById(announcementId);
+    }
+
     public Announcement createAnnouncement(Announcement announcement) {
-        return announcementRepository.save(announcement);
+        Announcement saved = announcementRepository.save(announcement);
+        searchService.announcementChanged(saved.getAnnouncementId());
+        announcementFeedService.announcementsChanged();
+        announcementScheduler.announcementSaved(saved.getAnnouncementId());
+        return saved;
     }
 
     public Announcement makeAnnouncement(
@@ -60,6 +71,10 @@ public class AnnouncementService {
         announcement.setRelatedTournament(relatedTournament);
         announcement.setStartDate(startDate);
         announcement.setEndDate(endDate);
-        return announcementRepository.save(announcement);
+        Announcement saved = announcementRepository.save(announcement);
+        searchService.announcementChanged(saved.getAnnouncementId());
+        announcementFeedService.announcementsChanged();
+        announcementScheduler.announcementSaved(saved.getAnnouncementId());
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.repository.CertificateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rendered certificates in a content-addressed file cache. A file is named by the SHA-256 of
+ * the renderer version, the format and everything printed on the certificate, so it is
+ * rendered once, never goes stale (changed data gets a new key) and its key doubles as a strong ETag.
+ */
+@Service
+public class CertificateRenderService {
+
+    public enum Format {
+        PNG("png", MediaType.IMAGE_PNG),
+        PDF("pdf", MediaType.APPLICATION_PDF);
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Optional<Format> fromExtension(String extension) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(extension)) {
+                    return Optional.of(format);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A cached certificate file; key is the content hash.
+     */
+    public record RenderedCertificate(Long certificateId, Format format, String key, Path file, long size) {
+        public String getETag() {
+            return "\"" + key + "\"";
+        }
+    }
+
+    private final CertificateRepository certificateRepository;
+    private final CertificateRenderer renderer = new CertificateRenderer();
+    private final Path cacheDir;
+
+    // Renders in progress, so concurrent first requests for a certificate render it once
+    private final Map<String, CompletableFuture<RenderedCertificate>> inFlight = new ConcurrentHashMap<>();
+
+    public CertificateRenderService(CertificateRepository certificateRepository,
+                                    @Value("${sportify.certificates.cache-dir:${java.io.tmpdir}/sportify/certificates}") String cacheDir) {
+        this.certificateRepository = certificateRepository;
+        this.cacheDir = Paths.get(cacheDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * The cached file for the certificate in the given format, rendering it on first use.
+     * Empty when the certificate does not exist.
+     */
+    public Optional<RenderedCertificate> render(Long certificateId, Format format) {
+        return certificateRepository.findRenderViewById(certificateId)
+                .map(view -> new CertificateRenderer.Content(view.getCertificateId(), view.getRecipientName(),
+                        view.getTournamentName(), view.getSportName(), view.getPosition(), view.getIssuedOn()))
+                .map(content -> getOrRender(content, format));
+    }
+
+    private RenderedCertificate getOrRender(CertificateRenderer.Content content, Format format) {
+        String key = key(content, format);
+        Path file = fileFor(key, format);
+        if (Files.isRegularFile(file)) {
+            return rendered(content, format, key, file);
+        }
+
+        CompletableFuture<RenderedCertificate> created = new CompletableFuture<>();
+        CompletableFuture<RenderedCertificate> pending = inFlight.putIfAbsent(key, created);
+        if (pending != null) {
+            return join(pending);
+        }
+        try {
+            // Another request may have finished between the file check and claiming the key
+            if (!Files.isRegularFile(file)) {
+                byte[] bytes = format == Format.PDF ? renderer.renderPdf(content) : renderer.renderPng(content);
+                write(file, bytes);
+                System.out.println("[CertificateRenderService] Rendered certificate " + content.certificateId()
+                        + " as " + format.getExtension() + " (" + bytes.length + " bytes)");
+            }
+            created.complete(rendered(content, format, key, file));
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, created);
+        }
+        return join(created);
+    }
+
+    private RenderedCertificate rendered(CertificateRenderer.Content content, Format format, String key, Path file) {
+        try {
+            return new RenderedCertificate(content.certificateId(), format, key, file, Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static RenderedCertificate join(CompletableFuture<RenderedCertificate> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Writes to a temporary file first, so a partially written file is never served.
+     */
+    private static void write(Path file, byte[] bytes) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, bytes);
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Two-level fan-out (ab/abcdef….png) keeps directories small.
+     */
+    private Path fileFor(String key, Format format) {
+        return cacheDir.resolve(key.substring(0, 2)).resolve(key + "." + format.getExtension());
+    }
+
+    private static String key(CertificateRenderer.Content content, Format format) {
+        String data = String.join("\u001F",
+                "v" + CertificateRenderer.VERSION,
+                format.name(),
+                String.valueOf(content.certificateId()),
+                String.valueOf(content.recipientName()),
+                String.valueOf(content.tournamentName()),
+                String.valueOf(content.sportName()),
+                String.valueOf(content.position()),
+                String.valueOf(content.issuedOn()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
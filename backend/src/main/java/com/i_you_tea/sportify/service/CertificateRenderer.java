@@ -0,0 +1,277 @@
+package com.i_you_tea.sportify.service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Java2D certificate renderer. Everything that depends only on the accent color (frame,
+ * headings, signature block) is drawn once into a cached template image, at most one per
+ * accent; a certificate then adds its sport, position wording, recipient, tournament, date
+ * and number on a copy. Keying templates by sport and position would keep a 7 MB image per
+ * sport name ever rendered.
+ * PDFs are a single A4 landscape page embedding the rendered image as JPEG.
+ */
+class CertificateRenderer {
+
+    /**
+     * Bumped whenever the layout changes, so previously cached files are not served any more.
+     */
+    static final int VERSION = 1;
+
+    static final int WIDTH = 1600;
+    static final int HEIGHT = 1131;
+
+    // A4 landscape in PDF points
+    private static final int PDF_WIDTH = 842;
+    private static final int PDF_HEIGHT = 595;
+    private static final float JPEG_QUALITY = 0.92f;
+    private static final int TEXT_WIDTH = 1300;
+
+    private static final Color PAPER = new Color(0xFFFDF7);
+    private static final Color INK = new Color(0x1F2937);
+    private static final Color MUTED = new Color(0x64748B);
+    private static final DateTimeFormatter ISSUED_ON = DateTimeFormatter.ofPattern("d MMMM yyyy", Locale.ENGLISH);
+
+    record Content(Long certificateId, String recipientName, String tournamentName,
+                   String sportName, String position, LocalDate issuedOn) {
+    }
+
+    // Keyed by accent(), which only returns three colors
+    private final Map<Color, BufferedImage> templates = new ConcurrentHashMap<>();
+
+    byte[] renderPng(Content content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+        try {
+            ImageIO.write(render(content), "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    byte[] renderPdf(Content content) {
+        return singlePagePdf(jpeg(render(content)), WIDTH, HEIGHT);
+    }
+
+    private BufferedImage render(Content content) {
+        Color accent = accent(content.position());
+        BufferedImage template = templates.computeIfAbsent(accent, CertificateRenderer::drawTemplate);
+
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = graphics(image);
+        try {
+            g.drawImage(template, 0, 0, null);
+            String sportName = content.sportName();
+            if (sportName != null && !sportName.isBlank()) {
+                g.setColor(accent);
+                drawCentered(g, sportName.toUpperCase(Locale.ROOT), new Font(Font.SANS_SERIF, Font.BOLD, 26), 320);
+            }
+            g.setColor(INK);
+            drawCentered(g, nonBlank(content.recipientName(), "Unknown player"),
+                    new Font(Font.SERIF, Font.BOLD, 76), 560);
+            drawCentered(g, "for outstanding performance as " + nonBlank(content.position(), "Participant") + " in",
+                    new Font(Font.SERIF, Font.PLAIN, 32), 640);
+            g.setColor(accent);
+            drawCentered(g, nonBlank(content.tournamentName(), "Tournament"),
+                    new Font(Font.SERIF, Font.BOLD, 46), 715);
+            g.setColor(INK);
+            drawCentered(g, content.issuedOn() != null ? ISSUED_ON.format(content.issuedOn()) : "",
+                    new Font(Font.SANS_SERIF, Font.PLAIN, 30), 865);
+            g.setColor(MUTED);
+            g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 20));
+            String number = "No. " + content.certificateId();
+            g.drawString(number, WIDTH - 110 - g.getFontMetrics().stringWidth(number), HEIGHT - 80);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static BufferedImage drawTemplate(Color accent) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = graphics(image);
+        try {
+            g.setColor(PAPER);
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+
+            g.setColor(accent);
+            g.setStroke(new BasicStroke(14));
+            g.drawRect(40, 40, WIDTH - 80, HEIGHT - 80);
+            g.setStroke(new BasicStroke(2));
+            g.drawRect(70, 70, WIDTH - 140, HEIGHT - 140);
+
+            g.setColor(INK);
+            drawCentered(g, "Sportify Athletics Board", new Font(Font.SERIF, Font.BOLD, 56), 200);
+            g.setColor(MUTED);
+            drawCentered(g, "Certificate of Achievement", new Font(Font.SERIF, Font.ITALIC, 36), 255);
+
+            drawDecorLine(g, accent, 385);
+            g.setColor(MUTED);
+            drawCentered(g, "Presented to", new Font(Font.SERIF, Font.ITALIC, 32), 455);
+            drawDecorLine(g, accent, 770);
+            g.setColor(MUTED);
+            drawCentered(g, "Issued on", new Font(Font.SANS_SERIF, Font.PLAIN, 22), 825);
+
+            drawSignature(g, "Tournament Director", 420);
+            drawSignature(g, "Head of Sports", WIDTH - 420);
+            g.setColor(accent);
+            g.setStroke(new BasicStroke(4));
+            g.drawOval(WIDTH / 2 - 70, 915, 140, 140);
+            g.setFont(new Font(Font.SERIF, Font.BOLD, 20));
+            drawCenteredAt(g, "Official", WIDTH / 2, 980);
+            drawCenteredAt(g, "Seal", WIDTH / 2, 1005);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static Graphics2D graphics(BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        return g;
+    }
+
+    private static Color accent(String position) {
+        if ("Champion".equalsIgnoreCase(position)) {
+            return new Color(0xB8860B);
+        }
+        if ("Runner-up".equalsIgnoreCase(position)) {
+            return new Color(0x708090);
+        }
+        return new Color(0x1E3A8A);
+    }
+
+    /**
+     * Draws text centered on the baseline, shrinking the font until it fits the text column.
+     */
+    private static void drawCentered(Graphics2D g, String text, Font font, int baseline) {
+        Font fitted = font;
+        while (fitted.getSize() > 12 && g.getFontMetrics(fitted).stringWidth(text) > TEXT_WIDTH) {
+            fitted = fitted.deriveFont((float) fitted.getSize() - 2);
+        }
+        g.setFont(fitted);
+        drawCenteredAt(g, text, WIDTH / 2, baseline);
+    }
+
+    private static void drawCenteredAt(Graphics2D g, String text, int centerX, int baseline) {
+        FontMetrics metrics = g.getFontMetrics();
+        g.drawString(text, centerX - metrics.stringWidth(text) / 2, baseline);
+    }
+
+    private static void drawDecorLine(Graphics2D g, Color accent, int y) {
+        g.setColor(accent);
+        g.setStroke(new BasicStroke(3));
+        g.drawLine(WIDTH / 2 - 300, y, WIDTH / 2 + 300, y);
+    }
+
+    private static void drawSignature(Graphics2D g, String title, int centerX) {
+        g.setColor(INK);
+        g.setStroke(new BasicStroke(2));
+        g.drawLine(centerX - 160, 1000, centerX + 160, 1000);
+        g.setColor(MUTED);
+        g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 22));
+        drawCenteredAt(g, title, centerX, 1035);
+    }
+
+    private static String nonBlank(String value, String fallback) {
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+
+    private static byte[] jpeg(BufferedImage image) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Minimal PDF 1.4 document: one page showing one DCT-encoded (JPEG) image scaled to the page.
+     */
+    private static byte[] singlePagePdf(byte[] jpeg, int imageWidth, int imageHeight) {
+        PdfBuilder pdf = new PdfBuilder();
+        pdf.object("<< /Type /Catalog /Pages 2 0 R >>");
+        pdf.object("<< /Type /Pages /Kids [3 0 R] /Count 1 >>");
+        pdf.object("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + PDF_WIDTH + " " + PDF_HEIGHT + "] "
+                + "/Resources << /XObject << /Im1 5 0 R >> >> /Contents 4 0 R >>");
+        byte[] drawing = ("q " + PDF_WIDTH + " 0 0 " + PDF_HEIGHT + " 0 0 cm /Im1 Do Q")
+                .getBytes(StandardCharsets.US_ASCII);
+        pdf.stream("<< /Length " + drawing.length + " >>", drawing);
+        pdf.stream("<< /Type /XObject /Subtype /Image /Width " + imageWidth + " /Height " + imageHeight
+                + " /ColorSpace /DeviceRGB /BitsPerComponent 8 /Filter /DCTDecode /Length " + jpeg.length + " >>", jpeg);
+        return pdf.finish();
+    }
+
+    private static final class PdfBuilder {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+        private final List<Integer> offsets = new ArrayList<>();
+
+        private PdfBuilder() {
+            ascii("%PDF-1.4\n");
+            // Binary marker so transfer tools treat the file as binary
+            out.write(new byte[]{'%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'}, 0, 6);
+        }
+
+        private void object(String body) {
+            offsets.add(out.size());
+            ascii(offsets.size() + " 0 obj\n" + body + "\nendobj\n");
+        }
+
+        private void stream(String dictionary, byte[] data) {
+            offsets.add(out.size());
+            ascii(offsets.size() + " 0 obj\n" + dictionary + "\nstream\n");
+            out.write(data, 0, data.length);
+            ascii("\nendstream\nendobj\n");
+        }
+
+        private byte[] finish() {
+            int xref = out.size();
+            StringBuilder table = new StringBuilder("xref\n0 " + (offsets.size() + 1) + "\n0000000000 65535 f \n");
+            for (int offset : offsets) {
+                table.append(String.format(Locale.ROOT, "%010d 00000 n \n", offset));
+            }
+            table.append("trailer\n<< /Size ").append(offsets.size() + 1).append(" /Root 1 0 R >>\n")
+                    .append("startxref\n").append(xref).append("\n%%EOF\n");
+            ascii(table.toString());
+            return out.toByteArray();
+        }
+
+        private void ascii(String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+            out.write(bytes, 0, bytes.length);
+        }
+    }
+}
@@ -1,28 +1,71 @@
 package com.i_you_tea.sportify.service;
 
+import com.i_you_tea.sportify.dto.CertificateJobDTO;
 import com.i_you_tea.sportify.entity.*;
 import com.i_you_tea.sportify.repository.CertificateRepository;
 import com.i_you_tea.sportify.repository.TournamentRepository;
 import com.i_you_tea.sportify.repository.UserRepository;
-import com.i_you_tea.sportify.repository.TeamRepository;
-import com.i_you_tea.sportify.repository.TeamMemberRepository;
-import com.i_you_tea.sportify.repository.SportRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Certificates and their bulk generation. Generation for a tournament runs as a background job:
+ * recipients and existing certificates are read with one query each, and the missing
+ * certificates are inserted in multi-row batches, one short transaction per batch.
+ */
 @Service
-@RequiredArgsConstructor
 public class CertificateService {
 
+    private static final String[] POSITIONS = {"Champion", "Runner-up", "Participant"};
+    // Finished jobs stay queryable for this long
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
     private final CertificateRepository certificateRepository;
     private final UserRepository userRepository;
     private final TournamentRepository tournamentRepository;
-    private final TeamRepository teamRepository;
-    private final TeamMemberRepository teamMemberRepository;
-    private final SportRepository sportRepository;
+    private final HallOfFameLeaderboardService hallOfFameLeaderboardService;
+    private final PlayerCareerStatsService playerCareerStatsService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // At most one queued or running job per tournament
+    private final Map<Long, Job> activeJobs = new ConcurrentHashMap<>();
+
+    public CertificateService(CertificateRepository certificateRepository,
+                              UserRepository userRepository,
+                              TournamentRepository tournamentRepository,
+                              HallOfFameLeaderboardService hallOfFameLeaderboardService,
+                              PlayerCareerStatsService playerCareerStatsService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${sportify.certificates.batch-size:500}") int batchSize) {
+        this.certificateRepository = certificateRepository;
+        this.userRepository = userRepository;
+        this.tournamentRepository = tournamentRepository;
+        this.hallOfFameLeaderboardService = hallOfFameLeaderboardService;
+        this.playerCareerStatsService = playerCareerStatsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
 
     public List<Certificate> getByUserId(Long userId) {
         Optional<User> user = userRepository.findById(userId);
@@ -35,56 +78,154 @@ public class CertificateService {
     }
 
     public Certificate create(Certificate certificate) {
-        return certificateRepository.save(certificate);
+        Certificate saved = certificateRepository.save(certificate);
+        if (saved.getUser() != null && saved.getSport() != null) {
+            hallOfFameLeaderboardService.playersChanged(saved.getSport().getSportId(), List.of(saved.getUser().getUserId()));
+            playerCareerStatsService.playersChanged(saved.getSport().getSportId(), List.of(saved.getUser().getUserId()));
+        }
+        return saved;
     }
 
-    public int generateForTournament(Long tournamentId) {
-        Tournament tournament = tournamentRepository.findById(tournamentId)
-                .orElseThrow(() -> new RuntimeException("Tournament not found"));
+    /**
+     * Queues certificate generation for the tournament and returns at once.
+     * While a job for the tournament is queued or running, that job is returned instead of a new one.
+     * Champion and runner-up members get those positions, every other member is a participant;
+     * users who already hold a certificate for the tournament are skipped.
+     */
+    public CertificateJobDTO startGeneration(Long tournamentId) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new IllegalArgumentException("Tournament not found");
+        }
+        pruneFinishedJobs();
 
-        Sport sport = tournament.getSport();
-        int created = 0;
+        Job created = new Job(tournamentId);
+        Job job = activeJobs.computeIfAbsent(tournamentId, id -> created);
+        if (job == created) {
+            jobs.put(job.jobId, job);
+            executor.submit(() -> run(job));
+        }
+        return job.toDTO();
+    }
 
-        // Champion team members
-        if (tournament.getChampion() != null) {
-            Team champion = tournament.getChampion();
-            for (TeamMember tm : teamMemberRepository.findByTeam(champion)) {
-                created += saveIfNotExists(tm.getUser(), tournament, sport, "Champion");
-            }
+    public Optional<CertificateJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toDTO);
+    }
+
+    /**
+     * The running job of the tournament, or else its most recently submitted one.
+     */
+    public Optional<CertificateJobDTO> getLatestJob(Long tournamentId) {
+        Job active = activeJobs.get(tournamentId);
+        if (active != null) {
+            return Optional.of(active.toDTO());
         }
+        return jobs.values().stream()
+                .filter(job -> job.tournamentId.equals(tournamentId))
+                .max(Comparator.comparing(job -> job.submittedAt))
+                .map(Job::toDTO);
+    }
 
-        // Runner-up team members
-        if (tournament.getRunnerUp() != null) {
-            Team runner = tournament.getRunnerUp();
-            for (TeamMember tm : teamMemberRepository.findByTeam(runner)) {
-                created += saveIfNotExists(tm.getUser(), tournament, sport, "Runner-up");
+    private void run(Job job) {
+        job.status = CertificateJobDTO.Status.RUNNING;
+        try {
+            Plan plan = transactionTemplate.execute(status -> plan(job.tournamentId));
+            job.total = plan.userIds().size();
+
+            LocalDate issuedOn = LocalDate.now();
+            for (int from = 0; from < plan.userIds().size(); from += batchSize) {
+                int to = Math.min(from + batchSize, plan.userIds().size());
+                Long[] userIds = plan.userIds().subList(from, to).toArray(new Long[0]);
+                String[] positions = plan.positions().subList(from, to).toArray(new String[0]);
+                Integer inserted = transactionTemplate.execute(status -> certificateRepository.insertCertificates(
+                        job.tournamentId, plan.sportId(), issuedOn, userIds, positions));
+                job.created += inserted != null ? inserted : 0;
+                job.processed = to;
             }
+            job.status = CertificateJobDTO.Status.COMPLETED;
+            hallOfFameLeaderboardService.playersChanged(plan.sportId(), plan.placedUserIds());
+            playerCareerStatsService.playersChanged(plan.sportId(), plan.placedUserIds());
+            System.out.println("[CertificateService] Generated " + job.created
+                    + " certificates for tournament " + job.tournamentId);
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.status = CertificateJobDTO.Status.FAILED;
+            System.err.println("[CertificateService] Certificate generation failed for tournament "
+                    + job.tournamentId + ": " + e.getMessage());
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            activeJobs.remove(job.tournamentId, job);
         }
+    }
 
-        // Optional: participants (all teams' members)
-        for (Team team : teamRepository.findByTournament(tournament)) {
-            for (TeamMember tm : teamMemberRepository.findByTeam(team)) {
-                // Do not downgrade Champion/Runner-up certs; only create Participant if none exists
-                created += saveIfNotExists(tm.getUser(), tournament, sport, "Participant");
+    private Plan plan(Long tournamentId) {
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new IllegalArgumentException("Tournament not found"));
+        if (tournament.getSport() == null) {
+            throw new IllegalStateException("Tournament has no sport");
+        }
+        Long championId = tournament.getChampion() != null ? tournament.getChampion().getTeamId() : null;
+        Long runnerUpId = tournament.getRunnerUp() != null ? tournament.getRunnerUp().getTeamId() : null;
+
+        Set<Long> certified = new HashSet<>(certificateRepository.findUserIdsByTournamentId(tournamentId));
+        List<Long> userIds = new ArrayList<>();
+        List<String> positions = new ArrayList<>();
+        for (CertificateRepository.CertificateRecipientView recipient
+                : certificateRepository.findRecipients(tournamentId, championId, runnerUpId)) {
+            if (!certified.contains(recipient.getUserId())) {
+                userIds.add(recipient.getUserId());
+                positions.add(POSITIONS[recipient.getRank()]);
             }
         }
+        return new Plan(tournament.getSport().getSportId(), userIds, positions);
+    }
 
-        return created;
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
     }
 
-    private int saveIfNotExists(User user, Tournament tournament, Sport sport, String position) {
-        // naive existence check: any certificate for user+tournament
-        boolean already = certificateRepository.findByUser(user).stream()
-                .anyMatch(c -> c.getTournament().getTournamentId().equals(tournament.getTournamentId()));
-        if (already) return 0;
-        Certificate c = new Certificate();
-        c.setUser(user);
-        c.setTournament(tournament);
-        c.setSport(sport);
-        c.setPosition(position);
-        certificateRepository.save(c);
-        return 1;
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
     }
-}
 
+    private record Plan(Long sportId, List<Long> userIds, List<String> positions) {
+
+        /**
+         * Recipients certified as champion or runner-up, the ones that count for the leaderboards.
+         */
+        List<Long> placedUserIds() {
+            List<Long> placed = new ArrayList<>();
+            for (int i = 0; i < userIds.size(); i++) {
+                if (!POSITIONS[POSITIONS.length - 1].equals(positions.get(i))) {
+                    placed.add(userIds.get(i));
+                }
+            }
+            return placed;
+        }
+    }
+
+    /**
+     * Mutable progress of one run; written by the job thread only, read by status requests.
+     */
+    private static final class Job {
+        private final String jobId = UUID.randomUUID().toString();
+        private final Long tournamentId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile CertificateJobDTO.Status status = CertificateJobDTO.Status.QUEUED;
+        private volatile int total;
+        private volatile int processed;
+        private volatile int created;
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(Long tournamentId) {
+            this.tournamentId = tournamentId;
+        }
 
+        private CertificateJobDTO toDTO() {
+            return new CertificateJobDTO(jobId, tournamentId, status, total, processed, created, error,
+                    submittedAt, finishedAt);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,6 +17,7 @@ import java.util.stream.Collectors;
 public class CricketScoreService {
 
     private final CricketScoreRepository cricketScoreRepository;
+    private final PlayerCareerStatsService playerCareerStatsService;
 
     /**
      * Create a new cricket score
@@ -23,6 +25,7 @@ public class CricketScoreService {
     public CricketScoreDTO create(CricketScoreDTO dto) {
         CricketScore cricketScore = dto.toEntity();
         CricketScore saved = cricketScoreRepository.save(cricketScore);
+        playerCareerStatsService.matchScoresChanged(saved.getMatchId());
         return CricketScoreDTO.fromEntity(saved);
     }
 
@@ -65,6 +68,8 @@ public class CricketScoreService {
         CricketScore existingScore = cricketScoreRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Cricket score not found with id: " + id));
 
+        Long previousMatchId = existingScore.getMatchId();
+
         // Update fields
         existingScore.setMatchId(dto.getMatchId());
         existingScore.setTeamId(dto.getTeamId());
@@ -73,6 +78,10 @@ public class CricketScoreService {
         existingScore.setOvers(dto.getOvers());
 
         CricketScore updated = cricketScoreRepository.save(existingScore);
+        playerCareerStatsService.matchScoresChanged(updated.getMatchId());
+        if (!Objects.equals(previousMatchId, updated.getMatchId())) {
+            playerCareerStatsService.matchScoresChanged(previousMatchId);
+        }
         return CricketScoreDTO.fromEntity(updated);
     }
 
@@ -80,9 +89,9 @@ public class CricketScoreService {
      * Delete a cricket score by ID
      */
     public void delete(Long id) {
-        if (!cricketScoreRepository.existsById(id)) {
-            throw new RuntimeException("Cricket score not found with id: " + id);
-        }
-        cricketScoreRepository.deleteById(id);
+        CricketScore cricketScore = cricketScoreRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Cricket score not found with id: " + id));
+        cricketScoreRepository.delete(cricketScore);
+        playerCareerStatsService.matchScoresChanged(cricketScore.getMatchId());
     }
 }
\ No newline at end of file
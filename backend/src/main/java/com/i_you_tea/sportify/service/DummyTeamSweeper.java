@@ -0,0 +1,45 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.repository.TeamRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Background garbage collection of dummy teams whose source round was deleted
+ * and that no match, tournament, sport or membership references any more.
+ * Deletes in batches, one short transaction per batch, so it never holds long locks on teams.
+ */
+@Service
+public class DummyTeamSweeper {
+
+    private final TeamRepository teamRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public DummyTeamSweeper(TeamRepository teamRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${sportify.dummy-teams.sweep-batch-size:500}") int batchSize) {
+        this.teamRepository = teamRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${sportify.dummy-teams.sweep-initial-delay-ms:60000}",
+               fixedDelayString = "${sportify.dummy-teams.sweep-interval-ms:3600000}")
+    public void sweep() {
+        int total = 0;
+        int deleted;
+        do {
+            Integer batch = transactionTemplate.execute(status -> teamRepository.deleteOrphanedDummyTeams(batchSize));
+            deleted = batch != null ? batch : 0;
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            System.out.println("[DummyTeamSweeper] Removed " + total + " orphaned dummy teams");
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.dto.HallOfFameLeaderboardDTO;
+import com.i_you_tea.sportify.repository.HallOfFameRepository;
+import com.i_you_tea.sportify.repository.SportRepository;
+import com.i_you_tea.sportify.repository.TeamMemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-sport Hall of Fame leaderboards: most titles, most finals and most match wins, computed from
+ * tournament champions and runners-up, Champion / Runner-up certificates and match winners.
+ * Standings are aggregated once at startup and kept in memory as ranked sets per sport; result
+ * writes (a tournament's champion or runner-up, a match winner, issued certificates) re-aggregate
+ * only the players involved, after commit. Reads get a rendered top-K view per sport that is only
+ * rebuilt when that sport's standings change. A periodic full rebuild picks up what is not reported
+ * as a result, such as membership changes and deletions.
+ */
+@Service
+public class HallOfFameLeaderboardService {
+
+    private enum Metric {
+        TITLES, FINALS, MATCH_WINS;
+
+        // Highest count first; ties in user id order so every player has one place per board
+        private final Comparator<Standing> order =
+                Comparator.comparingLong((Standing standing) -> standing.count(this)).reversed()
+                        .thenComparing(Standing::userId);
+    }
+
+    private record Standing(Long userId, String userName, long titles, long finals, long matchWins) {
+
+        long count(Metric metric) {
+            return switch (metric) {
+                case TITLES -> titles;
+                case FINALS -> finals;
+                case MATCH_WINS -> matchWins;
+            };
+        }
+    }
+
+    /**
+     * Standings of one sport. Mutated by the (serialized) refreshes, read by any request thread.
+     */
+    private final class Board {
+        private final Long sportId;
+        private final String sportName;
+        private final Map<Long, Standing> standings = new HashMap<>();
+        private final Map<Metric, TreeSet<Standing>> ranked = new EnumMap<>(Metric.class);
+        private long version = versions.incrementAndGet();
+        private HallOfFameLeaderboardDTO view;
+
+        private Board(Long sportId, String sportName) {
+            this.sportId = sportId;
+            this.sportName = sportName;
+            for (Metric metric : Metric.values()) {
+                ranked.put(metric, new TreeSet<>(metric.order));
+            }
+        }
+
+        /**
+         * Replaces the player's standing; null removes the player from every board.
+         */
+        synchronized void update(Long userId, Standing standing) {
+            Standing previous = standing != null ? standings.put(userId, standing) : standings.remove(userId);
+            if (Objects.equals(previous, standing)) {
+                return;
+            }
+            for (Metric metric : Metric.values()) {
+                TreeSet<Standing> board = ranked.get(metric);
+                if (previous != null) {
+                    board.remove(previous);
+                }
+                if (standing != null && standing.count(metric) > 0) {
+                    board.add(standing);
+                }
+            }
+            version = versions.incrementAndGet();
+            view = null;
+        }
+
+        synchronized boolean sameStandings(Board other) {
+            synchronized (other) {
+                return standings.equals(other.standings);
+            }
+        }
+
+        synchronized HallOfFameLeaderboardDTO view() {
+            if (view == null) {
+                view = new HallOfFameLeaderboardDTO(sportId, sportName,
+                        top(Metric.TITLES), top(Metric.FINALS), top(Metric.MATCH_WINS), version);
+            }
+            return view;
+        }
+
+        /**
+         * The first places of the board; equal counts share a rank (1, 2, 2, 4).
+         */
+        private List<HallOfFameLeaderboardDTO.LeaderboardEntryDTO> top(Metric metric) {
+            List<HallOfFameLeaderboardDTO.LeaderboardEntryDTO> entries = new ArrayList<>(leaderboardSize);
+            int rank = 0;
+            long previousCount = -1;
+            for (Standing standing : ranked.get(metric)) {
+                if (entries.size() == leaderboardSize) {
+                    break;
+                }
+                long count = standing.count(metric);
+                if (count != previousCount) {
+                    rank = entries.size() + 1;
+                    previousCount = count;
+                }
+                entries.add(new HallOfFameLeaderboardDTO.LeaderboardEntryDTO(
+                        rank, standing.userId(), standing.userName(), count));
+            }
+            return List.copyOf(entries);
+        }
+    }
+
+    private final HallOfFameRepository hallOfFameRepository;
+    private final SportRepository sportRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final int leaderboardSize;
+
+    // Distinguishes versions of different runs, so an ETag from before a restart never matches
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+    // Shared by all boards, so a board replaced by a rebuild never reuses an earlier version
+    private final AtomicLong versions = new AtomicLong();
+    private volatile Map<Long, Board> boards = new ConcurrentHashMap<>();
+
+    public HallOfFameLeaderboardService(HallOfFameRepository hallOfFameRepository,
+                                        SportRepository sportRepository,
+                                        TeamMemberRepository teamMemberRepository,
+                                        @Value("${sportify.hall-of-fame.leaderboard-size:10}") int leaderboardSize) {
+        this.hallOfFameRepository = hallOfFameRepository;
+        this.sportRepository = sportRepository;
+        this.teamMemberRepository = teamMemberRepository;
+        this.leaderboardSize = Math.max(1, leaderboardSize);
+    }
+
+    /**
+     * The leaderboards of the sport, empty when nobody has a result yet.
+     * @return empty when the sport does not exist
+     */
+    public Optional<HallOfFameLeaderboardDTO> getLeaderboards(Long sportId) {
+        Board board = boards.get(sportId);
+        if (board != null) {
+            return Optional.of(board.view());
+        }
+        return sportRepository.findById(sportId)
+                .map(sport -> boards.computeIfAbsent(sportId, id -> new Board(id, sport.getName())).view());
+    }
+
+    public String eTag(long version) {
+        return "\"hall-of-fame-" + instanceTag + "-" + version + "\"";
+    }
+
+    /**
+     * Called when the champion, runner-up or a match winner changed from or to one of the teams;
+     * their accepted members are re-ranked once the surrounding transaction commits.
+     */
+    public void teamResultsChanged(Long sportId, Collection<Long> teamIds) {
+        Set<Long> teams = nonNull(teamIds);
+        if (sportId == null || teams.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            try {
+                refreshTeams(sportId, teams);
+            } catch (RuntimeException e) {
+                System.err.println("[HallOfFameLeaderboardService] Could not refresh sport " + sportId
+                        + " for teams " + teams + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Called when players got a placing directly, e.g. a Champion or Runner-up certificate.
+     */
+    public void playersChanged(Long sportId, Collection<Long> userIds) {
+        Set<Long> players = nonNull(userIds);
+        if (sportId == null || players.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            try {
+                refreshPlayers(sportId, players);
+            } catch (RuntimeException e) {
+                System.err.println("[HallOfFameLeaderboardService] Could not refresh sport " + sportId
+                        + " for players " + players + ": " + e.getMessage());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Recomputes every standing; boards whose standings did not change keep their version.
+     */
+    @Scheduled(initialDelayString = "${sportify.hall-of-fame.rebuild-interval-ms:3600000}",
+               fixedDelayString = "${sportify.hall-of-fame.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        Map<Long, Board> rebuilt = new ConcurrentHashMap<>();
+        List<HallOfFameRepository.PlayerStandingView> rows = hallOfFameRepository.findAllPlayerStandings();
+        for (HallOfFameRepository.PlayerStandingView row : rows) {
+            rebuilt.computeIfAbsent(row.getSportId(), id -> new Board(id, row.getSportName()))
+                    .update(row.getUserId(), standingOf(row));
+        }
+        Map<Long, Board> current = boards;
+        rebuilt.replaceAll((sportId, board) -> {
+            Board previous = current.get(sportId);
+            return previous != null && previous.sameStandings(board) ? previous : board;
+        });
+        boards = rebuilt;
+        System.out.println("[HallOfFameLeaderboardService] Loaded " + rows.size() + " standings in "
+                + rebuilt.size() + " sports");
+    }
+
+    // Refreshes are serialized with rebuild(), so the later one always applies the later data
+    private synchronized void refreshTeams(Long sportId, Set<Long> teamIds) {
+        List<Long> userIds = teamMemberRepository.findAcceptedMemberIds(teamIds);
+        if (!userIds.isEmpty()) {
+            refreshPlayers(sportId, new LinkedHashSet<>(userIds));
+        }
+    }
+
+    private synchronized void refreshPlayers(Long sportId, Set<Long> userIds) {
+        List<HallOfFameRepository.PlayerStandingView> rows = hallOfFameRepository.findPlayerStandings(sportId, userIds);
+        Board board = boards.get(sportId);
+        if (board == null) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            String sportName = rows.get(0).getSportName();
+            board = boards.computeIfAbsent(sportId, id -> new Board(id, sportName));
+        }
+        Map<Long, Standing> found = new HashMap<>();
+        for (HallOfFameRepository.PlayerStandingView row : rows) {
+            found.put(row.getUserId(), standingOf(row));
+        }
+        for (Long userId : userIds) {
+            board.update(userId, found.get(userId));
+        }
+    }
+
+    private static Standing standingOf(HallOfFameRepository.PlayerStandingView row) {
+        return new Standing(row.getUserId(), row.getName(),
+                row.getTitles(), row.getFinals(), row.getMatchWins());
+    }
+
+    private static Set<Long> nonNull(Collection<Long> ids) {
+        Set<Long> result = new LinkedHashSet<>(ids);
+        result.remove(null);
+        return result;
+    }
+}
@@ -19,7 +19,7 @@ public class HallOfFameService {
     private final HallOfFameRepository hallOfFameRepository;
     
     public List<HallOfFame> getAllHallOfFameEntries() {
-        return hallOfFameRepository.findAll();
+        return hallOfFameRepository.findAllWithDetails();
     }
 
     public HallOfFame createHallOfFame(HallOfFame hallOfFame) {
@@ -0,0 +1,165 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.dto.InvitationDTO;
+import com.i_you_tea.sportify.dto.InvitationPageDTO;
+import com.i_you_tea.sportify.entity.Notification;
+import com.i_you_tea.sportify.entity.TeamMember;
+import com.i_you_tea.sportify.entity.User;
+import com.i_you_tea.sportify.repository.TeamMemberRepository;
+import com.i_you_tea.sportify.repository.TeamRepository;
+import com.i_you_tea.sportify.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invitation inbox: a user's PENDING team memberships.
+ * Pending counts for badges are cached per user and evicted after any commit that changes them.
+ */
+@Service
+@RequiredArgsConstructor
+public class InvitationService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_TEAMS_PER_REQUEST = 500;
+
+    private final TeamMemberRepository teamMemberRepository;
+    private final MembershipReadModelService membershipReadModelService;
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+    private final NotificationDigestService notificationDigestService;
+
+    private final Map<Long, Long> pendingCounts = new ConcurrentHashMap<>();
+    // Bumped on every eviction; a count loaded across an eviction is returned but not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Transactional(readOnly = true)
+    public InvitationPageDTO getPendingInvitations(Long userId, Long afterTeamId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists without a count query
+        List<InvitationDTO> rows = teamMemberRepository.findPendingInvitations(
+                userId, afterTeamId != null ? afterTeamId : 0L, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<InvitationDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        Long nextAfterTeamId = hasMore ? items.get(items.size() - 1).getTeamId() : null;
+        return new InvitationPageDTO(items, hasMore, nextAfterTeamId);
+    }
+
+    public long getPendingCount(Long userId) {
+        Long cached = pendingCounts.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = evictions.get();
+        long count = teamMemberRepository.countPendingInvitations(userId);
+        if (evictions.get() == generation) {
+            pendingCounts.put(userId, count);
+            if (evictions.get() != generation) {
+                // Evicted while caching; drop the possibly stale value
+                pendingCounts.remove(userId);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Accepts the given pending invitations in one UPDATE; an empty list accepts none.
+     * @return ids of the teams whose invitation was accepted
+     */
+    @Transactional
+    public List<Long> acceptInvitations(Long userId, List<Long> teamIds) {
+        checkTeamIds(teamIds);
+        return teamIds.isEmpty() ? List.of() : accepted(userId, teamMemberRepository.acceptInvitations(userId, teamIds));
+    }
+
+    /**
+     * Accepts every pending invitation of the user in one UPDATE.
+     * @return ids of the teams whose invitation was accepted
+     */
+    @Transactional
+    public List<Long> acceptAllInvitations(Long userId) {
+        return accepted(userId, teamMemberRepository.acceptAllInvitations(userId));
+    }
+
+    /**
+     * Declines (deletes) the given pending invitations in one DELETE; an empty list declines none.
+     * @return ids of the teams whose invitation was declined
+     */
+    @Transactional
+    public List<Long> declineInvitations(Long userId, List<Long> teamIds) {
+        checkTeamIds(teamIds);
+        return teamIds.isEmpty() ? List.of() : declined(userId, teamMemberRepository.declineInvitations(userId, teamIds));
+    }
+
+    /**
+     * Declines (deletes) every pending invitation of the user in one DELETE.
+     * @return ids of the teams whose invitation was declined
+     */
+    @Transactional
+    public List<Long> declineAllInvitations(Long userId) {
+        return declined(userId, teamMemberRepository.declineAllInvitations(userId));
+    }
+
+    private List<Long> accepted(Long userId, List<Long> accepted) {
+        membershipReadModelService.userMembershipsStatusChanged(userId, accepted, TeamMember.TeamMemberStatus.ACCEPTED);
+        evictPendingCount(userId);
+        notifyOwners(userId, accepted);
+        return accepted;
+    }
+
+    private List<Long> declined(Long userId, List<Long> declined) {
+        membershipReadModelService.userMembershipsRemoved(userId, declined);
+        evictPendingCount(userId);
+        return declined;
+    }
+
+    private static void checkTeamIds(List<Long> teamIds) {
+        if (teamIds == null) {
+            throw new IllegalArgumentException("teamIds is required unless all is true");
+        }
+        if (teamIds.size() > MAX_TEAMS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_TEAMS_PER_REQUEST + " teams per request");
+        }
+        if (teamIds.contains(null)) {
+            throw new IllegalArgumentException("Team ids must not be null");
+        }
+    }
+
+    /**
+     * Tells the owner of every team the user just joined.
+     */
+    private void notifyOwners(Long userId, List<Long> teamIds) {
+        if (teamIds.isEmpty()) {
+            return;
+        }
+        String name = userRepository.findById(userId).map(User::getName).orElse("A player");
+        for (TeamRepository.TeamOwnerView team : teamRepository.findOwnerViews(teamIds)) {
+            if (team.getOwnerId() != null && !team.getOwnerId().equals(userId)) {
+                notificationDigestService.submit(team.getOwnerId(), Notification.Category.MEMBERSHIP,
+                        name + " joined " + team.getTeamName());
+            }
+        }
+    }
+
+    public void evictPendingCount(Long userId) {
+        AfterCommit.run(() -> {
+            evictions.incrementAndGet();
+            pendingCounts.remove(userId);
+        });
+    }
+
+    public void evictPendingCounts(Collection<Long> userIds) {
+        AfterCommit.run(() -> {
+            evictions.incrementAndGet();
+            userIds.forEach(pendingCounts::remove);
+        });
+    }
+}
@@ -1,6 +1,12 @@
 package com.i_you_tea.sportify.service;
 
+import com.i_you_tea.sportify.Exception.ScheduleConflictException;
+import com.i_you_tea.sportify.dto.MatchFeedItemDTO;
+import com.i_you_tea.sportify.dto.MatchFeedPageDTO;
+import com.i_you_tea.sportify.dto.MatchScheduleRequestDTO;
+import com.i_you_tea.sportify.dto.ScheduleConflictDTO;
 import com.i_you_tea.sportify.entity.Match;
+import com.i_you_tea.sportify.entity.Notification;
 import com.i_you_tea.sportify.entity.Tournament;
 import com.i_you_tea.sportify.entity.Team;
 import com.i_you_tea.sportify.entity.Sport;
@@ -8,27 +14,48 @@ import com.i_you_tea.sportify.entity.Round;
 import com.i_you_tea.sportify.repository.MatchRepository;
 import com.i_you_tea.sportify.repository.TeamRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class MatchService {
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+    // Lower bound for feeds that start from the oldest scheduled match
+    private static final LocalDateTime FEED_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final DateTimeFormatter SCHEDULE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private final MatchRepository matchRepository;
     private final TeamRepository teamRepository;
+    private final ScheduleConflictService scheduleConflictService;
+    private final NotificationDigestService notificationDigestService;
+    private final HallOfFameLeaderboardService hallOfFameLeaderboardService;
+    private final PlayerCareerStatsService playerCareerStatsService;
     
     public List<Match> getAllMatches() {
-        return matchRepository.findAll();
+        return matchRepository.findAllWithDetails();
     }
 
     public Match createMatch(Match match) {
-        return matchRepository.save(match);
+        Match saved = matchRepository.save(match);
+        scheduleConflictService.reserve(saved);
+        return saved;
     }
 
     public void generateMatchesForRound(Round round) {
@@ -58,7 +85,11 @@ public class MatchService {
         System.out.println("[MatchService] Deleting " + existingMatches.size() + " existing matches");
         
         try {
+            Map<Long, Set<Long>> players = playerCareerStatsService.playersOfMatches(
+                    existingMatches.stream().map(Match::getMatchId).toList());
+            existingMatches.forEach(match -> scheduleConflictService.release(match.getMatchId()));
             matchRepository.deleteAll(existingMatches);
+            playerCareerStatsService.playersChanged(players);
             System.out.println("[MatchService] Existing matches deleted successfully");
         } catch (Exception e) {
             System.err.println("[MatchService] Error deleting existing matches: " + e.getMessage());
@@ -74,6 +105,35 @@ public class MatchService {
         }
         
         System.out.println("[MatchService] Match generation completed");
+        notifyRoundDrawn(round);
+    }
+
+    private void notifyRoundDrawn(Round round) {
+        List<Long> owners = teamRepository.findOwnerIdsByRoundId(round.getRoundId());
+        String roundName = round.getRoundName() != null ? round.getRoundName() : "Round " + round.getRoundValue();
+        notificationDigestService.submit(owners, Notification.Category.ROUND,
+                roundName + " of " + round.getTournament().getName() + " has been drawn");
+    }
+
+    /**
+     * Tells the owners of both teams where and when each match is played.
+     */
+    private void notifyScheduled(List<Match> matches) {
+        if (matches.isEmpty()) {
+            return;
+        }
+        Map<Long, Match> byId = matches.stream()
+                .collect(Collectors.toMap(Match::getMatchId, Function.identity(), (first, same) -> first));
+        for (MatchRepository.ScheduleRecipientView recipient : matchRepository.findScheduleRecipients(byId.keySet())) {
+            Match match = byId.get(recipient.getMatchId());
+            String opponents = recipient.getTeam1Name() + " vs "
+                    + (recipient.getTeam2Name() != null ? recipient.getTeam2Name() : "bye");
+            String when = match.getScheduledTime() != null
+                    ? match.getScheduledTime().format(SCHEDULE_FORMAT) : "a time to be announced";
+            String where = match.getVenue() != null ? " at " + match.getVenue() : "";
+            notificationDigestService.submit(recipient.getOwnerId(), Notification.Category.SCHEDULE,
+                    opponents + " is scheduled for " + when + where);
+        }
     }
 
     private void generateKnockoutMatches(Round round, List<Team> teams) {
@@ -131,26 +191,30 @@ public class MatchService {
     }
     
     public List<Match> getMatchesByRoundId(Long roundId) {
-        return matchRepository.findByRound_RoundId(roundId);
+        return matchRepository.findWithDetailsByRoundId(roundId);
     }
     
     public List<Match> getMatchesByRoundValue(Integer roundValue) {
-        return matchRepository.findByRound_RoundValue(roundValue);
+        return matchRepository.findWithDetailsByRoundValue(roundValue);
     }
     
     public List<Match> getMatchesByRoundAndTournament(Long roundId, Long tournamentId) {
-        return matchRepository.findByRoundIdAndTournamentId(roundId, tournamentId);
+        return matchRepository.findWithDetailsByRoundIdAndTournamentId(roundId, tournamentId);
     }
 
     // Fetch matches by tournament ID
     public List<Match> getMatchesByTournamentId(Long tournamentId) {
-        return matchRepository.findByTournament_TournamentId(tournamentId);
+        return matchRepository.findWithDetailsByTournamentId(tournamentId);
     }
 
 
     public Match updateMatch(Long matchId, Match matchDetails) {
         Match existingMatch = matchRepository.findById(matchId)
                 .orElseThrow(() -> new IllegalArgumentException("Match not found with id: " + matchId));
+        Long previousWinnerId = existingMatch.getWinnerTeam() != null ? existingMatch.getWinnerTeam().getTeamId() : null;
+        Match.MatchStatus previousStatus = existingMatch.getStatus();
+        boolean rescheduled = !Objects.equals(existingMatch.getScheduledTime(), matchDetails.getScheduledTime())
+                || !Objects.equals(existingMatch.getVenue(), matchDetails.getVenue());
         
         existingMatch.setScheduledTime(matchDetails.getScheduledTime());
         existingMatch.setVenue(matchDetails.getVenue());
@@ -159,13 +223,110 @@ public class MatchService {
         existingMatch.setRound(matchDetails.getRound());
         existingMatch.setTeamAFinalScore(matchDetails.getTeamAFinalScore());
         existingMatch.setTeamBFinalScore(matchDetails.getTeamBFinalScore());
-        
-        return matchRepository.save(existingMatch);
+
+        scheduleConflictService.reserve(existingMatch);
+        Match saved = matchRepository.save(existingMatch);
+        if (rescheduled) {
+            notifyScheduled(List.of(saved));
+        }
+        Long winnerId = saved.getWinnerTeam() != null ? saved.getWinnerTeam().getTeamId() : null;
+        if (!Objects.equals(previousWinnerId, winnerId) && saved.getSport() != null) {
+            hallOfFameLeaderboardService.teamResultsChanged(saved.getSport().getSportId(),
+                    Arrays.asList(previousWinnerId, winnerId));
+        }
+        if ((previousStatus != saved.getStatus() || !Objects.equals(previousWinnerId, winnerId)) && saved.getSport() != null) {
+            playerCareerStatsService.teamsChanged(saved.getSport().getSportId(), Arrays.asList(
+                    saved.getTeam1() != null ? saved.getTeam1().getTeamId() : null,
+                    saved.getTeam2() != null ? saved.getTeam2().getTeamId() : null));
+        }
+        return saved;
+    }
+
+    /**
+     * Set venue and time for many matches at once.
+     * All-or-nothing: if any slot clashes (with existing bookings or within the batch)
+     * nothing is saved and every conflict is reported.
+     */
+    public List<Match> scheduleMatches(List<MatchScheduleRequestDTO> requests) {
+        Map<Long, Match> matches = matchRepository.findAllById(
+                        requests.stream().map(MatchScheduleRequestDTO::getMatchId).toList())
+                .stream()
+                .collect(Collectors.toMap(Match::getMatchId, Function.identity()));
+
+        List<ScheduleConflictDTO> conflicts = new ArrayList<>();
+        List<Match> scheduled = new ArrayList<>();
+        for (MatchScheduleRequestDTO request : requests) {
+            Match match = matches.get(request.getMatchId());
+            if (match == null) {
+                throw new IllegalArgumentException("Match not found with id: " + request.getMatchId());
+            }
+            match.setScheduledTime(request.getScheduledTime());
+            match.setVenue(request.getVenue());
+            try {
+                scheduleConflictService.reserve(match);
+                scheduled.add(match);
+            } catch (ScheduleConflictException e) {
+                conflicts.addAll(e.getConflicts());
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            throw new ScheduleConflictException(conflicts);
+        }
+        List<Match> saved = matchRepository.saveAll(scheduled);
+        notifyScheduled(saved);
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduleConflictDTO> getTournamentDayConflicts(Long tournamentId, LocalDate day) {
+        return scheduleConflictService.getTournamentDayConflicts(tournamentId, day);
     }
     
+    /**
+     * Upcoming feed: SCHEDULED matches from now on, ordered by scheduled time.
+     * Without a cursor the first page starts at the current time.
+     */
+    @Transactional(readOnly = true)
+    public MatchFeedPageDTO getUpcomingFeed(LocalDateTime afterTime, Long afterId, int size) {
+        if (afterTime == null) {
+            return getFeedPage(Match.MatchStatus.SCHEDULED, LocalDateTime.now(), 0L, size);
+        }
+        return getFeedPage(Match.MatchStatus.SCHEDULED, afterTime, afterId, size);
+    }
+
+    /**
+     * Ongoing feed: ONGOING matches ordered by scheduled time.
+     * Matches without a scheduled time are not part of the feed.
+     */
+    @Transactional(readOnly = true)
+    public MatchFeedPageDTO getOngoingFeed(LocalDateTime afterTime, Long afterId, int size) {
+        if (afterTime == null) {
+            return getFeedPage(Match.MatchStatus.ONGOING, FEED_START, 0L, size);
+        }
+        return getFeedPage(Match.MatchStatus.ONGOING, afterTime, afterId, size);
+    }
+
+    private MatchFeedPageDTO getFeedPage(Match.MatchStatus status, LocalDateTime afterTime, Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists without a count query
+        List<MatchFeedItemDTO> rows = matchRepository.findFeedPage(
+                status, afterTime, afterId != null ? afterId : 0L, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<MatchFeedItemDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        if (!hasMore || items.isEmpty()) {
+            return new MatchFeedPageDTO(items, false, null, null);
+        }
+        MatchFeedItemDTO last = items.get(items.size() - 1);
+        return new MatchFeedPageDTO(items, true, last.getScheduledTime(), last.getMatchId());
+    }
+
     public void deleteMatch(Long matchId) {
         Match match = matchRepository.findById(matchId)
                 .orElseThrow(() -> new IllegalArgumentException("Match not found with id: " + matchId));
+        Map<Long, Set<Long>> players = playerCareerStatsService.playersOfMatches(List.of(matchId));
+        scheduleConflictService.release(matchId);
         matchRepository.delete(match);
+        playerCareerStatsService.playersChanged(players);
     }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.entity.TeamMember;
+import com.i_you_tea.sportify.entity.UserMembership;
+import com.i_you_tea.sportify.repository.TeamMemberRepository;
+import com.i_you_tea.sportify.repository.UserMembershipRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains the user_memberships read model: one denormalized row per team membership carrying
+ * the team and tournament summaries, so a player's dashboard is a single primary-key range scan.
+ * Every refresh is a set-based upsert from the normalized tables and joins the caller's transaction.
+ * Rows of deleted teams are also dropped by the database (V24), since teams are deleted in bulk elsewhere.
+ */
+@Service
+@RequiredArgsConstructor
+public class MembershipReadModelService {
+
+    private final UserMembershipRepository userMembershipRepository;
+    private final TeamMemberRepository teamMemberRepository;
+
+    @Transactional(readOnly = true)
+    public List<UserMembership> getMemberships(Long userId) {
+        return userMembershipRepository.findByUserIdOrderByTeamNameAsc(userId);
+    }
+
+    @Transactional
+    public void membershipAdded(Long teamId, Long userId) {
+        userMembershipRepository.upsertMembership(teamId, userId);
+    }
+
+    @Transactional
+    public void membershipStatusChanged(Long teamId, Long userId, TeamMember.TeamMemberStatus status) {
+        if (userMembershipRepository.updateStatus(teamId, userId, status != null ? status.name() : null) == 0) {
+            // Row missing (e.g. created before the read model existed); project it from scratch
+            userMembershipRepository.upsertMembership(teamId, userId);
+        }
+    }
+
+    @Transactional
+    public void membershipRemoved(Long teamId, Long userId) {
+        userMembershipRepository.deleteMembership(teamId, userId);
+    }
+
+    @Transactional
+    public void membershipsRemoved(Long teamId, Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            userMembershipRepository.deleteMemberships(teamId, userIds);
+        }
+    }
+
+    @Transactional
+    public void userMembershipsStatusChanged(Long userId, Collection<Long> teamIds, TeamMember.TeamMemberStatus status) {
+        if (!teamIds.isEmpty()) {
+            userMembershipRepository.updateStatusForUser(userId, teamIds, status.name());
+        }
+    }
+
+    @Transactional
+    public void userMembershipsRemoved(Long userId, Collection<Long> teamIds) {
+        if (!teamIds.isEmpty()) {
+            userMembershipRepository.deleteForUser(userId, teamIds);
+        }
+    }
+
+    @Transactional
+    public void teamChanged(Long teamId) {
+        userMembershipRepository.upsertTeam(teamId);
+    }
+
+    @Transactional
+    public void teamDeleted(Long teamId) {
+        userMembershipRepository.deleteTeam(teamId);
+    }
+
+    @Transactional
+    public void tournamentChanged(Long tournamentId) {
+        userMembershipRepository.upsertTournament(tournamentId);
+    }
+
+    @Transactional
+    public void sportChanged(Long sportId) {
+        userMembershipRepository.upsertSport(sportId);
+    }
+
+    @Transactional
+    public void userChanged(Long userId) {
+        userMembershipRepository.upsertCreatedBy(userId);
+    }
+
+    /**
+     * Full rebuild. Cheap enough to run at startup whenever the row counts drift apart,
+     * e.g. after memberships were written by an older build or directly in SQL.
+     */
+    @Transactional
+    public int rebuild() {
+        int removed = userMembershipRepository.deleteOrphans();
+        int upserted = userMembershipRepository.upsertAll();
+        System.out.println("[MembershipReadModelService] Rebuilt read model: " + upserted
+                + " memberships projected, " + removed + " stale rows removed");
+        return upserted;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfStale() {
+        long members = teamMemberRepository.count();
+        long projected = userMembershipRepository.count();
+        if (members != projected) {
+            System.out.println("[MembershipReadModelService] " + projected + " projected rows for "
+                    + members + " memberships, rebuilding");
+            rebuild();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.entity.Notification;
+import com.i_you_tea.sportify.entity.NotificationDigestItem;
+import com.i_you_tea.sportify.entity.NotificationPreference;
+import com.i_you_tea.sportify.repository.NotificationDigestItemRepository;
+import com.i_you_tea.sportify.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entry point for event notifications (memberships, rounds, schedules). Each recipient's mode for
+ * the category decides what happens: OFF drops the message, IMMEDIATE writes it at once, and
+ * DIGEST buffers it; the first buffered message opens a window per recipient, and when the
+ * window's timer fires on the timing wheel everything buffered is written as one notification.
+ * Messages are handed over after the producer's transaction commits and delivered on virtual
+ * threads, so producers never wait for notification writes.
+ * Buffered messages are stored in notification_digest_items until their digest is written, and only
+ * the timers are kept in memory: digests are written on shutdown, and those still pending after a
+ * restart or crash are rescheduled at startup with what is left of their window.
+ */
+@Service
+public class NotificationDigestService {
+
+    private static final int MAX_DIGEST_LINES = 20;
+
+    private record Item(Notification.Category category, String message) {
+    }
+
+    /**
+     * Open digest of one recipient; its messages are stored rows.
+     * Only touched inside the digests map's atomic operations.
+     */
+    private static final class Digest {
+        private int items;
+        private TimingWheel.Timeout timeout;
+    }
+
+    private final NotificationService notificationService;
+    private final NotificationPreferenceService notificationPreferenceService;
+    private final UserRepository userRepository;
+    private final NotificationDigestItemRepository digestItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration window;
+    private final int maxItems;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TimingWheel timingWheel;
+    private final Map<Long, Digest> digests = new ConcurrentHashMap<>();
+    // Set on shutdown; digests that fail to write then stay stored for the next start
+    private volatile boolean stopping;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+    private final AtomicLong immediate = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong digestsWritten = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public NotificationDigestService(NotificationService notificationService,
+                                     NotificationPreferenceService notificationPreferenceService,
+                                     UserRepository userRepository,
+                                     NotificationDigestItemRepository digestItemRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${sportify.notifications.digest.window-seconds:900}") long windowSeconds,
+                                     @Value("${sportify.notifications.digest.max-items:50}") int maxItems,
+                                     @Value("${sportify.notifications.digest.tick-ms:1000}") long tickMs,
+                                     @Value("${sportify.notifications.digest.wheel-size:1024}") int wheelSize) {
+        this.notificationService = notificationService;
+        this.notificationPreferenceService = notificationPreferenceService;
+        this.userRepository = userRepository;
+        this.digestItemRepository = digestItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.window = Duration.ofSeconds(windowSeconds);
+        this.maxItems = maxItems;
+        this.timingWheel = new TimingWheel("notification-digest", Duration.ofMillis(tickMs), wheelSize, executor);
+    }
+
+    /**
+     * Reschedules digests buffered before the last shutdown; overdue ones are written on the next tick.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingDigests() {
+        List<NotificationDigestItemRepository.PendingDigestView> pending = digestItemRepository.findPendingDigests();
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationDigestItemRepository.PendingDigestView view : pending) {
+            Duration remaining = Duration.between(now, view.getOpenedAt().plus(window));
+            Long recipientId = view.getRecipientId();
+            Digest full = open(recipientId, remaining.isNegative() ? Duration.ZERO : remaining, view.getItems().intValue());
+            if (full != null) {
+                executor.execute(() -> flush(recipientId, full));
+            }
+        }
+        if (!pending.isEmpty()) {
+            System.out.println("[NotificationDigestService] Resumed " + pending.size() + " pending digests");
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        stopping = true;
+        timingWheel.stop();
+        // Let deliveries in progress reach their digest before the final flush
+        executor.close();
+        List.copyOf(digests.keySet()).forEach(recipientId -> {
+            Digest digest = digests.get(recipientId);
+            if (digest != null) {
+                flush(recipientId, digest);
+            }
+        });
+    }
+
+    /**
+     * Notifies the recipient once the current transaction commits, or at once outside a transaction.
+     */
+    public void submit(Long recipientId, Notification.Category category, String message) {
+        submit(List.of(recipientId), category, message);
+    }
+
+    public void submit(Collection<Long> recipientIds, Notification.Category category, String message) {
+        if (recipientIds.isEmpty()) {
+            return;
+        }
+        List<Long> recipients = List.copyOf(new LinkedHashSet<>(recipientIds));
+        Item item = new Item(category, message);
+        AfterCommit.run(() -> {
+            for (Long recipientId : recipients) {
+                executor.execute(() -> deliver(recipientId, item));
+            }
+        });
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("windowSeconds", window.toSeconds());
+        stats.put("bufferedRecipients", digests.size());
+        stats.put("pendingTimers", timingWheel.pending());
+        stats.put("submitted", submitted.get());
+        stats.put("suppressed", suppressed.get());
+        stats.put("immediate", immediate.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("digestsWritten", digestsWritten.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    private void deliver(Long recipientId, Item item) {
+        submitted.incrementAndGet();
+        try {
+            NotificationPreference.Mode mode = notificationPreferenceService.getMode(recipientId, item.category());
+            switch (mode) {
+                case OFF -> suppressed.incrementAndGet();
+                case IMMEDIATE -> {
+                    write(recipientId, item.category(), item.message());
+                    immediate.incrementAndGet();
+                }
+                case DIGEST -> buffer(recipientId, item);
+            }
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            System.err.println("[NotificationDigestService] Could not notify user " + recipientId + ": " + e.getMessage());
+        }
+    }
+
+    private void buffer(Long recipientId, Item item) {
+        // Stored before it is counted, so whichever digest of the recipient is written next includes it
+        digestItemRepository.save(new NotificationDigestItem(null, recipientId, item.category(), item.message(),
+                LocalDateTime.now()));
+        Digest full = open(recipientId, window, 1);
+        coalesced.incrementAndGet();
+        if (full != null) {
+            // Bounds the size of a digest: a full one is written before its window ends
+            flush(recipientId, full);
+        }
+    }
+
+    /**
+     * Opens the recipient's digest, timed to be written after delay, unless one is open, and counts
+     * the added items.
+     * @return the digest if it reached maxItems
+     */
+    private Digest open(Long recipientId, Duration delay, int added) {
+        Digest[] full = new Digest[1];
+        digests.compute(recipientId, (id, digest) -> {
+            if (digest == null) {
+                Digest opened = new Digest();
+                opened.timeout = timingWheel.schedule(() -> flush(id, opened), delay);
+                digest = opened;
+            }
+            digest.items += added;
+            if (digest.items >= maxItems) {
+                full[0] = digest;
+            }
+            return digest;
+        });
+        return full[0];
+    }
+
+    private void flush(Long recipientId, Digest digest) {
+        if (!digests.remove(recipientId, digest)) {
+            // Already written, by its timer or because it filled up
+            return;
+        }
+        digest.timeout.cancel();
+        try {
+            Boolean written = transactionTemplate.execute(status -> {
+                // Claimed atomically; a failed write rolls the claim back and keeps the items
+                List<NotificationDigestItem> items = new ArrayList<>(digestItemRepository.claimByRecipientId(recipientId));
+                if (items.isEmpty()) {
+                    // Taken by a flush that started earlier
+                    return false;
+                }
+                items.sort(Comparator.comparing(NotificationDigestItem::getItemId));
+                if (items.size() == 1) {
+                    NotificationDigestItem only = items.get(0);
+                    write(recipientId, only.getCategory(), only.getMessage());
+                } else {
+                    write(recipientId, digestCategory(items), digestMessage(items));
+                }
+                return true;
+            });
+            if (Boolean.TRUE.equals(written)) {
+                digestsWritten.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            System.err.println("[NotificationDigestService] Could not write digest for user " + recipientId
+                    + ", keeping it for another window: " + e.getMessage());
+            if (!stopping) {
+                open(recipientId, window, 0);
+            }
+        }
+    }
+
+    /**
+     * Goes through NotificationService so unread counts and push streams see the new notification.
+     */
+    private void write(Long recipientId, Notification.Category category, String message) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Notification notification = new Notification();
+            notification.setRecipient(userRepository.getReferenceById(recipientId));
+            notification.setCategory(category);
+            notification.setMessage(message);
+            notification.setSentAt(LocalDateTime.now());
+            notification.setIsRead(false);
+            notificationService.createNotification(notification);
+        });
+    }
+
+    private static Notification.Category digestCategory(List<NotificationDigestItem> items) {
+        Notification.Category first = items.get(0).getCategory();
+        for (NotificationDigestItem item : items) {
+            if (item.getCategory() != first) {
+                return Notification.Category.GENERAL;
+            }
+        }
+        return first;
+    }
+
+    private static String digestMessage(List<NotificationDigestItem> items) {
+        StringBuilder message = new StringBuilder()
+                .append(items.size()).append(" updates since ")
+                .append(items.get(0).getCreatedAt().toLocalTime().withSecond(0).withNano(0)).append(':');
+        int shown = Math.min(items.size(), MAX_DIGEST_LINES);
+        for (int i = 0; i < shown; i++) {
+            message.append("\n• ").append(items.get(i).getMessage());
+        }
+        if (items.size() > shown) {
+            message.append("\n…and ").append(items.size() - shown).append(" more");
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,241 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.Exception.NotificationQueueFullException;
+import com.i_you_tea.sportify.dto.NotificationDTO;
+import com.i_you_tea.sportify.dto.NotificationFanOutDTO;
+import com.i_you_tea.sportify.entity.Notification;
+import com.i_you_tea.sportify.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends one message to a whole audience. Requests go into a bounded queue and return at once;
+ * a single worker resolves each audience with one set-based query and writes the notifications
+ * with multi-row inserts, one short transaction per batch.
+ * A full queue rejects new requests (backpressure) instead of growing without bound, and the same
+ * message to the same audience within the dedupe window is accepted only once; the insert also
+ * skips recipients who already got that message within the window.
+ * Broadcasts are written at once for every recipient; only users who turned the message's
+ * category off are skipped (digests are for per-user event notifications, see NotificationDigestService).
+ */
+@Service
+public class NotificationFanOutService {
+
+    private static final int DRAIN_LIMIT = 64;
+    private static final int MAX_MESSAGE_LENGTH = 2000;
+    private static final int MAX_USER_IDS = 10_000;
+
+    private record FanOut(NotificationFanOutDTO.Audience audience, Long targetId, List<Long> userIds,
+                          String message, Notification.Category category, LocalDateTime requestedAt) {
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<FanOut> queue;
+    private final long enqueueTimeoutMs;
+    private final int batchSize;
+    private final Duration dedupeWindow;
+
+    // Dedupe key -> time it was accepted
+    private final Map<String, LocalDateTime> recentRequests = new ConcurrentHashMap<>();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private Thread worker;
+
+    public NotificationFanOutService(NotificationRepository notificationRepository,
+                                     NotificationService notificationService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${sportify.notifications.fan-out.queue-capacity:1000}") int queueCapacity,
+                                     @Value("${sportify.notifications.fan-out.enqueue-timeout-ms:100}") long enqueueTimeoutMs,
+                                     @Value("${sportify.notifications.fan-out.batch-size:1000}") int batchSize,
+                                     @Value("${sportify.notifications.fan-out.dedupe-window-minutes:10}") long dedupeWindowMinutes) {
+        this.notificationRepository = notificationRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.batchSize = batchSize;
+        this.dedupeWindow = Duration.ofMinutes(dedupeWindowMinutes);
+    }
+
+    @PostConstruct
+    void start() {
+        worker = Thread.ofVirtual().name("notification-fan-out").start(this::drainLoop);
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.interrupt();
+    }
+
+    /**
+     * Queues the message for the audience.
+     * @return false when the same message to the same audience was already accepted within the dedupe window
+     * @throws NotificationQueueFullException when the queue stays full for the enqueue timeout
+     * @throws IllegalArgumentException when the audience is incomplete or the message missing or too long
+     */
+    public boolean enqueue(NotificationFanOutDTO.Audience audience, Long targetId, Collection<Long> userIds,
+                           String message, Notification.Category category) {
+        if (audience == null) {
+            throw new IllegalArgumentException("audience is required");
+        }
+        if (message == null || message.isBlank()) {
+            throw new IllegalArgumentException("message is required");
+        }
+        if (message.length() > MAX_MESSAGE_LENGTH) {
+            throw new IllegalArgumentException("message must be at most " + MAX_MESSAGE_LENGTH + " characters");
+        }
+        if (userIds != null && userIds.size() > MAX_USER_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_USER_IDS + " userIds per request");
+        }
+        if (userIds != null && userIds.contains(null)) {
+            throw new IllegalArgumentException("userIds must not contain null");
+        }
+        if (audience == NotificationFanOutDTO.Audience.USERS ? userIds == null || userIds.isEmpty() : targetId == null) {
+            throw new IllegalArgumentException(audience == NotificationFanOutDTO.Audience.USERS
+                    ? "userIds are required for audience USERS"
+                    : "targetId is required for audience " + audience);
+        }
+        List<Long> recipients = userIds != null ? List.copyOf(new LinkedHashSet<>(userIds)) : List.of();
+        Notification.Category resolvedCategory = category != null ? category : Notification.Category.GENERAL;
+        LocalDateTime now = LocalDateTime.now();
+
+        String key = dedupeKey(audience, targetId, recipients, message);
+        LocalDateTime cutoff = now.minus(dedupeWindow);
+        recentRequests.values().removeIf(acceptedAt -> acceptedAt.isBefore(cutoff));
+        if (recentRequests.putIfAbsent(key, now) != null) {
+            duplicates.incrementAndGet();
+            return false;
+        }
+
+        try {
+            if (!queue.offer(new FanOut(audience, targetId, recipients, message, resolvedCategory, now), enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                recentRequests.remove(key, now);
+                rejected.incrementAndGet();
+                throw new NotificationQueueFullException("Notification queue is full, retry later");
+            }
+        } catch (InterruptedException e) {
+            recentRequests.remove(key, now);
+            Thread.currentThread().interrupt();
+            throw new NotificationQueueFullException("Interrupted while queueing notification");
+        }
+        accepted.incrementAndGet();
+        return true;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("capacity", queue.size() + queue.remainingCapacity());
+        stats.put("accepted", accepted.get());
+        stats.put("rejected", rejected.get());
+        stats.put("duplicates", duplicates.get());
+        stats.put("delivered", delivered.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    private void drainLoop() {
+        List<FanOut> batch = new ArrayList<>(DRAIN_LIMIT);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, DRAIN_LIMIT - 1);
+                for (FanOut fanOut : batch) {
+                    process(fanOut);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(FanOut fanOut) {
+        try {
+            List<Long> recipients = resolveRecipients(fanOut);
+            LocalDateTime dedupeSince = fanOut.requestedAt().minus(dedupeWindow);
+            int inserted = 0;
+            for (int from = 0; from < recipients.size(); from += batchSize) {
+                Long[] chunk = recipients.subList(from, Math.min(from + batchSize, recipients.size())).toArray(new Long[0]);
+                List<NotificationRepository.InsertedNotificationView> rows = transactionTemplate.execute(status ->
+                        notificationRepository.insertForRecipients(chunk, fanOut.message(),
+                                fanOut.category().name(), fanOut.requestedAt(), dedupeSince));
+                if (rows != null && !rows.isEmpty()) {
+                    inserted += rows.size();
+                    List<NotificationDTO> created = new ArrayList<>(rows.size());
+                    for (NotificationRepository.InsertedNotificationView row : rows) {
+                        created.add(new NotificationDTO(row.getNotificationId(), row.getRecipientId(), null,
+                                fanOut.message(), fanOut.requestedAt(), false, fanOut.category()));
+                    }
+                    notificationService.notificationsCreated(created);
+                }
+            }
+            delivered.addAndGet(inserted);
+            System.out.println("[NotificationFanOutService] " + fanOut.audience() + " " + fanOut.targetId()
+                    + ": " + inserted + " of " + recipients.size() + " recipients notified");
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            System.err.println("[NotificationFanOutService] Fan-out to " + fanOut.audience() + " "
+                    + fanOut.targetId() + " failed: " + e.getMessage());
+        }
+    }
+
+    private List<Long> resolveRecipients(FanOut fanOut) {
+        return switch (fanOut.audience()) {
+            case TEAM -> notificationRepository.findTeamRecipientIds(fanOut.targetId());
+            case TOURNAMENT -> notificationRepository.findTournamentRecipientIds(fanOut.targetId());
+            case SPORT -> notificationRepository.findSportRecipientIds(fanOut.targetId());
+            case USERS -> fanOut.userIds();
+        };
+    }
+
+    /**
+     * SHA-256 of audience, recipients and message, so long messages and user lists stay cheap to remember.
+     */
+    private static String dedupeKey(NotificationFanOutDTO.Audience audience, Long targetId,
+                                    List<Long> userIds, String message) {
+        StringBuilder data = new StringBuilder(audience.name()).append('\u001F');
+        if (audience == NotificationFanOutDTO.Audience.USERS) {
+            userIds.stream().sorted().forEach(id -> data.append(id).append(','));
+        } else {
+            data.append(targetId);
+        }
+        data.append('\u001F').append(message);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
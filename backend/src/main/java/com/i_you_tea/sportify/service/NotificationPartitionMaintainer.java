@@ -0,0 +1,92 @@
+package com.i_you_tea.sportify.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of notifications (see V15) in shape: creates partitions for the
+ * coming months before rows arrive, and enforces retention by dropping whole partitions that
+ * ended before the cutoff, which is a metadata operation instead of a mass DELETE.
+ */
+@Service
+public class NotificationPartitionMaintainer {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("notifications_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationService notificationService;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public NotificationPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                           NotificationService notificationService,
+                                           @Value("${sportify.notifications.partitions.months-ahead:3}") int monthsAhead,
+                                           @Value("${sportify.notifications.partitions.retention-months:12}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationService = notificationService;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Scheduled(initialDelayString = "${sportify.notifications.partitions.initial-delay-ms:30000}",
+               fixedDelayString = "${sportify.notifications.partitions.interval-ms:86400000}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        createPartitions(current, current.plusMonths(monthsAhead));
+        if (retentionMonths > 0) {
+            dropPartitionsBefore(current.minusMonths(retentionMonths));
+        }
+    }
+
+    void createPartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            String name = partitionName(month);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF notifications " +
+                        "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            } catch (RuntimeException e) {
+                // Fails only when the default partition already holds rows of that month
+                System.err.println("[NotificationPartitionMaintainer] Could not create " + name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drops every monthly partition that ends on or before the first day of cutoff.
+     * @return number of partitions dropped
+     */
+    int dropPartitionsBefore(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'notifications'::regclass",
+                String.class);
+        int dropped = 0;
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (matcher.matches() && YearMonth.parse(matcher.group(1), SUFFIX).isBefore(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                dropped++;
+                System.out.println("[NotificationPartitionMaintainer] Dropped expired partition " + partition);
+            }
+        }
+        if (dropped > 0) {
+            // Dropped rows may have been unread
+            notificationService.evictUnreadCounts();
+        }
+        return dropped;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "notifications_p" + month.format(SUFFIX);
+    }
+}
@@ -0,0 +1,95 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.entity.Notification;
+import com.i_you_tea.sportify.entity.NotificationPreference;
+import com.i_you_tea.sportify.repository.NotificationPreferenceRepository;
+import com.i_you_tea.sportify.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-category delivery modes of a user. Only choices that differ from the category default are
+ * stored; the resolved map is cached per user and evicted after any commit that changes it.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationPreferenceService {
+
+    private final NotificationPreferenceRepository notificationPreferenceRepository;
+    private final UserRepository userRepository;
+
+    private final Map<Long, Map<Notification.Category, NotificationPreference.Mode>> preferences = new ConcurrentHashMap<>();
+    // Bumped on every eviction; preferences loaded across an eviction are returned but not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * The user's mode for every category, defaults included.
+     */
+    public Map<Notification.Category, NotificationPreference.Mode> getPreferences(Long userId) {
+        Map<Notification.Category, NotificationPreference.Mode> cached = preferences.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = evictions.get();
+        Map<Notification.Category, NotificationPreference.Mode> modes = new EnumMap<>(Notification.Category.class);
+        for (Notification.Category category : Notification.Category.values()) {
+            modes.put(category, category.getDefaultMode());
+        }
+        for (NotificationPreference preference : notificationPreferenceRepository.findByUserId(userId)) {
+            modes.put(preference.getCategory(), preference.getMode());
+        }
+        Map<Notification.Category, NotificationPreference.Mode> loaded = Collections.unmodifiableMap(modes);
+        if (evictions.get() == generation) {
+            preferences.put(userId, loaded);
+            if (evictions.get() != generation) {
+                // Evicted while caching; drop the possibly stale value
+                preferences.remove(userId);
+            }
+        }
+        return loaded;
+    }
+
+    public NotificationPreference.Mode getMode(Long userId, Notification.Category category) {
+        return getPreferences(userId).get(category);
+    }
+
+    /**
+     * Applies the given category modes; categories not mentioned keep their current mode.
+     * @return the user's resulting preferences
+     * @throws IllegalArgumentException when the user does not exist
+     */
+    @Transactional
+    public Map<Notification.Category, NotificationPreference.Mode> updatePreferences(
+            Long userId, Map<Notification.Category, NotificationPreference.Mode> changes) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found with id: " + userId);
+        }
+        Map<Notification.Category, NotificationPreference.Mode> modes = new EnumMap<>(Notification.Category.class);
+        modes.putAll(getPreferences(userId));
+        changes.forEach((category, mode) -> {
+            if (category == null || mode == null) {
+                throw new IllegalArgumentException("Category and mode are required");
+            }
+            NotificationPreference.NotificationPreferenceId id =
+                    new NotificationPreference.NotificationPreferenceId(userId, category);
+            if (mode == category.getDefaultMode()) {
+                notificationPreferenceRepository.deleteById(id);
+            } else {
+                notificationPreferenceRepository.save(new NotificationPreference(userId, category, mode));
+            }
+            modes.put(category, mode);
+        });
+        AfterCommit.run(() -> {
+            evictions.incrementAndGet();
+            preferences.remove(userId);
+        });
+        return modes;
+    }
+}
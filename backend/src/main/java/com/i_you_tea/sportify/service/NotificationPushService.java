@@ -0,0 +1,215 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.dto.NotificationDTO;
+import com.i_you_tea.sportify.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Real-time delivery of new notifications over Server-Sent Events. Each open connection is
+ * registered under its user id; sends and heartbeats run on virtual threads, so a slow client
+ * never blocks the writer that created the notification. Every connection sends through its own
+ * queue, one event at a time, so a client sees events in the order they were pushed. Events carry
+ * the notification id, so a reconnecting EventSource (Last-Event-ID) is first replayed what it
+ * missed; the replay is queued before the connection receives live pushes, and live events it
+ * already replayed are skipped.
+ */
+@Service
+public class NotificationPushService {
+
+    static final String NOTIFICATION_EVENT = "notification";
+    private static final int REPLAY_LIMIT = 100;
+    // Replay only looks this far back, which keeps it to the newest partitions
+    private static final Duration REPLAY_WINDOW = Duration.ofDays(7);
+
+    private final NotificationRepository notificationRepository;
+    private final long timeoutMs;
+    private final int maxConnectionsPerUser;
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public NotificationPushService(NotificationRepository notificationRepository,
+                                   @Value("${sportify.notifications.push.timeout-ms:1800000}") long timeoutMs,
+                                   @Value("${sportify.notifications.push.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        this.notificationRepository = notificationRepository;
+        this.timeoutMs = timeoutMs;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+    }
+
+    /**
+     * Opens a stream for the user, replaying notifications newer than lastEventId first.
+     * When the user already has the maximum number of streams, the oldest one is closed.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(userId, emitter);
+        // Queued before registering: live pushes can only line up behind the replay
+        connection.enqueue(() -> {
+            emitter.send(SseEmitter.event().comment("connected"));
+            if (lastEventId != null) {
+                for (NotificationDTO missed : missedSince(userId, lastEventId)) {
+                    connection.replayed.add(missed.getNotificationId());
+                    send(emitter, missed);
+                }
+            }
+        });
+
+        Set<Connection> userConnections = connections.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>());
+        userConnections.add(connection);
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(e -> unregister(connection));
+        while (userConnections.size() > maxConnectionsPerUser) {
+            Connection oldest = userConnections.iterator().next();
+            unregister(oldest);
+            oldest.emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Pushes committed notifications to whichever recipients are connected.
+     */
+    public void push(Collection<NotificationDTO> notifications) {
+        for (NotificationDTO notification : notifications) {
+            Set<Connection> userConnections = connections.get(notification.getRecipientId());
+            if (userConnections == null) {
+                continue;
+            }
+            for (Connection connection : userConnections) {
+                connection.enqueue(() -> {
+                    // Committed while the replay ran: already sent with it
+                    if (!connection.replayed.contains(notification.getNotificationId())) {
+                        send(connection.emitter, notification);
+                    }
+                });
+            }
+        }
+    }
+
+    public int connectedUsers() {
+        return connections.size();
+    }
+
+    public int openConnections() {
+        return connections.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Keeps idle streams alive through proxies and detects clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${sportify.notifications.push.heartbeat-ms:25000}")
+    public void heartbeat() {
+        connections.values().forEach(userConnections -> userConnections.forEach(connection ->
+                connection.enqueue(() -> connection.emitter.send(SseEmitter.event().comment("heartbeat")))));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> connection.emitter.complete()));
+        connections.clear();
+        executor.shutdownNow();
+    }
+
+    private List<NotificationDTO> missedSince(Long userId, Long lastEventId) {
+        return notificationRepository.findByRecipientAfterId(userId, lastEventId,
+                        LocalDateTime.now().minus(REPLAY_WINDOW), PageRequest.of(0, REPLAY_LIMIT))
+                .stream()
+                .map(NotificationDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    private static void send(SseEmitter emitter, NotificationDTO notification) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(notification.getNotificationId()))
+                .name(NOTIFICATION_EVENT)
+                .data(notification));
+    }
+
+    private void unregister(Connection connection) {
+        connection.closed = true;
+        connections.computeIfPresent(connection.userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private interface Send {
+        void run() throws IOException;
+    }
+
+    /**
+     * One open stream. Sends are queued and drained by at most one virtual thread at a time.
+     */
+    private final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ConcurrentLinkedQueue<Send> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Ids sent by the replay; only touched by the draining thread
+        private final Set<Long> replayed = new HashSet<>();
+        private volatile boolean closed;
+
+        private Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Send send) {
+            if (closed) {
+                return;
+            }
+            queue.add(send);
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                try {
+                    Send send;
+                    while ((send = queue.poll()) != null) {
+                        if (closed) {
+                            continue;
+                        }
+                        try {
+                            send.run();
+                        } catch (IOException | IllegalStateException e) {
+                            unregister(this);
+                        } catch (RuntimeException e) {
+                            // E.g. the replay query failed: end the stream so the client reconnects
+                            unregister(this);
+                            emitter.completeWithError(e);
+                        }
+                    }
+                } finally {
+                    draining.set(false);
+                }
+                // An enqueue that saw draining = true just before the reset is picked up here
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
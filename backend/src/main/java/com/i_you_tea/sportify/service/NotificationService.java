@@ -1,17 +1,30 @@
 package com.i_you_tea.sportify.service;
 
+import com.i_you_tea.sportify.dto.NotificationDTO;
+import com.i_you_tea.sportify.dto.NotificationPageDTO;
 import com.i_you_tea.sportify.entity.Notification;
-import com.i_you_tea.sportify.entity.User;
 import com.i_you_tea.sportify.repository.NotificationRepository;
-import com.i_you_tea.sportify.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
+/**
+ * Notifications of a user. Unread counts for the badge are kept in memory: loaded once per user
+ * with a count query, then evicted after every commit that creates or reads notifications.
+ * New notifications are also pushed to the recipient's open streams.
+ */
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
@@ -20,24 +33,60 @@ public class NotificationService {
     private NotificationRepository notificationRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private NotificationPushService notificationPushService;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int HISTORY_LIMIT = 200;
+    // Cursor of the first page: after every stored notification
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final Map<Long, Long> unreadCounts = new ConcurrentHashMap<>();
+    // Bumped on every eviction; a count loaded across an eviction is returned but not cached
+    private final AtomicLong evictions = new AtomicLong();
     
+    @Transactional(readOnly = true)
     public List<Notification> getAllNotifications() {
         return notificationRepository.findAll();
     }
 
+    @Transactional
     public Notification createNotification(Notification notification) {
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        if (saved.getRecipient() != null && !Boolean.TRUE.equals(saved.getIsRead())) {
+            NotificationDTO created = NotificationDTO.fromEntity(saved);
+            AfterCommit.run(() -> notificationsCreated(List.of(created)));
+        }
+        return saved;
     }
 
+    /**
+     * The user's latest notifications, at most HISTORY_LIMIT; older ones are reached through getNotificationPage.
+     */
+    @Transactional(readOnly = true)
     public List<Notification> getNotificationsForUser(Long userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isPresent()) {
-            return notificationRepository.findByRecipientOrderBySentAtDesc(userOpt.get());
-        }
-        return List.of();
+        return notificationRepository.findPageBefore(userId, CURSOR_START, Long.MAX_VALUE,
+                PageRequest.of(0, HISTORY_LIMIT));
     }
 
+    @Transactional(readOnly = true)
+    public NotificationPageDTO getNotificationPage(Long userId, LocalDateTime beforeSentAt, Long beforeId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists without a count query
+        List<Notification> rows = beforeSentAt == null
+                ? notificationRepository.findPageBefore(userId, CURSOR_START, Long.MAX_VALUE, PageRequest.of(0, pageSize + 1))
+                : notificationRepository.findPageBefore(userId, beforeSentAt,
+                        beforeId != null ? beforeId : Long.MAX_VALUE, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> page = hasMore ? rows.subList(0, pageSize) : rows;
+        List<NotificationDTO> items = page.stream().map(NotificationDTO::fromEntity).collect(Collectors.toList());
+        Notification last = hasMore ? page.get(page.size() - 1) : null;
+        return new NotificationPageDTO(items, hasMore,
+                last != null ? last.getSentAt() : null,
+                last != null ? last.getNotificationId() : null);
+    }
+
+    @Transactional
     public Notification markAsRead(Long notificationId) {
         Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
         if (notificationOpt.isPresent()) {
@@ -45,9 +94,70 @@ public class NotificationService {
             if (!notification.getIsRead()) {
                 notification.setIsRead(true);
                 notificationRepository.save(notification);
+                Long recipientId = notification.getRecipient().getUserId();
+                AfterCommit.run(() -> evictUnreadCount(recipientId));
             }
             return notification;
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Marks every unread notification of the user as read, or only those with an id up to upToId,
+     * in a single UPDATE.
+     * @return number of notifications marked
+     */
+    @Transactional
+    public int markAllAsRead(Long userId, Long upToId) {
+        int updated = upToId != null
+                ? notificationRepository.markAsReadUpTo(userId, upToId)
+                : notificationRepository.markAllAsRead(userId);
+        if (updated > 0) {
+            AfterCommit.run(() -> evictUnreadCount(userId));
+        }
+        return updated;
+    }
+
+    // Read from the primary, not a replica: the count is cached, and a lagging replica would cache a stale one
+    public long getUnreadCount(Long userId) {
+        Long cached = unreadCounts.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = evictions.get();
+        long count = notificationRepository.countUnreadByRecipientId(userId);
+        if (evictions.get() == generation) {
+            unreadCounts.putIfAbsent(userId, count);
+            if (evictions.get() != generation) {
+                // Evicted while caching; drop the possibly stale value
+                unreadCounts.remove(userId);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts and pushes new unread notifications that were written outside this service
+     * (e.g. by the fan-out worker); call after their transaction committed.
+     */
+    public void notificationsCreated(List<NotificationDTO> created) {
+        Set<Long> recipients = new HashSet<>();
+        created.forEach(notification -> recipients.add(notification.getRecipientId()));
+        recipients.forEach(this::evictUnreadCount);
+        notificationPushService.push(created);
+    }
+
+    /**
+     * Forgets all cached counts, e.g. after expired notifications were dropped in bulk.
+     */
+    public void evictUnreadCounts() {
+        evictions.incrementAndGet();
+        unreadCounts.clear();
+    }
+
+    // Evicted rather than adjusted: a count loaded between a commit and its delta would count that change twice
+    private void evictUnreadCount(Long userId) {
+        evictions.incrementAndGet();
+        unreadCounts.remove(userId);
+    }
+}
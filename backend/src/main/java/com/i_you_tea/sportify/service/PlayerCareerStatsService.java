@@ -0,0 +1,206 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.entity.PlayerCareerStats;
+import com.i_you_tea.sportify.repository.MatchRepository;
+import com.i_you_tea.sportify.repository.PlayerCareerStatsRepository;
+import com.i_you_tea.sportify.repository.TeamMemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Maintains the player_career_stats materialization: matches played, wins, titles, runs and wickets
+ * per player and sport, so a profile's statistics are one primary-key range scan instead of joins
+ * over the whole match history. Match results, cricket scores, titles and certificates re-aggregate
+ * only the players of the teams involved, inside the caller's transaction. Deletes of completed matches
+ * and tournaments collect the affected players first, since teams and memberships may go with them,
+ * and re-aggregate them afterwards. A full rebuild recomputes
+ * everything from history in parallel, one transaction per bucket of user ids.
+ */
+@Service
+public class PlayerCareerStatsService {
+
+    private final PlayerCareerStatsRepository playerCareerStatsRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final MatchRepository matchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildBuckets;
+    private final int rebuildParallelism;
+
+    public PlayerCareerStatsService(PlayerCareerStatsRepository playerCareerStatsRepository,
+                                    TeamMemberRepository teamMemberRepository,
+                                    MatchRepository matchRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${sportify.career-stats.rebuild.buckets:16}") int rebuildBuckets,
+                                    @Value("${sportify.career-stats.rebuild.parallelism:4}") int rebuildParallelism) {
+        this.playerCareerStatsRepository = playerCareerStatsRepository;
+        this.teamMemberRepository = teamMemberRepository;
+        this.matchRepository = matchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildBuckets = Math.max(1, rebuildBuckets);
+        this.rebuildParallelism = Math.max(1, rebuildParallelism);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PlayerCareerStats> getStats(Long userId) {
+        return playerCareerStatsRepository.findByUserIdOrderBySportNameAsc(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PlayerCareerStats> getStats(Long userId, Long sportId) {
+        return playerCareerStatsRepository.findById(new PlayerCareerStats.PlayerCareerStatsId(userId, sportId))
+                .map(List::of)
+                .orElseGet(List::of);
+    }
+
+    /**
+     * Called when a match of the teams was completed, decided, or its winner changed, and when a
+     * tournament's champion changed from or to one of them.
+     */
+    @Transactional
+    public void teamsChanged(Long sportId, Collection<Long> teamIds) {
+        Set<Long> teams = nonNull(teamIds);
+        if (sportId == null || teams.isEmpty()) {
+            return;
+        }
+        refresh(sportId, teamMemberRepository.findAcceptedMemberIds(teams));
+    }
+
+    /**
+     * Called when cricket scores of the match were written; runs and wickets of finished matches count.
+     */
+    @Transactional
+    public void matchScoresChanged(Long matchId) {
+        if (matchId == null) {
+            return;
+        }
+        matchRepository.findById(matchId)
+                .filter(match -> match.getSport() != null)
+                .ifPresent(match -> teamsChanged(match.getSport().getSportId(), Arrays.asList(
+                        match.getTeam1() != null ? match.getTeam1().getTeamId() : null,
+                        match.getTeam2() != null ? match.getTeam2().getTeamId() : null)));
+    }
+
+    /**
+     * Called when players got a title directly, e.g. through a Champion certificate.
+     */
+    @Transactional
+    public void playersChanged(Long sportId, Collection<Long> userIds) {
+        Set<Long> players = nonNull(userIds);
+        if (sportId != null && !players.isEmpty()) {
+            refresh(sportId, players);
+        }
+    }
+
+    /**
+     * Players whose stats count any of the matches, by sport; collect before deleting the matches
+     * and pass the result to playersChanged afterwards.
+     */
+    @Transactional
+    public Map<Long, Set<Long>> playersOfMatches(Collection<Long> matchIds) {
+        Set<Long> matches = nonNull(matchIds);
+        return matches.isEmpty() ? Map.of() : bySport(playerCareerStatsRepository.findPlayersOfCompletedMatches(matches));
+    }
+
+    @Transactional
+    public Map<Long, Set<Long>> playersOfRound(Long roundId) {
+        return bySport(playerCareerStatsRepository.findPlayersOfCompletedRoundMatches(roundId));
+    }
+
+    @Transactional
+    public Map<Long, Set<Long>> playersOfTournament(Long tournamentId) {
+        return bySport(playerCareerStatsRepository.findPlayersOfTournament(tournamentId));
+    }
+
+    @Transactional
+    public void playersChanged(Map<Long, Set<Long>> playersBySport) {
+        playersBySport.forEach(this::playersChanged);
+    }
+
+    @Transactional
+    public void sportChanged(Long sportId) {
+        playerCareerStatsRepository.updateSportName(sportId);
+    }
+
+    /**
+     * Recomputes the whole table from history. Buckets of user ids are rebuilt concurrently, each
+     * in its own transaction, so the table is never empty as a whole while it runs.
+     * @return number of rows written
+     */
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        List<Future<Integer>> results = new ArrayList<>(rebuildBuckets);
+        try (ExecutorService executor = Executors.newFixedThreadPool(rebuildParallelism,
+                Thread.ofVirtual().name("career-stats-rebuild-", 0).factory())) {
+            for (int bucket = 0; bucket < rebuildBuckets; bucket++) {
+                int current = bucket;
+                results.add(executor.submit(() -> transactionTemplate.execute(status -> {
+                    playerCareerStatsRepository.deleteBucket(rebuildBuckets, current);
+                    return playerCareerStatsRepository.upsertBucket(rebuildBuckets, current);
+                })));
+            }
+        }
+        int rows = 0;
+        for (Future<Integer> result : results) {
+            try {
+                Integer written = result.get();
+                rows += written != null ? written : 0;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Career stats rebuild failed: " + e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Career stats rebuild interrupted", e);
+            }
+        }
+        System.out.println("[PlayerCareerStatsService] Rebuilt " + rows + " career stats rows in "
+                + rebuildBuckets + " buckets (" + (System.currentTimeMillis() - started) + " ms)");
+        return rows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (playerCareerStatsRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    private void refresh(Long sportId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        // Players left without any result in the sport lose their row
+        playerCareerStatsRepository.deletePlayers(sportId, userIds);
+        playerCareerStatsRepository.upsertPlayers(sportId, userIds);
+    }
+
+    private static Map<Long, Set<Long>> bySport(List<PlayerCareerStatsRepository.AffectedPlayerView> players) {
+        Map<Long, Set<Long>> playersBySport = new HashMap<>();
+        players.forEach(player -> playersBySport
+                .computeIfAbsent(player.getSportId(), sportId -> new LinkedHashSet<>())
+                .add(player.getUserId()));
+        return playersBySport;
+    }
+
+    private static Set<Long> nonNull(Collection<Long> ids) {
+        Set<Long> result = new LinkedHashSet<>(ids);
+        result.remove(null);
+        return result;
+    }
+}
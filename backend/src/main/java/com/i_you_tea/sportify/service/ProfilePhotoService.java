@@ -0,0 +1,382 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Profile photos in a content-addressed file store. A photo is stored under the SHA-256 of its
+ * bytes together with server-generated square thumbnails, so users rows only carry the 64
+ * character key, identical uploads are stored once and a stored file never changes (its URL can
+ * be cached forever). Photos still held as base64 in users.profile_photo are moved into the
+ * store by a batched migration that runs at startup.
+ */
+@Service
+public class ProfilePhotoService {
+
+    public enum Size {
+        SMALL(64), MEDIUM(256), ORIGINAL(0);
+
+        private final int pixels;
+
+        Size(int pixels) {
+            this.pixels = pixels;
+        }
+
+        public static Optional<Size> fromName(String name) {
+            for (Size size : values()) {
+                if (size.name().equalsIgnoreCase(name)) {
+                    return Optional.of(size);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private enum Format {
+        PNG("png", "png", MediaType.IMAGE_PNG),
+        JPEG("jpeg", "jpg", MediaType.IMAGE_JPEG),
+        GIF("gif", "gif", MediaType.IMAGE_GIF);
+
+        private final String imageIoName;
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String imageIoName, String extension, MediaType mediaType) {
+            this.imageIoName = imageIoName;
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        static Optional<Format> fromImageIoName(String name) {
+            for (Format format : values()) {
+                if (format.imageIoName.equalsIgnoreCase(name)) {
+                    return Optional.of(format);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A stored photo file; key is the content hash of the original upload.
+     */
+    public record StoredPhoto(String key, Size size, MediaType mediaType, Path file, long length) {
+        public String getETag() {
+            return "\"" + key + "-" + size.name().toLowerCase(Locale.ROOT) + "\"";
+        }
+    }
+
+    private record Migrated(Long userId, String key) {
+    }
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern DATA_URI = Pattern.compile("data:image/[a-z+.-]+;base64,", Pattern.CASE_INSENSITIVE);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path storeDir;
+    private final long maxBytes;
+    private final long maxPixels;
+    private final int migrationBatchSize;
+
+    private final ExecutorService migrationExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("profile-photo-migration").factory());
+
+    public ProfilePhotoService(UserRepository userRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${sportify.profile-photos.store-dir:${user.home}/.sportify/profile-photos}") String storeDir,
+                               @Value("${sportify.profile-photos.max-bytes:5242880}") long maxBytes,
+                               @Value("${sportify.profile-photos.max-pixels:16000000}") long maxPixels,
+                               @Value("${sportify.profile-photos.migration.batch-size:100}") int migrationBatchSize) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.storeDir = Paths.get(storeDir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        this.maxPixels = maxPixels;
+        this.migrationBatchSize = Math.max(1, migrationBatchSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        migrationExecutor.shutdownNow();
+    }
+
+    /**
+     * Streams an uploaded image into the store and generates its thumbnails.
+     * @return the key of the photo
+     * @throws IllegalArgumentException when the upload is too large or not a PNG, JPEG or GIF image
+     */
+    public String store(InputStream input) {
+        try {
+            Files.createDirectories(storeDir);
+            Path temp = Files.createTempFile(storeDir, "upload-", ".tmp");
+            try {
+                String key = copyHashed(input, temp);
+                Format format = writeThumbnails(temp, key);
+                Path original = fileFor(key, Size.ORIGINAL, format);
+                if (!Files.isRegularFile(original)) {
+                    move(temp, original);
+                }
+                return key;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stores a photo given as base64, optionally as a data URI, as the profile update and the
+     * legacy column hold them.
+     */
+    public String storeBase64(String photo) {
+        String base64 = DATA_URI.matcher(photo).lookingAt()
+                ? photo.substring(photo.indexOf(',') + 1)
+                : photo;
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(base64);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Profile photo is not valid base64");
+        }
+        return store(new ByteArrayInputStream(bytes));
+    }
+
+    public static boolean isBase64Photo(String photo) {
+        return photo != null && DATA_URI.matcher(photo).lookingAt();
+    }
+
+    /**
+     * The stored file of the photo in the given size; empty for an unknown key.
+     */
+    public Optional<StoredPhoto> find(String key, Size size) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        List<Format> formats = size == Size.ORIGINAL ? List.of(Format.values()) : List.of(Format.JPEG);
+        for (Format format : formats) {
+            Path file = fileFor(key, size, format);
+            try {
+                return Optional.of(new StoredPhoto(key, size, format.mediaType, file, Files.size(file)));
+            } catch (IOException e) {
+                // Not stored in this format
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Moves base64 photos from users.profile_photo into the store, one short transaction per batch.
+     * Rows that cannot be decoded are skipped and keep their data.
+     * @return number of users migrated
+     */
+    public int migrateLegacyPhotos() {
+        long afterId = 0;
+        int migrated = 0;
+        int failed = 0;
+        List<UserRepository.LegacyPhotoView> batch;
+        do {
+            batch = userRepository.findLegacyPhotos(afterId, migrationBatchSize);
+            List<Migrated> stored = new ArrayList<>(batch.size());
+            for (UserRepository.LegacyPhotoView row : batch) {
+                afterId = row.getUserId();
+                try {
+                    stored.add(new Migrated(row.getUserId(), storeBase64(row.getProfilePhoto())));
+                } catch (RuntimeException e) {
+                    failed++;
+                    System.err.println("[ProfilePhotoService] Could not migrate the photo of user "
+                            + row.getUserId() + ": " + e.getMessage());
+                }
+            }
+            Integer updated = transactionTemplate.execute(status -> stored.stream()
+                    .mapToInt(photo -> userRepository.moveLegacyPhoto(photo.userId(), photo.key()))
+                    .sum());
+            migrated += updated != null ? updated : 0;
+        } while (batch.size() == migrationBatchSize);
+
+        if (migrated > 0 || failed > 0) {
+            System.out.println("[ProfilePhotoService] Moved " + migrated + " profile photos into the photo store"
+                    + (failed > 0 ? ", " + failed + " could not be decoded" : ""));
+        }
+        return migrated;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInBackground() {
+        migrationExecutor.execute(() -> {
+            try {
+                migrateLegacyPhotos();
+            } catch (RuntimeException e) {
+                System.err.println("[ProfilePhotoService] Photo migration failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Copies the upload to the file while hashing it, enforcing the size limit on the way.
+     */
+    private String copyHashed(InputStream input, Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(input, digest);
+             OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[16 * 1024];
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new IllegalArgumentException("Profile photo is larger than " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Decodes the image, checking its dimensions before allocating pixels, and writes the thumbnails
+     * that are not stored yet. Only the centre square is decoded, subsampled to no less than the
+     * largest missing thumbnail, so a large upload never needs its full-resolution pixels in memory.
+     * @return the format of the original
+     */
+    private Format writeThumbnails(Path file, String key) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = stream != null ? ImageIO.getImageReaders(stream) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Profile photo is not an image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                Format format = Format.fromImageIoName(reader.getFormatName())
+                        .orElseThrow(() -> new IllegalArgumentException("Profile photo must be a PNG, JPEG or GIF image"));
+                List<Size> missing = Arrays.stream(Size.values())
+                        .filter(size -> size != Size.ORIGINAL && !Files.isRegularFile(fileFor(key, size, Format.JPEG)))
+                        .toList();
+                if (missing.isEmpty()) {
+                    return format;
+                }
+                reader.setInput(stream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                long pixels = (long) width * height;
+                if (pixels <= 0 || pixels > maxPixels) {
+                    throw new IllegalArgumentException("Profile photo dimensions are too large");
+                }
+                int side = Math.min(width, height);
+                int largest = missing.stream().mapToInt(size -> size.pixels).max().orElseThrow();
+                int step = Math.max(1, side / largest);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle((width - side) / 2, (height - side) / 2, side, side));
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage image = reader.read(0, param);
+                for (Size size : missing) {
+                    writeThumbnail(image, size, fileFor(key, size, Format.JPEG));
+                }
+                return format;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IIOException e) {
+            throw new IllegalArgumentException("Profile photo could not be decoded");
+        }
+    }
+
+    /**
+     * Square JPEG of the centre of the image on a white background (for transparent PNGs and GIFs).
+     */
+    private static void writeThumbnail(BufferedImage image, Size size, Path file) throws IOException {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        int target = Math.min(size.pixels, side);
+        BufferedImage thumbnail = new BufferedImage(target, target, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, target, target);
+            int x = (image.getWidth() - side) / 2;
+            int y = (image.getHeight() - side) / 2;
+            graphics.drawImage(image, 0, 0, target, target, x, y, x + side, y + side, null);
+        } finally {
+            graphics.dispose();
+        }
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                ImageIO.write(thumbnail, "jpeg", out);
+            }
+            move(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Publishes a fully written file; a reader never sees a partial photo.
+     */
+    private static void move(Path temp, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Two-level fan-out (ab/abcdef…/medium.jpg) keeps directories small.
+     */
+    private Path fileFor(String key, Size size, Format format) {
+        return storeDir.resolve(key.substring(0, 2)).resolve(key)
+                .resolve(size.name().toLowerCase(Locale.ROOT) + "." + format.extension);
+    }
+}
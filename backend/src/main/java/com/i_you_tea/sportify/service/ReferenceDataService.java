@@ -0,0 +1,96 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.dto.SportDTO;
+import com.i_you_tea.sportify.entity.Role;
+import com.i_you_tea.sportify.entity.Sport;
+import com.i_you_tea.sportify.repository.SportRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reference data served from memory. Sport and Role entities live in Hibernate's second-level
+ * cache, so findById and the lazy sport of teams, tournaments and matches are memory reads after
+ * the first load. The sports list is kept here as a near cache of ready DTOs, dropped after any
+ * commit that changes a sport, its captain or its recent results.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataService {
+
+    private final SportRepository sportRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private volatile List<SportDTO> sports;
+    // Bumped on every eviction; a list loaded across an eviction is returned but not cached
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public List<SportDTO> getSports() {
+        List<SportDTO> cached = sports;
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        long generation = evictions.get();
+        List<SportDTO> loaded = List.copyOf(sportRepository.findAllSportDTOs());
+        if (evictions.get() == generation) {
+            sports = loaded;
+            if (evictions.get() != generation) {
+                // Evicted while caching; drop the possibly stale list
+                sports = null;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Called by writers of sports and of what the list shows about them; evicts once the transaction commits.
+     */
+    public void sportsChanged() {
+        AfterCommit.run(() -> {
+            evictions.incrementAndGet();
+            sports = null;
+        });
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> sportList = new LinkedHashMap<>();
+        List<SportDTO> cached = sports;
+        sportList.put("cached", cached != null ? cached.size() : 0);
+        sportList.put("hits", hits.get());
+        sportList.put("misses", misses.get());
+        sportList.put("evictions", evictions.get());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sportList", sportList);
+        stats.put("sport", regionStats(statistics, Sport.class));
+        stats.put("role", regionStats(statistics, Role.class));
+        stats.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        return stats;
+    }
+
+    private static Map<String, Object> regionStats(Statistics statistics, Class<?> entity) {
+        Map<String, Object> region = new LinkedHashMap<>();
+        // Entity regions are named after the entity unless a region prefix is configured
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(entity.getName());
+        if (regionStatistics == null) {
+            return region;
+        }
+        region.put("hits", regionStatistics.getHitCount());
+        region.put("misses", regionStatistics.getMissCount());
+        region.put("puts", regionStatistics.getPutCount());
+        return region;
+    }
+}
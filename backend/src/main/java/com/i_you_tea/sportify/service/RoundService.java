@@ -12,9 +12,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +26,7 @@ public class RoundService {
     private final RoundRepository roundRepository;
     private final TournamentRepository tournamentRepository;
     private final MatchService matchService;
+    private final PlayerCareerStatsService playerCareerStatsService;
     
     /**
      * Get all rounds
@@ -170,6 +173,8 @@ public class RoundService {
         if (!roundRepository.existsById(roundId)) {
             throw new IllegalArgumentException("Round not found with id: " + roundId);
         }
+        Map<Long, Set<Long>> players = playerCareerStatsService.playersOfRound(roundId);
         roundRepository.deleteById(roundId);
+        playerCareerStatsService.playersChanged(players);
     }
 }
\ No newline at end of file
@@ -0,0 +1,524 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.Exception.ScheduleConflictException;
+import com.i_you_tea.sportify.dto.ScheduleConflictDTO;
+import com.i_you_tea.sportify.entity.Match;
+import com.i_you_tea.sportify.entity.Sport;
+import com.i_you_tea.sportify.repository.MatchRepository;
+import com.i_you_tea.sportify.repository.SportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Detects venue double-bookings.
+ * Keeps one interval tree of booked slots per venue, covering matches scheduled after a lookback horizon,
+ * so checks stay O(log n) and memory stays bounded as past seasons accumulate.
+ * Slots are [scheduledTime, scheduledTime + sport match duration).
+ * Bookings made inside a transaction are held in the index as pending until it completes, next to the
+ * match's committed booking: other transactions cannot see the row yet, so pending bookings are never
+ * checked against the database, and the committed booking keeps its slot until the change commits.
+ * Database checks run outside the write lock; a reservation only takes it to re-check the index and book.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleConflictService {
+    // Upper bound on a slot length; also how far back a window has to look for overlapping starts
+    private static final Duration MAX_SLOT_LENGTH = Duration.ofHours(24);
+    // Reservations retried this often when the index changes during the database check; then the check
+    // runs under the write lock, so a busy venue cannot starve a booking
+    private static final int OPTIMISTIC_RESERVE_ATTEMPTS = 3;
+
+    private final MatchRepository matchRepository;
+    private final SportRepository sportRepository;
+
+    @Value("${sportify.scheduling.default-match-duration-minutes:90}")
+    private int defaultMatchDurationMinutes;
+
+    @Value("${sportify.scheduling.index-lookback-days:30}")
+    private int indexLookbackDays;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, VenueIntervalTree> treesByVenue = new HashMap<>();
+    // Committed booking of each indexed match; the trees additionally hold the pending bookings
+    private final Map<Long, VenueIntervalTree.Slot> slotsByMatch = new HashMap<>();
+    // Bumped by every rebuild; pending bookings of an earlier index are discarded
+    private long generation;
+    // Bumped by every change to the trees, so a reservation sees whether its check is still current
+    private long modifications;
+    // 0 means "no sport specific duration, use the default"
+    private final Map<Long, Integer> durationBySport = new ConcurrentHashMap<>();
+    // Slots starting before the horizon are not indexed and are checked against the database instead.
+    // Until the first rebuild everything goes to the database.
+    private volatile LocalDateTime horizon = LocalDateTime.MAX;
+
+    /**
+     * Rebuild the index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDateTime newHorizon = LocalDateTime.now().minusDays(indexLookbackDays);
+
+        durationBySport.clear();
+        for (Sport sport : sportRepository.findAll()) {
+            durationBySport.put(sport.getSportId(), sport.getMatchDurationMinutes() != null ? sport.getMatchDurationMinutes() : 0);
+        }
+
+        List<VenueIntervalTree.Slot> slots = matchRepository.findBookedSlotsFrom(newHorizon).stream()
+                .filter(view -> !view.getVenue().isBlank())
+                .map(this::toSlot)
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            treesByVenue.clear();
+            slotsByMatch.clear();
+            generation++;
+            slots.forEach(slot -> {
+                addToTree(slot);
+                slotsByMatch.put(slot.matchId(), slot);
+            });
+            horizon = newHorizon;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("[ScheduleConflictService] Indexed " + slots.size() + " booked slots across "
+                + treesByVenue.size() + " venues");
+    }
+
+    /**
+     * Find bookings that overlap the given match's slot, ignoring the match itself
+     */
+    public List<ScheduleConflictDTO> findConflicts(Long matchId, Long sportId, String venue, LocalDateTime scheduledTime) {
+        if (venue == null || venue.isBlank() || scheduledTime == null) {
+            return List.of();
+        }
+        VenueIntervalTree.Slot candidate = toSlot(matchId, null, sportId, venue, scheduledTime);
+        return toConflicts(candidate, findOverlapping(candidate));
+    }
+
+    /**
+     * Book the match's current venue/time, replacing any previous booking of that match.
+     * Throws ScheduleConflictException if the slot overlaps another booking.
+     * Inside a transaction the booking stays pending until the transaction completes.
+     * The overlap check, including its database round-trips, runs before the write lock is taken; under the
+     * lock only the index is re-checked if it changed meanwhile, and a new overlapping booking retries the check.
+     */
+    public void reserve(Match match) {
+        if (match.getMatchId() == null) {
+            throw new IllegalArgumentException("Match must be saved before it can be booked");
+        }
+        boolean bookable = match.getVenue() != null && !match.getVenue().isBlank()
+                && match.getScheduledTime() != null
+                && match.getStatus() != Match.MatchStatus.CANCELLED;
+        VenueIntervalTree.Slot next = bookable
+                ? toSlot(match.getMatchId(),
+                         match.getTournament() != null ? match.getTournament().getTournamentId() : null,
+                         match.getSport() != null ? match.getSport().getSportId() : null,
+                         match.getVenue(),
+                         match.getScheduledTime())
+                : null;
+
+        if (next == null) {
+            release(match.getMatchId());
+            return;
+        }
+
+        for (int attempt = 0; attempt < OPTIMISTIC_RESERVE_ATTEMPTS; attempt++) {
+            long seen = indexModifications();
+            checkAvailable(next);
+            lock.writeLock().lock();
+            try {
+                // Index changes meanwhile (including stale bookings dropped by the check) only matter
+                // if they put a booking into the slot
+                if (modifications == seen || indexedOverlapping(next).isEmpty()) {
+                    book(match.getMatchId(), next);
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            checkAvailable(next);
+            book(match.getMatchId(), next);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void checkAvailable(VenueIntervalTree.Slot slot) {
+        List<VenueIntervalTree.Slot> overlapping = findOverlapping(slot);
+        if (!overlapping.isEmpty()) {
+            throw new ScheduleConflictException(toConflicts(slot, overlapping));
+        }
+    }
+
+    private long indexModifications() {
+        lock.readLock().lock();
+        try {
+            return modifications;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Indexed bookings of other matches overlapping the slot; callers hold a lock
+    private List<VenueIntervalTree.Slot> indexedOverlapping(VenueIntervalTree.Slot slot) {
+        VenueIntervalTree tree = treesByVenue.get(venueKey(slot.venue()));
+        List<VenueIntervalTree.Slot> overlapping = tree != null ? tree.overlapping(slot.start(), slot.end()) : new ArrayList<>();
+        overlapping.removeIf(other -> other.matchId().equals(slot.matchId()));
+        return overlapping;
+    }
+
+    /**
+     * Drop the booking of a match (deleted or cancelled)
+     */
+    public void release(Long matchId) {
+        lock.writeLock().lock();
+        try {
+            book(matchId, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void evictSportDuration(Long sportId) {
+        durationBySport.remove(sportId);
+    }
+
+    /**
+     * Report all overlapping bookings that involve a tournament's matches on one day.
+     * Each venue is swept once in start order, keeping the currently running slots.
+     * Indexed bookings are confirmed against the database like reservations do; a match being rescheduled
+     * holds its committed and pending slot at once, which is not reported as a conflict.
+     */
+    public List<ScheduleConflictDTO> getTournamentDayConflicts(Long tournamentId, LocalDate day) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+
+        if (dayStart.minus(MAX_SLOT_LENGTH).isBefore(horizon)) {
+            Map<String, List<VenueIntervalTree.Slot>> slotsByVenue = new HashMap<>();
+            for (MatchRepository.MatchSlotView view : matchRepository.findBookedSlotsBetween(dayStart.minus(MAX_SLOT_LENGTH), dayEnd)) {
+                if (view.getVenue().isBlank()) {
+                    continue;
+                }
+                VenueIntervalTree.Slot slot = toSlot(view);
+                if (slot.overlaps(dayStart, dayEnd)) {
+                    slotsByVenue.computeIfAbsent(venueKey(slot.venue()), key -> new ArrayList<>()).add(slot);
+                }
+            }
+            slotsByVenue.values().forEach(slots -> slots.sort(Comparator
+                    .comparing(VenueIntervalTree.Slot::start)
+                    .thenComparing(VenueIntervalTree.Slot::matchId)));
+            return sweep(tournamentId, slotsByVenue).stream()
+                    .map(pair -> toConflict(pair.first(), pair.second()))
+                    .collect(Collectors.toList());
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            Map<String, List<VenueIntervalTree.Slot>> slotsByVenue = new HashMap<>();
+            lock.readLock().lock();
+            try {
+                treesByVenue.forEach((venue, tree) -> {
+                    List<VenueIntervalTree.Slot> slots = tree.overlapping(dayStart, dayEnd);
+                    if (!slots.isEmpty()) {
+                        slotsByVenue.put(venue, slots);
+                    }
+                });
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            List<SlotPair> pairs = sweep(tournamentId, slotsByVenue);
+            Map<VenueIntervalTree.Slot, VenueIntervalTree.Slot> stale = repairStale(pairs.stream()
+                    .flatMap(pair -> Stream.of(pair.first(), pair.second()))
+                    .distinct()
+                    .toList());
+            // Stale bookings were replaced by their stored slots, which may pair up differently: sweep once more
+            if (stale.isEmpty() || attempt > 0) {
+                return pairs.stream()
+                        .filter(pair -> !stale.containsKey(pair.first()) && !stale.containsKey(pair.second()))
+                        .map(pair -> toConflict(pair.first(), pair.second()))
+                        .collect(Collectors.toList());
+            }
+        }
+    }
+
+    private record SlotPair(VenueIntervalTree.Slot first, VenueIntervalTree.Slot second) {
+    }
+
+    // Overlapping pairs of slots (sorted by start per venue) that involve the tournament's matches
+    private static List<SlotPair> sweep(Long tournamentId, Map<String, List<VenueIntervalTree.Slot>> slotsByVenue) {
+        List<SlotPair> pairs = new ArrayList<>();
+        for (List<VenueIntervalTree.Slot> slots : slotsByVenue.values()) {
+            if (slots.stream().noneMatch(slot -> tournamentId.equals(slot.tournamentId()))) {
+                continue;
+            }
+            List<VenueIntervalTree.Slot> running = new ArrayList<>();
+            for (VenueIntervalTree.Slot slot : slots) {
+                running.removeIf(active -> !active.end().isAfter(slot.start()));
+                for (VenueIntervalTree.Slot active : running) {
+                    if (!active.matchId().equals(slot.matchId())
+                            && (tournamentId.equals(active.tournamentId()) || tournamentId.equals(slot.tournamentId()))) {
+                        pairs.add(new SlotPair(active, slot));
+                    }
+                }
+                running.add(slot);
+            }
+        }
+        return pairs;
+    }
+
+    private List<VenueIntervalTree.Slot> findOverlapping(VenueIntervalTree.Slot candidate) {
+        List<VenueIntervalTree.Slot> overlapping;
+        if (candidate.start().minus(MAX_SLOT_LENGTH).isBefore(horizon)) {
+            // Window reaches behind the indexed horizon
+            overlapping = matchRepository.findBookedSlotsBetween(candidate.start().minus(MAX_SLOT_LENGTH), candidate.end())
+                    .stream()
+                    .filter(view -> venueKey(view.getVenue()).equals(venueKey(candidate.venue())))
+                    .map(this::toSlot)
+                    .filter(slot -> slot.overlaps(candidate.start(), candidate.end()))
+                    .collect(Collectors.toList());
+        } else {
+            lock.readLock().lock();
+            try {
+                overlapping = indexedOverlapping(candidate);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        overlapping.removeIf(slot -> slot.matchId().equals(candidate.matchId()));
+        if (overlapping.isEmpty()) {
+            return overlapping;
+        }
+        return dropStale(candidate, overlapping);
+    }
+
+    /**
+     * Drop stale bookings from overlapping; a moved booking is replaced by its stored slot if that
+     * still overlaps the candidate.
+     */
+    private List<VenueIntervalTree.Slot> dropStale(VenueIntervalTree.Slot candidate, List<VenueIntervalTree.Slot> overlapping) {
+        Map<VenueIntervalTree.Slot, VenueIntervalTree.Slot> stale = repairStale(overlapping);
+        if (stale.isEmpty()) {
+            return overlapping;
+        }
+        List<VenueIntervalTree.Slot> live = new ArrayList<>();
+        for (VenueIntervalTree.Slot slot : overlapping) {
+            if (!stale.containsKey(slot)) {
+                live.add(slot);
+                continue;
+            }
+            VenueIntervalTree.Slot stored = stale.get(slot);
+            if (stored != null && venueKey(stored.venue()).equals(venueKey(candidate.venue()))
+                    && stored.overlaps(candidate.start(), candidate.end())) {
+                live.add(stored);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Matches can be deleted or moved in bulk (round resets, tournament deletes) without passing through
+     * here, so confirm committed bookings against the database: bookings of deleted or cancelled matches
+     * are evicted, moved ones are replaced by the stored slot. Pending bookings are not visible to this
+     * transaction yet and always count.
+     * Returns the stored slot of each stale booking, null when the match no longer holds one.
+     */
+    private Map<VenueIntervalTree.Slot, VenueIntervalTree.Slot> repairStale(List<VenueIntervalTree.Slot> slots) {
+        List<VenueIntervalTree.Slot> committed;
+        lock.readLock().lock();
+        try {
+            committed = slots.stream().filter(slot -> slot.equals(slotsByMatch.get(slot.matchId()))).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (committed.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, VenueIntervalTree.Slot> current = matchRepository
+                .findBookedSlotsByMatchIds(committed.stream().map(VenueIntervalTree.Slot::matchId).toList())
+                .stream()
+                .map(this::toSlot)
+                .collect(Collectors.toMap(VenueIntervalTree.Slot::matchId, slot -> slot));
+
+        Map<VenueIntervalTree.Slot, VenueIntervalTree.Slot> stale = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            for (VenueIntervalTree.Slot slot : committed) {
+                VenueIntervalTree.Slot stored = current.get(slot.matchId());
+                // Already replaced meanwhile, or confirmed by the database
+                if (!slot.equals(slotsByMatch.get(slot.matchId())) || slot.equals(stored)) {
+                    continue;
+                }
+                VenueIntervalTree.Slot indexed = stored != null && !stored.start().isBefore(horizon) ? stored : null;
+                if (indexed != null) {
+                    addToTree(indexed);
+                }
+                commitBooking(slot.matchId(), indexed);
+                stale.put(slot, stored);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return stale;
+    }
+
+    /**
+     * Set the booking of a match: at once outside a transaction, otherwise as a pending booking of
+     * the current transaction. Callers hold the write lock.
+     */
+    private void book(Long matchId, VenueIntervalTree.Slot next) {
+        VenueIntervalTree.Slot indexed = next != null && !next.start().isBefore(horizon) ? next : null;
+        PendingBookings pending = currentPendingBookings();
+        if (pending == null) {
+            commitBooking(matchId, indexed);
+            if (indexed != null) {
+                addToTree(indexed);
+            }
+            return;
+        }
+        // An earlier booking of the match in this transaction is superseded; the committed one stays
+        VenueIntervalTree.Slot earlier = pending.bookings.put(matchId, indexed);
+        if (earlier != null) {
+            removeFromTree(earlier);
+        }
+        if (indexed != null) {
+            addToTree(indexed);
+        }
+    }
+
+    /**
+     * Make slot, which is already in its tree (or null), the committed booking of the match.
+     * Callers hold the write lock.
+     */
+    private void commitBooking(Long matchId, VenueIntervalTree.Slot slot) {
+        VenueIntervalTree.Slot committed = slotsByMatch.remove(matchId);
+        if (committed != null) {
+            removeFromTree(committed);
+        }
+        if (slot != null) {
+            slotsByMatch.put(matchId, slot);
+        }
+    }
+
+    private PendingBookings currentPendingBookings() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingBookings pending) {
+                return pending;
+            }
+        }
+        PendingBookings pending = new PendingBookings(generation);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    /**
+     * Bookings changed by one transaction, committed or dropped when it completes.
+     */
+    private final class PendingBookings implements TransactionSynchronization {
+        // New booking per match, null when the match no longer holds an indexed slot
+        private final Map<Long, VenueIntervalTree.Slot> bookings = new HashMap<>();
+        private final long indexGeneration;
+
+        private PendingBookings(long indexGeneration) {
+            this.indexGeneration = indexGeneration;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            lock.writeLock().lock();
+            try {
+                if (indexGeneration != generation) {
+                    return;
+                }
+                bookings.forEach((matchId, slot) -> {
+                    if (status == STATUS_COMMITTED) {
+                        commitBooking(matchId, slot);
+                    } else if (slot != null) {
+                        removeFromTree(slot);
+                    }
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Callers hold the write lock
+    private void addToTree(VenueIntervalTree.Slot slot) {
+        modifications++;
+        treesByVenue.computeIfAbsent(venueKey(slot.venue()), key -> new VenueIntervalTree()).insert(slot);
+    }
+
+    // Callers hold the write lock
+    private void removeFromTree(VenueIntervalTree.Slot slot) {
+        modifications++;
+        String key = venueKey(slot.venue());
+        VenueIntervalTree tree = treesByVenue.get(key);
+        if (tree != null && tree.remove(slot) && tree.isEmpty()) {
+            treesByVenue.remove(key);
+        }
+    }
+
+    private VenueIntervalTree.Slot toSlot(MatchRepository.MatchSlotView view) {
+        return toSlot(view.getMatchId(), view.getTournamentId(), view.getSportId(), view.getVenue(), view.getScheduledTime());
+    }
+
+    private VenueIntervalTree.Slot toSlot(Long matchId, Long tournamentId, Long sportId, String venue, LocalDateTime start) {
+        return new VenueIntervalTree.Slot(matchId, tournamentId, venue.trim(), start,
+                start.plus(slotLength(sportId)));
+    }
+
+    private Duration slotLength(Long sportId) {
+        int minutes = sportId == null ? 0 : durationBySport.computeIfAbsent(sportId, id -> sportRepository.findById(id)
+                .map(Sport::getMatchDurationMinutes)
+                .orElse(0));
+        if (minutes <= 0) {
+            minutes = defaultMatchDurationMinutes;
+        }
+        Duration length = Duration.ofMinutes(minutes);
+        return length.compareTo(MAX_SLOT_LENGTH) > 0 ? MAX_SLOT_LENGTH : length;
+    }
+
+    private static String venueKey(String venue) {
+        return venue.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private List<ScheduleConflictDTO> toConflicts(VenueIntervalTree.Slot candidate, List<VenueIntervalTree.Slot> overlapping) {
+        return overlapping.stream()
+                .map(other -> toConflict(candidate, other))
+                .collect(Collectors.toList());
+    }
+
+    private static ScheduleConflictDTO toConflict(VenueIntervalTree.Slot slot, VenueIntervalTree.Slot other) {
+        return new ScheduleConflictDTO(
+                slot.venue(),
+                slot.matchId(),
+                slot.start(),
+                slot.end(),
+                other.matchId(),
+                other.start(),
+                other.end()
+        );
+    }
+}
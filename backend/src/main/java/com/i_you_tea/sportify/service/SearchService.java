@@ -0,0 +1,207 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.dto.SearchResultDTO;
+import com.i_you_tea.sportify.repository.AnnouncementRepository;
+import com.i_you_tea.sportify.repository.TeamRepository;
+import com.i_you_tea.sportify.repository.TournamentRepository;
+import com.i_you_tea.sportify.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead search over team names, tournament names, usernames and display names, and
+ * announcement titles and content, served from in-memory trigram indexes instead of
+ * leading-wildcard ILIKE scans. Indexes are rebuilt in parallel at startup and kept current by
+ * the services that write those entities; updates are applied after the surrounding
+ * transaction commits. Dummy teams are not indexed.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    public enum SearchType {
+        TEAM, TOURNAMENT, USER, ANNOUNCEMENT
+    }
+
+    private static final int MAX_LIMIT = 50;
+    private static final int SNIPPET_LENGTH = 120;
+    // Names rank above secondary text such as sport names or announcement bodies
+    private static final int PRIMARY_WEIGHT = 3;
+    private static final int SECONDARY_WEIGHT = 1;
+
+    private final TeamRepository teamRepository;
+    private final TournamentRepository tournamentRepository;
+    private final UserRepository userRepository;
+    private final AnnouncementRepository announcementRepository;
+
+    private final Map<SearchType, TrigramIndex> indexes = createIndexes();
+
+    private static Map<SearchType, TrigramIndex> createIndexes() {
+        Map<SearchType, TrigramIndex> indexes = new EnumMap<>(SearchType.class);
+        for (SearchType type : SearchType.values()) {
+            indexes.put(type, new TrigramIndex());
+        }
+        return indexes;
+    }
+
+    /**
+     * Ranked hits per requested type, at most limit per type.
+     */
+    public Map<SearchType, List<SearchResultDTO>> search(String query, Set<SearchType> types, int limit) {
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Map<SearchType, List<SearchResultDTO>> results = new EnumMap<>(SearchType.class);
+        for (SearchType type : types) {
+            results.put(type, search(type, query, cappedLimit));
+        }
+        return results;
+    }
+
+    public List<SearchResultDTO> search(SearchType type, String query, int limit) {
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return indexes.get(type).search(query, cappedLimit).stream()
+                .map(hit -> new SearchResultDTO(type.name(), hit.entry().id(), hit.entry().title(),
+                        hit.entry().subtitle(), hit.score()))
+                .collect(Collectors.toList());
+    }
+
+    public static SearchType parseType(String value) {
+        try {
+            return SearchType.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown search type: " + value);
+        }
+    }
+
+    // Incremental maintenance, called by the owning services
+
+    public void teamChanged(Long teamId) {
+        AfterCommit.run(() -> teamRepository.findSearchViewById(teamId).ifPresentOrElse(
+                view -> indexes.get(SearchType.TEAM).upsert(teamEntry(view)),
+                () -> indexes.get(SearchType.TEAM).remove(teamId)));
+    }
+
+    public void teamRemoved(Long teamId) {
+        AfterCommit.run(() -> indexes.get(SearchType.TEAM).remove(teamId));
+    }
+
+    public void tournamentChanged(Long tournamentId) {
+        AfterCommit.run(() -> tournamentRepository.findSearchViewById(tournamentId).ifPresentOrElse(
+                view -> indexes.get(SearchType.TOURNAMENT).upsert(tournamentEntry(view)),
+                () -> indexes.get(SearchType.TOURNAMENT).remove(tournamentId)));
+    }
+
+    public void tournamentRemoved(Long tournamentId) {
+        AfterCommit.run(() -> indexes.get(SearchType.TOURNAMENT).remove(tournamentId));
+    }
+
+    public void userChanged(Long userId) {
+        AfterCommit.run(() -> userRepository.findSearchViewById(userId).ifPresentOrElse(
+                view -> indexes.get(SearchType.USER).upsert(userEntry(view)),
+                () -> indexes.get(SearchType.USER).remove(userId)));
+    }
+
+    public void announcementChanged(Long announcementId) {
+        AfterCommit.run(() -> announcementRepository.findSearchViewById(announcementId).ifPresentOrElse(
+                view -> indexes.get(SearchType.ANNOUNCEMENT).upsert(announcementEntry(view)),
+                () -> indexes.get(SearchType.ANNOUNCEMENT).remove(announcementId)));
+    }
+
+    /**
+     * Sport names are shown as subtitles of teams and tournaments.
+     */
+    public void sportChanged(Long sportId) {
+        AfterCommit.run(() -> {
+            teamRepository.findSearchViewsBySportId(sportId)
+                    .forEach(view -> indexes.get(SearchType.TEAM).upsert(teamEntry(view)));
+            tournamentRepository.findSearchViewsBySportId(sportId)
+                    .forEach(view -> indexes.get(SearchType.TOURNAMENT).upsert(tournamentEntry(view)));
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture.allOf(
+                    rebuildAsync(executor, SearchType.TEAM,
+                            () -> map(teamRepository.findSearchViews(), SearchService::teamEntry)),
+                    rebuildAsync(executor, SearchType.TOURNAMENT,
+                            () -> map(tournamentRepository.findSearchViews(), SearchService::tournamentEntry)),
+                    rebuildAsync(executor, SearchType.USER,
+                            () -> map(userRepository.findSearchViews(), SearchService::userEntry)),
+                    rebuildAsync(executor, SearchType.ANNOUNCEMENT,
+                            () -> map(announcementRepository.findSearchViews(), SearchService::announcementEntry))
+            ).join();
+        }
+        System.out.println("[SearchService] Search indexes rebuilt in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms: " + sizes());
+    }
+
+    public Map<SearchType, Integer> sizes() {
+        Map<SearchType, Integer> sizes = new EnumMap<>(SearchType.class);
+        indexes.forEach((type, index) -> sizes.put(type, index.size()));
+        return sizes;
+    }
+
+    private CompletableFuture<Void> rebuildAsync(ExecutorService executor, SearchType type,
+                                                 Supplier<Collection<TrigramIndex.Entry>> loader) {
+        TrigramIndex index = indexes.get(type);
+        index.beginRebuild();
+        return CompletableFuture.runAsync(() -> index.finishRebuild(loader.get()), executor);
+    }
+
+    private static <T> List<TrigramIndex.Entry> map(List<T> views, Function<T, TrigramIndex.Entry> mapper) {
+        List<TrigramIndex.Entry> entries = new ArrayList<>(views.size());
+        for (T view : views) {
+            entries.add(mapper.apply(view));
+        }
+        return entries;
+    }
+
+    private static TrigramIndex.Entry teamEntry(TeamRepository.TeamSearchView view) {
+        return new TrigramIndex.Entry(view.getTeamId(), view.getTeamName(), view.getSportName(), List.of(
+                new TrigramIndex.Field(view.getTeamName(), PRIMARY_WEIGHT),
+                new TrigramIndex.Field(view.getSportName(), SECONDARY_WEIGHT)));
+    }
+
+    private static TrigramIndex.Entry tournamentEntry(TournamentRepository.TournamentSearchView view) {
+        return new TrigramIndex.Entry(view.getTournamentId(), view.getName(), view.getSportName(), List.of(
+                new TrigramIndex.Field(view.getName(), PRIMARY_WEIGHT),
+                new TrigramIndex.Field(view.getSportName(), SECONDARY_WEIGHT)));
+    }
+
+    private static TrigramIndex.Entry userEntry(UserRepository.UserSearchView view) {
+        String subtitle = view.getUserName() != null ? "@" + view.getUserName() : null;
+        if (view.getRole() != null) {
+            subtitle = subtitle != null ? subtitle + " · " + view.getRole().name() : view.getRole().name();
+        }
+        return new TrigramIndex.Entry(view.getUserId(), view.getName(), subtitle, List.of(
+                new TrigramIndex.Field(view.getUserName(), PRIMARY_WEIGHT),
+                new TrigramIndex.Field(view.getName(), PRIMARY_WEIGHT)));
+    }
+
+    private static TrigramIndex.Entry announcementEntry(AnnouncementRepository.AnnouncementSearchView view) {
+        String content = view.getContent();
+        String snippet = content != null && content.length() > SNIPPET_LENGTH
+                ? content.substring(0, SNIPPET_LENGTH) + "…"
+                : content;
+        return new TrigramIndex.Entry(view.getAnnouncementId(), view.getTitle(), snippet, List.of(
+                new TrigramIndex.Field(view.getTitle(), PRIMARY_WEIGHT),
+                new TrigramIndex.Field(content, SECONDARY_WEIGHT)));
+    }
+}
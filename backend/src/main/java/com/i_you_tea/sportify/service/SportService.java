@@ -6,6 +6,7 @@ import com.i_you_tea.sportify.repository.SportRepository;
 import com.i_you_tea.sportify.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,11 +16,18 @@ import java.util.Optional;
 public class SportService {
     private final SportRepository sportRepository;
     private final UserRepository userRepository;
+    private final ScheduleConflictService scheduleConflictService;
+    private final MembershipReadModelService membershipReadModelService;
+    private final SearchService searchService;
+    private final PlayerCareerStatsService playerCareerStatsService;
+    private final ReferenceDataService referenceDataService;
 
+    @Transactional(readOnly = true)
     public List<Sport> getAllSports() {
         return sportRepository.findAll();
     }
 
+    @Transactional
     public Sport createSport(Sport sport) {
         // If a captain is assigned, validate that the user exists and has CAPTAIN role
         if (sport.getCaptain() != null && sport.getCaptain().getUserId() != null) {
@@ -30,13 +38,17 @@ public class SportService {
                 sport.setCaptain(null); // Remove invalid captain assignment
             }
         }
-        return sportRepository.save(sport);
+        Sport saved = sportRepository.save(sport);
+        referenceDataService.sportsChanged();
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public Optional<Sport> getSportById(Long id) {
         return sportRepository.findById(id);
     }
 
+    @Transactional
     public Sport updateSport(Long id, Sport sportUpdate) {
         Optional<Sport> existingSport = sportRepository.findById(id);
         if (existingSport.isPresent()) {
@@ -45,6 +57,7 @@ public class SportService {
             sport.setIsTeamGame(sportUpdate.getIsTeamGame());
             sport.setRules(sportUpdate.getRules());
             sport.setPlayerCount(sportUpdate.getPlayerCount());
+            sport.setMatchDurationMinutes(sportUpdate.getMatchDurationMinutes());
 
             // Handle captain assignment (allow any user)
             if (sportUpdate.getCaptain() != null && sportUpdate.getCaptain().getUserId() != null) {
@@ -70,18 +83,27 @@ public class SportService {
                 sport.setRecentRunnerUp(sportUpdate.getRecentRunnerUp());
             }
 
-            return sportRepository.save(sport);
+            Sport saved = sportRepository.save(sport);
+            scheduleConflictService.evictSportDuration(saved.getSportId());
+            membershipReadModelService.sportChanged(saved.getSportId());
+            searchService.sportChanged(saved.getSportId());
+            playerCareerStatsService.sportChanged(saved.getSportId());
+            referenceDataService.sportsChanged();
+            return saved;
         }
         return null;
     }
 
+    @Transactional(readOnly = true)
     public List<Sport> getSportsByCaptain(Long captainId) {
         return sportRepository.findByCaptainUserId(captainId);
     }
 
+    @Transactional
     public boolean deleteSport(Long id) {
         if (sportRepository.existsById(id)) {
             sportRepository.deleteById(id);
+            referenceDataService.sportsChanged();
             return true;
         }
         return false;
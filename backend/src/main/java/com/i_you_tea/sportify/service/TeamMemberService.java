@@ -1,7 +1,11 @@
 package com.i_you_tea.sportify.service;
 
 import com.i_you_tea.sportify.dto.AddTeamMemberDTO;
+import com.i_you_tea.sportify.dto.BulkAddTeamMembersDTO;
+import com.i_you_tea.sportify.dto.BulkTeamMemberResultDTO;
+import com.i_you_tea.sportify.dto.BulkTeamMemberResultDTO.Outcome;
 import com.i_you_tea.sportify.dto.UpdateTeamMemberStatusDTO;
+import com.i_you_tea.sportify.entity.Notification;
 import com.i_you_tea.sportify.entity.Team;
 import com.i_you_tea.sportify.entity.TeamMember;
 import com.i_you_tea.sportify.entity.User;
@@ -12,16 +16,31 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TeamMemberService {
     
+    private static final int MAX_BULK_SIZE = 100;
+    private static final int MAX_ROLE_LENGTH = 50;
+
     private final TeamMemberRepository teamMemberRepository;
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
+    private final MembershipReadModelService membershipReadModelService;
+    private final InvitationService invitationService;
+    private final NotificationDigestService notificationDigestService;
     
     @Transactional
     public TeamMember addTeamMember(AddTeamMemberDTO addTeamMemberDTO) {
@@ -51,17 +70,20 @@ public class TeamMemberService {
             teamMember.setStatus(TeamMember.TeamMemberStatus.PENDING);
         }
         
-        return teamMemberRepository.save(teamMember);
+        TeamMember saved = teamMemberRepository.save(teamMember);
+        membershipReadModelService.membershipAdded(team.getTeamId(), user.getUserId());
+        invitationService.evictPendingCount(user.getUserId());
+        return saved;
     }
     
     @Transactional
     public TeamMember updateTeamMemberStatus(UpdateTeamMemberStatusDTO updateStatusDTO) {
         // Validate that the team exists
-        teamRepository.findById(updateStatusDTO.getTeamId())
+        Team team = teamRepository.findById(updateStatusDTO.getTeamId())
                 .orElseThrow(() -> new RuntimeException("Team not found with ID: " + updateStatusDTO.getTeamId()));
         
         // Validate that the user exists
-        userRepository.findById(updateStatusDTO.getUserId())
+        User user = userRepository.findById(updateStatusDTO.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + updateStatusDTO.getUserId()));
         
         // Find the team member
@@ -73,10 +95,22 @@ public class TeamMemberService {
         TeamMember teamMember = teamMemberRepository.findById(teamMemberId)
                 .orElseThrow(() -> new RuntimeException("Team member not found"));
         
+        boolean joined = teamMember.getStatus() != TeamMember.TeamMemberStatus.ACCEPTED
+                && updateStatusDTO.getStatus() == TeamMember.TeamMemberStatus.ACCEPTED;
+
         // Update the status
         teamMember.setStatus(updateStatusDTO.getStatus());
         
-        return teamMemberRepository.save(teamMember);
+        TeamMember saved = teamMemberRepository.save(teamMember);
+        membershipReadModelService.membershipStatusChanged(
+                updateStatusDTO.getTeamId(), updateStatusDTO.getUserId(), saved.getStatus());
+        invitationService.evictPendingCount(updateStatusDTO.getUserId());
+        Long ownerId = team.getCreatedBy() != null ? team.getCreatedBy().getUserId() : null;
+        if (joined && ownerId != null && !ownerId.equals(user.getUserId())) {
+            notificationDigestService.submit(ownerId, Notification.Category.MEMBERSHIP,
+                    user.getName() + " joined " + team.getTeamName());
+        }
+        return saved;
     }
     
     @Transactional
@@ -97,8 +131,182 @@ public class TeamMemberService {
         // Create the composite key and delete
         TeamMember.TeamMemberId teamMemberId = new TeamMember.TeamMemberId(teamId, userId);
         teamMemberRepository.deleteById(teamMemberId);
+        membershipReadModelService.membershipRemoved(teamId, userId);
+        invitationService.evictPendingCount(userId);
     }
     
+    /**
+     * Adds many members with one validation query and one INSERT ... ON CONFLICT statement.
+     * Unknown users are reported, not fatal; re-adding an existing member only updates its role.
+     * Status follows addTeamMember: captains are ACCEPTED, everyone else PENDING.
+     */
+    @Transactional
+    public List<BulkTeamMemberResultDTO> addTeamMembers(BulkAddTeamMembersDTO request) {
+        Long teamId = request.getTeamId();
+        checkBatch(teamId, request.getMembers(), "member");
+        for (BulkAddTeamMembersDTO.Member member : request.getMembers()) {
+            if (member == null || member.getUserId() == null) {
+                throw new IllegalArgumentException("User ID is required");
+            }
+            if (member.getRoleInTeam() != null && member.getRoleInTeam().length() > MAX_ROLE_LENGTH) {
+                throw new IllegalArgumentException("Role in team must not exceed " + MAX_ROLE_LENGTH + " characters");
+            }
+        }
+        requireTeam(teamId);
+
+        // First occurrence of each user wins
+        Map<Long, BulkAddTeamMembersDTO.Member> unique = new LinkedHashMap<>();
+        for (BulkAddTeamMembersDTO.Member member : request.getMembers()) {
+            unique.putIfAbsent(member.getUserId(), member);
+        }
+        Map<Long, String> currentStatus = checkMemberships(teamId, unique.keySet());
+
+        List<BulkAddTeamMembersDTO.Member> toUpsert = unique.values().stream()
+                .filter(member -> currentStatus.containsKey(member.getUserId()))
+                .collect(Collectors.toList());
+        Map<Long, TeamMemberRepository.UpsertedMemberView> upserted = new HashMap<>();
+        if (!toUpsert.isEmpty()) {
+            Long[] userIds = new Long[toUpsert.size()];
+            String[] roles = new String[toUpsert.size()];
+            String[] statuses = new String[toUpsert.size()];
+            for (int i = 0; i < toUpsert.size(); i++) {
+                BulkAddTeamMembersDTO.Member member = toUpsert.get(i);
+                userIds[i] = member.getUserId();
+                roles[i] = member.getRoleInTeam();
+                statuses[i] = ("Captain".equalsIgnoreCase(member.getRoleInTeam())
+                        ? TeamMember.TeamMemberStatus.ACCEPTED
+                        : TeamMember.TeamMemberStatus.PENDING).name();
+            }
+            for (TeamMemberRepository.UpsertedMemberView row : teamMemberRepository.upsertMembers(teamId, userIds, roles, statuses)) {
+                upserted.put(row.getUserId(), row);
+            }
+            membershipReadModelService.teamChanged(teamId);
+            invitationService.evictPendingCounts(upserted.keySet());
+        }
+
+        Set<Long> seen = new HashSet<>();
+        List<BulkTeamMemberResultDTO> results = new ArrayList<>(request.getMembers().size());
+        for (BulkAddTeamMembersDTO.Member member : request.getMembers()) {
+            Long userId = member.getUserId();
+            if (!seen.add(userId)) {
+                results.add(new BulkTeamMemberResultDTO(userId, Outcome.DUPLICATE, null));
+            } else if (!upserted.containsKey(userId)) {
+                results.add(new BulkTeamMemberResultDTO(userId, Outcome.USER_NOT_FOUND, null));
+            } else {
+                TeamMemberRepository.UpsertedMemberView row = upserted.get(userId);
+                Outcome outcome = Boolean.TRUE.equals(row.getInserted()) ? Outcome.ADDED : Outcome.UPDATED;
+                results.add(new BulkTeamMemberResultDTO(userId, outcome, row.getStatus()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Removes many members with a single DELETE.
+     */
+    @Transactional
+    public List<BulkTeamMemberResultDTO> removeTeamMembers(Long teamId, List<Long> userIds) {
+        checkUserIds(teamId, userIds);
+        requireTeam(teamId);
+        Set<Long> unique = new LinkedHashSet<>(userIds);
+        Map<Long, String> currentStatus = checkMemberships(teamId, unique);
+        Set<Long> removed = new HashSet<>(teamMemberRepository.deleteMembers(teamId, List.copyOf(unique)));
+        membershipReadModelService.membershipsRemoved(teamId, removed);
+        invitationService.evictPendingCounts(removed);
+
+        return toResults(userIds, userId -> {
+            if (removed.contains(userId)) {
+                return new BulkTeamMemberResultDTO(userId, Outcome.REMOVED, null);
+            }
+            return new BulkTeamMemberResultDTO(userId,
+                    currentStatus.containsKey(userId) ? Outcome.NOT_A_MEMBER : Outcome.USER_NOT_FOUND, null);
+        });
+    }
+
+    /**
+     * Accepts many pending members with a single UPDATE.
+     */
+    @Transactional
+    public List<BulkTeamMemberResultDTO> acceptTeamMembers(Long teamId, List<Long> userIds) {
+        checkUserIds(teamId, userIds);
+        requireTeam(teamId);
+        Set<Long> unique = new LinkedHashSet<>(userIds);
+        Map<Long, String> currentStatus = checkMemberships(teamId, unique);
+        Set<Long> accepted = new HashSet<>(teamMemberRepository.acceptMembers(teamId, List.copyOf(unique)));
+        if (!accepted.isEmpty()) {
+            membershipReadModelService.teamChanged(teamId);
+            invitationService.evictPendingCounts(accepted);
+            teamRepository.findOwnerViews(List.of(teamId)).forEach(team ->
+                    notificationDigestService.submit(accepted, Notification.Category.MEMBERSHIP,
+                            "You are now a member of " + team.getTeamName()));
+        }
+
+        String acceptedStatus = TeamMember.TeamMemberStatus.ACCEPTED.name();
+        return toResults(userIds, userId -> {
+            if (accepted.contains(userId)) {
+                return new BulkTeamMemberResultDTO(userId, Outcome.ACCEPTED, acceptedStatus);
+            }
+            if (!currentStatus.containsKey(userId)) {
+                return new BulkTeamMemberResultDTO(userId, Outcome.USER_NOT_FOUND, null);
+            }
+            String status = currentStatus.get(userId);
+            return status == null
+                    ? new BulkTeamMemberResultDTO(userId, Outcome.NOT_A_MEMBER, null)
+                    : new BulkTeamMemberResultDTO(userId, Outcome.ALREADY_ACCEPTED, status);
+        });
+    }
+
+    private static void checkUserIds(Long teamId, List<Long> userIds) {
+        checkBatch(teamId, userIds, "user ID");
+        if (userIds.contains(null)) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+    }
+
+    /**
+     * Bulk requests name a team and 1 to MAX_BULK_SIZE entries; checked here, the build has no Bean Validation provider.
+     */
+    private static void checkBatch(Long teamId, List<?> entries, String entryName) {
+        if (teamId == null) {
+            throw new IllegalArgumentException("Team ID is required");
+        }
+        if (entries == null || entries.isEmpty()) {
+            throw new IllegalArgumentException("At least one " + entryName + " is required");
+        }
+        if (entries.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " entries per request");
+        }
+    }
+
+    private void requireTeam(Long teamId) {
+        if (!teamRepository.existsById(teamId)) {
+            throw new RuntimeException("Team not found with ID: " + teamId);
+        }
+    }
+
+    /**
+     * Existing users among userIds mapped to their status in the team (null value when not a member).
+     */
+    private Map<Long, String> checkMemberships(Long teamId, Set<Long> userIds) {
+        Map<Long, String> statuses = new HashMap<>();
+        for (TeamMemberRepository.MembershipCheckView row : teamMemberRepository.findMembershipChecks(teamId, List.copyOf(userIds))) {
+            statuses.put(row.getUserId(), row.getStatus());
+        }
+        return statuses;
+    }
+
+    private static List<BulkTeamMemberResultDTO> toResults(List<Long> userIds,
+                                                           Function<Long, BulkTeamMemberResultDTO> resultFor) {
+        Set<Long> seen = new HashSet<>();
+        List<BulkTeamMemberResultDTO> results = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            results.add(seen.add(userId)
+                    ? resultFor.apply(userId)
+                    : new BulkTeamMemberResultDTO(userId, Outcome.DUPLICATE, null));
+        }
+        return results;
+    }
+
     public List<TeamMember> getTeamMembers(Long teamId) {
         Team team = teamRepository.findById(teamId)
                 .orElseThrow(() -> new RuntimeException("Team not found with ID: " + teamId));
@@ -2,6 +2,9 @@ package com.i_you_tea.sportify.service;
 
 import com.i_you_tea.sportify.dto.CreateDummyTeamDTO;
 import com.i_you_tea.sportify.dto.CreateTeamDTO;
+import com.i_you_tea.sportify.dto.TeamDTO;
+import com.i_you_tea.sportify.dto.TeamPageDTO;
+import com.i_you_tea.sportify.entity.Round;
 import com.i_you_tea.sportify.entity.Team;
 import com.i_you_tea.sportify.entity.TeamMember;
 import com.i_you_tea.sportify.entity.Sport;
@@ -13,27 +16,92 @@ import com.i_you_tea.sportify.repository.UserRepository;
 import com.i_you_tea.sportify.repository.SportRepository;
 import com.i_you_tea.sportify.repository.TournamentRepository;
 import com.i_you_tea.sportify.repository.MatchRepository;
+import com.i_you_tea.sportify.repository.RoundRepository;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TeamService {
+    private static final int MAX_TEAM_PAGE_SIZE = 100;
+    // Dummy team names end with the round they stand for, e.g. "Winner Team Match 2 Round 3"
+    private static final Pattern DUMMY_ROUND_SUFFIX = Pattern.compile("Round\\s+(\\d+)\\s*$");
+    // Public sort keys mapped onto aliases of TeamRepository.TEAM_SUMMARY_SELECT
+    private static final Map<String, String> TEAM_SORT_PROPERTIES = Map.of(
+            "teamId", "t.teamId",
+            "teamName", "t.teamName",
+            "sportName", "s.name",
+            "createdByName", "cu.name",
+            "tournamentName", "tr.name",
+            "tournamentStartDate", "tr.startDate"
+    );
+
     private final TeamRepository teamRepository;
     private final TeamMemberRepository teamMemberRepository;
     private final UserRepository userRepository;
     private final SportRepository sportRepository;
     private final TournamentRepository tournamentRepository;
     private final MatchRepository matchRepository;
+    private final RoundRepository roundRepository;
+    private final MembershipReadModelService membershipReadModelService;
+    private final SearchService searchService;
+    private final PlayerCareerStatsService playerCareerStatsService;
+    @Transactional(readOnly = true)
     public List<Team> getAllTeams() {
         return teamRepository.findAll();
     }
+    /**
+     * All teams as DTOs in one statement, ordered by team id
+     */
+    @Transactional(readOnly = true)
+    public List<TeamDTO> getAllTeamSummaries() {
+        return teamRepository.findTeamSummaries(null, null, null, null, Sort.by("t.teamId"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TeamDTO> getTeamSummariesByTournamentId(Long tournamentId) {
+        return teamRepository.findTeamSummaries(null, tournamentId, null, null, Sort.by("t.teamId"));
+    }
+
+    /**
+     * Filtered, sorted page of teams. Null filters are ignored; ties are broken by team id
+     * so pages stay stable.
+     * @throws IllegalArgumentException for an unknown sort key or direction
+     */
+    @Transactional(readOnly = true)
+    public TeamPageDTO getTeamPage(Long sportId, Long tournamentId, Boolean dummy, Long createdById,
+                                   String sortBy, String direction, int page, int size) {
+        String property = TEAM_SORT_PROPERTIES.get(sortBy);
+        if (property == null) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy
+                    + ". Allowed: " + TEAM_SORT_PROPERTIES.keySet());
+        }
+        Sort sort = Sort.by(Sort.Direction.fromString(direction), property);
+        if (!"teamId".equals(sortBy)) {
+            sort = sort.and(Sort.by("t.teamId"));
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_TEAM_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        Slice<TeamDTO> slice = teamRepository.findTeamSummaryPage(
+                sportId, tournamentId, dummy, createdById, PageRequest.of(pageNumber, pageSize, sort));
+        return new TeamPageDTO(slice.getContent(), pageNumber, pageSize, slice.hasNext());
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Team> getTeamById(Long id) {
         return teamRepository.findById(id);
     }
@@ -43,6 +111,7 @@ public class TeamService {
      * @param id The team ID
      * @return Team with populated sport, creator, and tournament details
      */
+    @Transactional(readOnly = true)
     public Optional<Team> getTeamDetailsById(Long id) {
         return teamRepository.findByIdWithDetails(id);
     }
@@ -52,6 +121,7 @@ public class TeamService {
      * @param id The team ID
      * @return Team with all related information
      */
+    @Transactional(readOnly = true)
     public Optional<Team> getCompleteTeamDetailsById(Long id) {
         Optional<Team> teamOptional = teamRepository.findByIdWithDetails(id);
         if (teamOptional.isPresent()) {
@@ -62,12 +132,14 @@ public class TeamService {
         }
         return Optional.empty();
     }
+    @Transactional(readOnly = true)
     public List<Team> getTeamsByTournamentId(Long tournamentId) {
         return teamRepository.findByTournamentTournamentId(tournamentId);
     }
 
 
 
+    @Transactional(readOnly = true)
     public List<Team> getTeamsByUserId(Long userId) {
         // Find user by ID
         Optional<User> userOptional = userRepository.findById(userId);
@@ -86,6 +158,17 @@ public class TeamService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Team summaries for a user, served from the membership read model in a single indexed lookup
+     */
+    @Transactional(readOnly = true)
+    public List<TeamDTO> getTeamSummariesByUserId(Long userId) {
+        return membershipReadModelService.getMemberships(userId).stream()
+                .map(TeamDTO::fromMembership)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
     public Team createTeam(CreateTeamDTO createTeamDTO) {
         // Validate that the sport exists
         Sport sport = sportRepository.findById(createTeamDTO.getSportId())
@@ -111,17 +194,23 @@ public class TeamService {
         team.setLogo(createTeamDTO.getLogo());
         
         // Save and return the team
-        return teamRepository.save(team);
+        Team saved = teamRepository.save(team);
+        searchService.teamChanged(saved.getTeamId());
+        return saved;
     }
 
+    @Transactional
     public boolean deleteTeam(Long id) {
         if (teamRepository.existsById(id)) {
             teamRepository.deleteById(id);
+            membershipReadModelService.teamDeleted(id);
+            searchService.teamRemoved(id);
             return true;
         }
         return false;
     }
 
+    @Transactional
     public Team createDummyTeam(@Valid CreateDummyTeamDTO createDummyTeamDTO) {
         Team dummyTeam = new Team();
         dummyTeam.setTeamName(createDummyTeamDTO.getTeamName());
@@ -142,36 +231,69 @@ public class TeamService {
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + createDummyTeamDTO.getCreatedById()));
         dummyTeam.setCreatedBy(createdBy);
 
+        Integer roundValue = createDummyTeamDTO.getRoundValue() != null
+                ? createDummyTeamDTO.getRoundValue()
+                : parseRoundValue(createDummyTeamDTO.getTeamName());
+        if (roundValue == null) {
+            throw new IllegalArgumentException("Round value is required for dummy team: " + createDummyTeamDTO.getTeamName());
+        }
+        Round sourceRound = roundRepository.findByRoundValueAndTournament_TournamentId(roundValue, tournament.getTournamentId())
+                .orElseThrow(() -> new IllegalArgumentException("Round " + roundValue + " not found for tournament: " + tournament.getTournamentId()));
+        dummyTeam.setSourceRound(sourceRound);
+
         return teamRepository.save(dummyTeam);
     }
 
+    private static Integer parseRoundValue(String teamName) {
+        Matcher matcher = DUMMY_ROUND_SUFFIX.matcher(teamName);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+
     @Transactional
     public void deleteDummyTeamsByRoundId(Long roundId) {
         teamRepository.deleteDummyTeamsByRoundId(roundId);
     }
 
+    /**
+     * Removes the placeholder teams standing for winners of a round in one statement
+     * @return number of deleted teams
+     */
+    @Transactional
+    public int deleteDummyTeamsBySourceRoundId(Long roundId) {
+        int deleted = teamRepository.deleteDummyTeamsBySourceRoundId(roundId);
+        System.out.println("[TeamService] Deleted " + deleted + " dummy teams for source round " + roundId);
+        return deleted;
+    }
+
     @Transactional
     public void deleteDummyTeamsByTournamentIdAndRoundValue(Long tournamentId, int roundValue) {
         System.out.println("[TeamService] Deleting matches for tournament " + tournamentId + ", round " + roundValue);
+        Optional<Round> round = roundRepository.findByRoundValueAndTournament_TournamentId(roundValue, tournamentId);
+        Map<Long, Set<Long>> players = round
+                .map(r -> playerCareerStatsService.playersOfRound(r.getRoundId()))
+                .orElse(Map.of());
         // First, delete all matches for this tournament and round
         matchRepository.deleteByTournamentIdAndRoundValue(tournamentId, roundValue);
+        playerCareerStatsService.playersChanged(players);
         
         System.out.println("[TeamService] Deleting dummy teams for tournament " + tournamentId + ", round " + roundValue);
         // Then delete the dummy teams
-        String roundPattern = "Round " + roundValue;
-        teamRepository.deleteDummyTeamsByTournamentIdAndRoundValue(tournamentId, roundPattern);
+        round.ifPresent(r -> teamRepository.deleteDummyTeamsBySourceRoundId(r.getRoundId()));
         
         System.out.println("[TeamService] Deletion completed for tournament " + tournamentId + ", round " + roundValue);
     }
 
+    @Transactional(readOnly = true)
     public List<Team> getDummyTeamsByTournamentIdAndRoundValue(Long tournamentId, int roundValue) {
         System.out.println("[TeamService] Fetching dummy teams for tournament " + tournamentId + ", round " + roundValue);
-        String roundPattern = "Round " + roundValue;
-        List<Team> dummyTeams = teamRepository.findDummyTeamsByTournamentIdAndRoundValue(tournamentId, roundPattern);
+        List<Team> dummyTeams = roundRepository.findByRoundValueAndTournament_TournamentId(roundValue, tournamentId)
+                .map(round -> teamRepository.findDummyTeamsBySourceRoundId(round.getRoundId()))
+                .orElse(List.of());
         System.out.println("[TeamService] Found " + dummyTeams.size() + " dummy teams for tournament " + tournamentId + ", round " + roundValue);
         return dummyTeams;
     }
 
+    @Transactional(readOnly = true)
     public List<Team> getAllDummyTeamsByTournamentId(Long tournamentId) {
         System.out.println("[TeamService] Fetching all dummy teams for tournament " + tournamentId);
         List<Team> dummyTeams = teamRepository.findAllDummyTeamsByTournamentId(tournamentId);
@@ -0,0 +1,187 @@
+package com.i_you_tea.sportify.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel for large numbers of coarse timers. A timer lands in the bucket of its
+ * deadline tick, modulo the wheel size, with the number of full turns still to wait; one worker
+ * thread advances a tick at a time and only touches that tick's bucket, so scheduling and
+ * cancelling are O(1) however many timers are pending. Deadlines are rounded up to the next tick.
+ * Expired tasks run on the given executor, never on the worker.
+ * Thread-safe: schedule() and cancel() may be called from any thread.
+ */
+class TimingWheel {
+
+    /**
+     * Handle of a scheduled task.
+     */
+    interface Timeout {
+        /**
+         * @return false when the task already ran or was cancelled before
+         */
+        boolean cancel();
+
+        boolean isExpired();
+    }
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    // Bounds the work of one tick when timers are scheduled faster than they are moved into buckets
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final class Entry implements Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+
+        private Entry(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            // Left in its bucket and dropped when the wheel next passes it
+            pending.decrementAndGet();
+            return true;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    private final String name;
+    private final long tickNanos;
+    private final int mask;
+    private final Executor executor;
+    private final List<List<Entry>> buckets;
+    private final Queue<Entry> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startTime = System.nanoTime();
+    private final Thread worker;
+
+    /**
+     * @param wheelSize number of buckets, rounded up to a power of two; one turn of the wheel
+     *                  (tick × wheelSize) should cover the common delays
+     */
+    TimingWheel(String name, Duration tick, int wheelSize, Executor executor) {
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("tick must be positive: " + tick);
+        }
+        if (wheelSize < 1 || wheelSize > 1 << 20) {
+            throw new IllegalArgumentException("wheelSize must be between 1 and 2^20: " + wheelSize);
+        }
+        int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.name = name;
+        this.tickNanos = tick.toNanos();
+        this.mask = size - 1;
+        this.executor = executor;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.worker = Thread.ofVirtual().name(name).start(this::run);
+    }
+
+    /**
+     * Runs the task once the delay has passed, at the latest one tick after it.
+     */
+    Timeout schedule(Runnable task, Duration delay) {
+        long delayNanos = Math.max(0, delay.toNanos());
+        // Saturate instead of overflowing for effectively infinite delays
+        long deadline = System.nanoTime() - startTime + delayNanos;
+        Entry entry = new Entry(task, deadline < 0 ? Long.MAX_VALUE : deadline);
+        pending.incrementAndGet();
+        incoming.add(entry);
+        return entry;
+    }
+
+    /**
+     * Timers scheduled and neither expired nor cancelled.
+     */
+    int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the worker; timers that have not expired yet never run.
+     */
+    void stop() {
+        worker.interrupt();
+    }
+
+    private void run() {
+        long tick = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long sleepNanos = startTime + (tick + 1) * tickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            tick++;
+            transferIncoming(tick);
+            expire(buckets.get((int) (tick & mask)));
+        }
+        System.out.println("[TimingWheel] " + name + " stopped with " + pending.get() + " pending timers");
+    }
+
+    private void transferIncoming(long tick) {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Entry entry = incoming.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.state.get() != PENDING) {
+                continue;
+            }
+            long deadlineTick = Math.ceilDiv(entry.deadline, tickNanos);
+            // Already due: expire with the current tick rather than a full turn later
+            long targetTick = Math.max(deadlineTick, tick);
+            entry.remainingRounds = (targetTick - tick) / buckets.size();
+            buckets.get((int) (targetTick & mask)).add(entry);
+        }
+    }
+
+    /**
+     * Runs the due entries of the bucket and compacts the rest in place.
+     */
+    private void expire(List<Entry> bucket) {
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            Entry entry = bucket.get(i);
+            if (entry.state.get() == CANCELLED) {
+                continue;
+            }
+            if (entry.remainingRounds > 0) {
+                entry.remainingRounds--;
+                bucket.set(kept++, entry);
+            } else if (entry.state.compareAndSet(PENDING, EXPIRED)) {
+                pending.decrementAndGet();
+                try {
+                    executor.execute(entry.task);
+                } catch (RuntimeException e) {
+                    System.err.println("[TimingWheel] " + name + " could not run task: " + e.getMessage());
+                }
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+}
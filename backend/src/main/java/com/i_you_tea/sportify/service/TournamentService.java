@@ -12,6 +12,8 @@ import com.i_you_tea.sportify.repository.TeamRepository;
 import com.i_you_tea.sportify.repository.SportRepository;
 import com.i_you_tea.sportify.dto.FixtureDTO;
 import com.i_you_tea.sportify.dto.MatchDTO;
+import com.i_you_tea.sportify.dto.TournamentDTO;
+import com.i_you_tea.sportify.dto.UserMembershipsDTO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -27,6 +29,11 @@ public class TournamentService {
     private final SportRepository sportRepository;
     private final RoundRepository roundRepository;
     private final MatchRepository matchRepository;
+    private final MembershipReadModelService membershipReadModelService;
+    private final SearchService searchService;
+    private final HallOfFameLeaderboardService hallOfFameLeaderboardService;
+    private final PlayerCareerStatsService playerCareerStatsService;
+    private final ReferenceDataService referenceDataService;
 
     
     public List<Tournament> getAllTournaments() {
@@ -34,7 +41,9 @@ public class TournamentService {
     }
 
     public Tournament createTournament(Tournament tournament) {
-        return tournamentRepository.save(tournament);
+        Tournament saved = tournamentRepository.save(tournament);
+        searchService.tournamentChanged(saved.getTournamentId());
+        return saved;
     }
     
     public Optional<Tournament> getTournamentById(Long id) {
@@ -45,6 +54,8 @@ public class TournamentService {
         Optional<Tournament> existingTournament = tournamentRepository.findById(id);
         if (existingTournament.isPresent()) {
             Tournament tournament = existingTournament.get();
+            Long previousChampionId = tournament.getChampion() != null ? tournament.getChampion().getTeamId() : null;
+            Long previousRunnerUpId = tournament.getRunnerUp() != null ? tournament.getRunnerUp().getTeamId() : null;
             tournament.setName(tournamentUpdate.getName());
             tournament.setStartDate(tournamentUpdate.getStartDate());
             tournament.setEndDate(tournamentUpdate.getEndDate());
@@ -73,6 +84,20 @@ public class TournamentService {
             }
             
             Tournament savedTournament = tournamentRepository.save(tournament);
+            membershipReadModelService.tournamentChanged(savedTournament.getTournamentId());
+            searchService.tournamentChanged(savedTournament.getTournamentId());
+
+            Long championId = savedTournament.getChampion() != null ? savedTournament.getChampion().getTeamId() : null;
+            Long runnerUpId = savedTournament.getRunnerUp() != null ? savedTournament.getRunnerUp().getTeamId() : null;
+            if ((!Objects.equals(previousChampionId, championId) || !Objects.equals(previousRunnerUpId, runnerUpId))
+                    && savedTournament.getSport() != null) {
+                hallOfFameLeaderboardService.teamResultsChanged(savedTournament.getSport().getSportId(),
+                        Arrays.asList(previousChampionId, previousRunnerUpId, championId, runnerUpId));
+            }
+            if (!Objects.equals(previousChampionId, championId) && savedTournament.getSport() != null) {
+                playerCareerStatsService.teamsChanged(savedTournament.getSport().getSportId(),
+                        Arrays.asList(previousChampionId, championId));
+            }
             
             // Update sport's recent results if championship info changed
             if (savedTournament.getChampion() != null && savedTournament.getSport() != null) {
@@ -92,7 +117,10 @@ public class TournamentService {
     
     public boolean deleteTournament(Long id) {
         if (tournamentRepository.existsById(id)) {
+            Map<Long, Set<Long>> players = playerCareerStatsService.playersOfTournament(id);
             tournamentRepository.deleteById(id);
+            playerCareerStatsService.playersChanged(players);
+            searchService.tournamentRemoved(id);
             return true;
         }
         return false;
@@ -102,6 +130,13 @@ public class TournamentService {
         return tournamentRepository.findTournamentsByUserId(userId);
     }
     
+    /**
+     * Distinct tournaments the user's teams play in, served from the membership read model
+     */
+    public List<TournamentDTO> getTournamentSummariesByUserId(Long userId) {
+        return UserMembershipsDTO.tournamentsOf(membershipReadModelService.getMemberships(userId));
+    }
+    
     private void updateSportRecentResults(Tournament tournament) {
         Optional<Sport> sportOpt = sportRepository.findById(tournament.getSport().getSportId());
         if (sportOpt.isPresent()) {
@@ -109,6 +144,7 @@ public class TournamentService {
             sport.setRecentChampion(tournament.getChampion());
             sport.setRecentRunnerUp(tournament.getRunnerUp());
             sportRepository.save(sport);
+            referenceDataService.sportsChanged();
         }
     }
 
@@ -162,6 +198,7 @@ public class TournamentService {
         // Mark tournament as having generated fixture
         tournament.setFixtureGenerated(true);
         tournamentRepository.save(tournament);
+        membershipReadModelService.tournamentChanged(tournament.getTournamentId());
         
         return fixture;
     }
@@ -215,6 +252,7 @@ public class TournamentService {
         // Mark tournament as having generated fixture
         tournament.setFixtureGenerated(true);
         tournamentRepository.save(tournament);
+        membershipReadModelService.tournamentChanged(tournament.getTournamentId());
         
         return fixture;
     }
@@ -354,7 +392,9 @@ public class TournamentService {
         List<Match> existingMatches = matchRepository.findByRound_RoundId(roundId);
         if (!existingMatches.isEmpty()) {
             System.out.println("Deleting " + existingMatches.size() + " existing matches for round " + roundId);
+            Map<Long, Set<Long>> players = playerCareerStatsService.playersOfRound(roundId);
             matchRepository.deleteByRound_RoundId(roundId);
+            playerCareerStatsService.playersChanged(players);
         }
         
         // Set the selected type
@@ -638,6 +678,14 @@ public class TournamentService {
         // Sort rounds by round value descending (highest round first)
         rounds.sort((r1, r2) -> r2.getRoundValue().compareTo(r1.getRoundValue()));
 
+        // All saved matches of the tournament with their teams in one query, grouped by round
+        Map<Long, List<Match>> matchesByRound = new HashMap<>();
+        for (Match match : matchRepository.findWithDetailsByTournamentId(tournamentId)) {
+            if (match.getRound() != null) {
+                matchesByRound.computeIfAbsent(match.getRound().getRoundId(), id -> new ArrayList<>()).add(match);
+            }
+        }
+
         List<FixtureDTO.RoundFixtureDTO> roundFixtures = new ArrayList<>();
 
         for (Round round : rounds) {
@@ -647,8 +695,8 @@ public class TournamentService {
             roundFixture.setRoundName(Round.calculateRoundName(round.getRoundValue()));
             roundFixture.setType(round.getType());
 
-            // Fetch actual saved matches for this round (ordered by matchId for consistency)
-            List<Match> matches = matchRepository.findByRound_RoundId(round.getRoundId());
+            // Actual saved matches of this round (ordered by matchId for consistency)
+            List<Match> matches = matchesByRound.getOrDefault(round.getRoundId(), new ArrayList<>());
             // Sort matches by matchId to ensure consistent ordering
             matches.sort((m1, m2) -> m1.getMatchId().compareTo(m2.getMatchId()));
             List<MatchDTO> matchDTOs = new ArrayList<>();
@@ -0,0 +1,291 @@
+package com.i_you_tea.sportify.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over the searchable fields of one entity type.
+ * Every word is indexed with two leading blanks, so one and two character query words hit
+ * word-prefix trigrams, while longer ones intersect the posting lists of all their trigrams.
+ * Candidates are then verified and ranked against the normalized field text.
+ * Thread-safe: readers share a lock, writers are exclusive.
+ */
+class TrigramIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * A searchable text with its ranking weight (higher ranks first).
+     */
+    record Field(String text, int weight) {
+    }
+
+    record Entry(Long id, String title, String subtitle, List<Field> fields) {
+    }
+
+    record Hit(Entry entry, int score) {
+    }
+
+    private record Indexed(Entry entry, List<Field> normalized, Set<String> trigrams) {
+    }
+
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingInt(Hit::score).reversed()
+            .thenComparingInt(hit -> hit.entry().title() != null ? hit.entry().title().length() : 0)
+            .thenComparing(hit -> hit.entry().id());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Indexed> entries = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    // Ids written since beginRebuild(); their live state wins over the rebuilt snapshot
+    private Set<Long> touchedDuringRebuild;
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void upsert(Entry entry) {
+        Indexed indexed = index(entry);
+        lock.writeLock().lock();
+        try {
+            removeLocked(entry.id());
+            addLocked(indexed);
+            if (touchedDuringRebuild != null) {
+                touchedDuringRebuild.add(entry.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (touchedDuringRebuild != null) {
+                touchedDuringRebuild.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts recording incremental writes so a rebuild loaded concurrently cannot overwrite them.
+     */
+    void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents with the loaded snapshot, keeping entries written since beginRebuild().
+     */
+    void finishRebuild(Collection<Entry> snapshot) {
+        List<Indexed> prepared = new ArrayList<>(snapshot.size());
+        for (Entry entry : snapshot) {
+            prepared.add(index(entry));
+        }
+        lock.writeLock().lock();
+        try {
+            Set<Long> touched = touchedDuringRebuild != null ? touchedDuringRebuild : Set.of();
+            Map<Long, Indexed> live = new HashMap<>();
+            for (Long id : touched) {
+                Indexed current = entries.get(id);
+                if (current != null) {
+                    live.put(id, current);
+                }
+            }
+            entries.clear();
+            postings.clear();
+            for (Indexed indexed : prepared) {
+                if (!touched.contains(indexed.entry().id())) {
+                    addLocked(indexed);
+                }
+            }
+            live.values().forEach(this::addLocked);
+            touchedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked matches for a typeahead query; every query word must prefix-match or occur in some field.
+     */
+    List<Hit> search(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> queryTrigrams = new LinkedHashSet<>();
+        for (String word : words) {
+            queryTrigrams.addAll(searchTrigrams(word));
+        }
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(RANKING.reversed());
+        lock.readLock().lock();
+        try {
+            List<Set<Long>> lists = new ArrayList<>(queryTrigrams.size());
+            for (String trigram : queryTrigrams) {
+                Set<Long> ids = postings.get(trigram);
+                if (ids == null) {
+                    return List.of();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            // Walk the rarest posting list and probe the others
+            for (Long id : lists.get(0)) {
+                boolean inAll = true;
+                for (int i = 1; i < lists.size() && inAll; i++) {
+                    inAll = lists.get(i).contains(id);
+                }
+                if (!inAll) {
+                    continue;
+                }
+                Indexed indexed = entries.get(id);
+                int score = score(indexed.normalized(), words);
+                if (score > 0) {
+                    best.offer(new Hit(indexed.entry(), score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    private static int score(List<Field> fields, List<String> words) {
+        String phrase = String.join(" ", words);
+        int total = 0;
+        for (String word : words) {
+            String wordStart = " " + word;
+            int wordScore = 0;
+            for (Field field : fields) {
+                String text = field.text();
+                int match;
+                if (text.equals(phrase)) {
+                    match = 100;
+                } else if (text.startsWith(word)) {
+                    match = 60;
+                } else if (text.contains(wordStart)) {
+                    match = 40;
+                } else if (text.contains(word)) {
+                    match = 20;
+                } else {
+                    continue;
+                }
+                wordScore = Math.max(wordScore, match * field.weight());
+            }
+            if (wordScore == 0) {
+                // Trigram false positive: the word is not actually present
+                return 0;
+            }
+            total += wordScore;
+        }
+        return total;
+    }
+
+    private void addLocked(Indexed indexed) {
+        entries.put(indexed.entry().id(), indexed);
+        for (String trigram : indexed.trigrams()) {
+            postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(indexed.entry().id());
+        }
+    }
+
+    private void removeLocked(Long id) {
+        Indexed previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String trigram : previous.trigrams()) {
+            Set<Long> ids = postings.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static Indexed index(Entry entry) {
+        List<Field> normalized = new ArrayList<>(entry.fields().size());
+        Set<String> trigrams = new HashSet<>();
+        for (Field field : entry.fields()) {
+            List<String> words = words(field.text());
+            if (words.isEmpty()) {
+                continue;
+            }
+            normalized.add(new Field(String.join(" ", words), field.weight()));
+            for (String word : words) {
+                trigrams.addAll(indexTrigrams(word));
+            }
+        }
+        return new Indexed(entry, normalized, trigrams);
+    }
+
+    /**
+     * Trigrams of "  word": every trigram of the word plus its two word-start trigrams.
+     */
+    private static List<String> indexTrigrams(String word) {
+        return trigrams("  " + word);
+    }
+
+    /**
+     * Words of three or more characters match anywhere inside a word; shorter ones only as a word prefix.
+     */
+    private static List<String> searchTrigrams(String word) {
+        return word.length() >= 3 ? trigrams(word) : trigrams("  " + word).subList(word.length() - 1, word.length());
+    }
+
+    private static List<String> trigrams(String text) {
+        List<String> trigrams = new ArrayList<>(Math.max(0, text.length() - 2));
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        String cleaned = NON_ALPHANUMERIC.matcher(folded.toLowerCase()).replaceAll(" ").trim();
+        if (cleaned.isEmpty()) {
+            return List.of();
+        }
+        return List.of(cleaned.split(" "));
+    }
+}
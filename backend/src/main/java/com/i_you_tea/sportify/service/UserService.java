@@ -1,26 +1,83 @@
 package com.i_you_tea.sportify.service;
 
 import com.i_you_tea.sportify.Config.JWTService;
+import com.i_you_tea.sportify.dto.UserDTO;
+import com.i_you_tea.sportify.dto.UserDirectoryItemDTO;
+import com.i_you_tea.sportify.dto.UserDirectoryPageDTO;
 import com.i_you_tea.sportify.entity.User;
 import com.i_you_tea.sportify.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
+    private static final int MAX_DIRECTORY_PAGE_SIZE = 200;
+    // Exclusive upper bound of the directory without a name prefix: the highest code point
+    private static final String NAMES_END = Character.toString(Character.MAX_CODE_POINT);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JWTService jwtService;
+    private final MembershipReadModelService membershipReadModelService;
+    private final SearchService searchService;
+    private final ReferenceDataService referenceDataService;
 
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    /**
+     * One page of the user directory, optionally for one role and names starting with a prefix
+     * (case-insensitive). Without a cursor the first page starts at the prefix.
+     */
+    @Transactional(readOnly = true)
+    public UserDirectoryPageDTO getDirectory(User.UserRole role, String namePrefix,
+                                             String afterName, Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_DIRECTORY_PAGE_SIZE));
+        String prefix = namePrefix != null ? namePrefix.trim().toLowerCase(Locale.ROOT) : "";
+        String upper = prefix.isEmpty() ? NAMES_END : prefixEnd(prefix);
+        String cursorName = prefix;
+        long cursorId = 0L;
+        if (afterName != null && afterId != null && afterName.compareTo(prefix) >= 0) {
+            cursorName = afterName;
+            cursorId = afterId;
+        }
+
+        // Fetch one extra row to know whether another page exists without a count query
+        List<UserRepository.UserDirectoryView> rows = role != null
+                ? userRepository.findDirectoryPageByRole(role.name(), upper, cursorName, cursorId, pageSize + 1)
+                : userRepository.findDirectoryPage(upper, cursorName, cursorId, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<UserRepository.UserDirectoryView> page = hasMore ? rows.subList(0, pageSize) : rows;
+        List<UserDirectoryItemDTO> items = page.stream()
+                .map(row -> new UserDirectoryItemDTO(row.getUserId(), row.getName(), row.getUserName(),
+                        row.getEmail(), User.UserRole.valueOf(row.getRole()),
+                        UserDTO.photoUrl(row.getProfilePhotoKey(), "small")))
+                .toList();
+        if (!hasMore || page.isEmpty()) {
+            return new UserDirectoryPageDTO(items, false, null, null);
+        }
+        UserRepository.UserDirectoryView last = page.get(page.size() - 1);
+        return new UserDirectoryPageDTO(items, true, last.getSortName(), last.getUserId());
+    }
+
+    /**
+     * The smallest string greater than every string starting with the prefix, in code point order
+     */
+    private static String prefixEnd(String prefix) {
+        int last = prefix.codePointBefore(prefix.length());
+        String head = prefix.substring(0, prefix.length() - Character.charCount(last));
+        return last == Character.MAX_CODE_POINT ? head + NAMES_END : head + Character.toString(last + 1);
+    }
+
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -34,7 +91,9 @@ public class UserService {
         if (user.getPassword() != null) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
         }
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        searchService.userChanged(saved.getUserId());
+        return saved;
     }
 
     public boolean existsByEmail(String email) {
@@ -46,7 +105,25 @@ public class UserService {
     }
 
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Creator names are denormalized into the membership read model
+        membershipReadModelService.userChanged(saved.getUserId());
+        searchService.userChanged(saved.getUserId());
+        // Captain names are part of the cached sports list
+        referenceDataService.sportsChanged();
+        return saved;
+    }
+
+    /**
+     * Points the user at a photo in the profile photo store (null removes it). A base64 photo
+     * not migrated yet is dropped, so the migration cannot bring it back.
+     */
+    @Transactional
+    public User updateProfilePhoto(User user, String photoKey) {
+        user.setProfilePhotoKey(photoKey);
+        User saved = userRepository.save(user);
+        userRepository.clearLegacyPhoto(saved.getUserId());
+        return saved;
     }
 
     public Optional<User> findById(Long id) {
@@ -0,0 +1,191 @@
+package com.i_you_tea.sportify.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Interval tree of booked slots for a single venue.
+ * AVL tree ordered by (start, matchId, end, venue), each node augmented with the max end of its subtree,
+ * so insert/remove are O(log n) and an overlap query is O(log n + k).
+ * Not thread-safe; ScheduleConflictService guards access.
+ */
+class VenueIntervalTree {
+
+    /**
+     * A booked slot. Intervals are half-open: [start, end).
+     */
+    record Slot(Long matchId, Long tournamentId, String venue, LocalDateTime start, LocalDateTime end) {
+        boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+            return start.isBefore(otherEnd) && end.isAfter(otherStart);
+        }
+    }
+
+    // A match can hold a committed and a pending slot at once, possibly with the same start
+    private static final Comparator<Slot> ORDER = Comparator
+            .comparing(Slot::start)
+            .thenComparing(Slot::matchId)
+            .thenComparing(Slot::end)
+            .thenComparing(Slot::venue);
+
+    private static final class Node {
+        private Slot slot;
+        private Node left;
+        private Node right;
+        private int height = 1;
+        private LocalDateTime maxEnd;
+
+        private Node(Slot slot) {
+            this.slot = slot;
+            this.maxEnd = slot.end();
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void insert(Slot slot) {
+        root = insert(root, slot);
+        size++;
+    }
+
+    /**
+     * Removes one slot equal to the given one.
+     * @return false if the tree holds no such slot
+     */
+    boolean remove(Slot slot) {
+        int before = size;
+        root = remove(root, slot);
+        return size != before;
+    }
+
+    int height() {
+        return height(root);
+    }
+
+    /**
+     * All slots overlapping [start, end), ordered by start.
+     */
+    List<Slot> overlapping(LocalDateTime start, LocalDateTime end) {
+        List<Slot> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    private void collect(Node node, LocalDateTime start, LocalDateTime end, List<Slot> out) {
+        // Nothing in this subtree ends after the query starts
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return;
+        }
+        collect(node.left, start, end, out);
+        if (node.slot.overlaps(start, end)) {
+            out.add(node.slot);
+        }
+        // Right subtree only holds later starts
+        if (node.slot.start().isBefore(end)) {
+            collect(node.right, start, end, out);
+        }
+    }
+
+    private Node insert(Node node, Slot slot) {
+        if (node == null) {
+            return new Node(slot);
+        }
+        if (ORDER.compare(slot, node.slot) < 0) {
+            node.left = insert(node.left, slot);
+        } else {
+            node.right = insert(node.right, slot);
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, Slot slot) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = ORDER.compare(slot, node.slot);
+        if (cmp < 0) {
+            node.left = remove(node.left, slot);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, slot);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.slot = successor.slot;
+            // Remove the successor from the right subtree without counting it twice
+            size++;
+            node.right = remove(node.right, successor.slot);
+        }
+        return rebalance(node);
+    }
+
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        LocalDateTime maxEnd = node.slot.end();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -0,0 +1,21 @@
+-- Dummy teams reference the round whose winner they stand for instead of encoding it in team_name
+ALTER TABLE teams ADD COLUMN IF NOT EXISTS source_round_id BIGINT;
+
+ALTER TABLE teams DROP CONSTRAINT IF EXISTS fk_teams_source_round;
+ALTER TABLE teams ADD CONSTRAINT fk_teams_source_round
+    FOREIGN KEY (source_round_id) REFERENCES rounds(round_id) ON DELETE SET NULL;
+
+CREATE INDEX IF NOT EXISTS idx_teams_source_round_id ON teams(source_round_id);
+
+-- Candidates for the orphaned dummy team sweeper
+CREATE INDEX IF NOT EXISTS idx_teams_orphaned_dummies ON teams(team_id)
+    WHERE dummy = true AND source_round_id IS NULL;
+
+-- Backfill from the trailing "Round N" of existing dummy team names
+UPDATE teams t
+SET source_round_id = r.round_id
+FROM rounds r
+WHERE t.dummy = true
+  AND t.source_round_id IS NULL
+  AND r.tournament_id = t.tournament_id
+  AND r.round_value = CAST(substring(t.team_name FROM 'Round\s+([0-9]+)\s*$') AS INTEGER);
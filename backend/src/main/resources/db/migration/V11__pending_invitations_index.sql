@@ -0,0 +1,5 @@
+-- Invitation inbox: only PENDING memberships are indexed, keeping the index small
+-- while serving the per-user keyset page (ordered by team_id) and the badge count
+CREATE INDEX IF NOT EXISTS idx_team_members_pending_user
+    ON team_members(user_id, team_id)
+    WHERE status = 'PENDING';
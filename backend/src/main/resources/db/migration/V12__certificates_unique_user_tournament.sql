@@ -0,0 +1,18 @@
+-- One certificate per user and tournament.
+-- Existing duplicates keep the highest position (Champion, Runner-up, then anything else), oldest first.
+DELETE FROM certificates c
+USING (
+    SELECT certificate_id,
+           ROW_NUMBER() OVER (
+               PARTITION BY user_id, tournament_id
+               ORDER BY CASE position WHEN 'Champion' THEN 0 WHEN 'Runner-up' THEN 1 ELSE 2 END,
+                        certificate_id
+           ) AS rank
+    FROM certificates
+) ranked
+WHERE c.certificate_id = ranked.certificate_id
+  AND ranked.rank > 1;
+
+ALTER TABLE certificates DROP CONSTRAINT IF EXISTS uk_certificates_user_tournament;
+ALTER TABLE certificates
+    ADD CONSTRAINT uk_certificates_user_tournament UNIQUE (user_id, tournament_id);
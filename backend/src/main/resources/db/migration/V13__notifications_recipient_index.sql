@@ -0,0 +1,3 @@
+-- Per-recipient notification lookups (history, fan-out dedupe) were full scans
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_sent_at
+    ON notifications(recipient_id, sent_at);
@@ -0,0 +1,4 @@
+-- Unread notifications only: backs the badge count load and the bulk mark-as-read UPDATE
+CREATE INDEX IF NOT EXISTS idx_notifications_unread_recipient
+    ON notifications(recipient_id, notification_id)
+    WHERE is_read = false;
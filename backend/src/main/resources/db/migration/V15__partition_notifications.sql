@@ -0,0 +1,52 @@
+-- Notifications become a table range-partitioned by month on sent_at, so retention drops whole
+-- partitions instead of deleting rows. Partitions are named notifications_pYYYYMM; the
+-- application creates upcoming months ahead of time, and the default partition only catches stragglers.
+-- The primary key must include the partition key, hence (notification_id, sent_at).
+
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+ALTER TABLE notifications_unpartitioned RENAME CONSTRAINT notifications_pkey TO notifications_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_notifications_recipient_sent_at;
+DROP INDEX IF EXISTS idx_notifications_unread_recipient;
+
+CREATE TABLE notifications (
+    notification_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    recipient_id BIGINT NOT NULL,
+    message TEXT NOT NULL,
+    sent_at TIMESTAMP NOT NULL,
+    is_read BOOLEAN NOT NULL DEFAULT false,
+
+    CONSTRAINT notifications_pkey PRIMARY KEY (notification_id, sent_at),
+    CONSTRAINT fk_notifications_recipient FOREIGN KEY (recipient_id) REFERENCES users(user_id)
+) PARTITION BY RANGE (sent_at);
+
+CREATE TABLE IF NOT EXISTS notifications_default PARTITION OF notifications DEFAULT;
+
+-- Monthly partitions from the oldest existing notification through three months ahead
+DO $$
+DECLARE
+    month DATE := date_trunc('month', COALESCE((SELECT MIN(sent_at) FROM notifications_unpartitioned), now()));
+    last_month DATE := date_trunc('month', now()) + INTERVAL '3 months';
+BEGIN
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       'notifications_p' || to_char(month, 'YYYYMM'), month, month + INTERVAL '1 month');
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO notifications (notification_id, recipient_id, message, sent_at, is_read)
+SELECT notification_id, recipient_id, message, sent_at, is_read
+FROM notifications_unpartitioned;
+
+SELECT setval(pg_get_serial_sequence('notifications', 'notification_id'),
+              COALESCE((SELECT MAX(notification_id) FROM notifications), 0) + 1, false);
+
+DROP TABLE notifications_unpartitioned;
+
+-- Cursor pages, history and fan-out dedupe: (recipient_id, sent_at, notification_id)
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_cursor
+    ON notifications(recipient_id, sent_at DESC, notification_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_unread_recipient
+    ON notifications(recipient_id, notification_id)
+    WHERE is_read = false;
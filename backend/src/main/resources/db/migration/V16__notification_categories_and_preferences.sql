@@ -0,0 +1,13 @@
+-- Category of every notification; existing rows become GENERAL.
+-- Adding a column with a constant default is metadata-only and cascades to every partition.
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS category VARCHAR(20) NOT NULL DEFAULT 'GENERAL';
+
+-- Per-user delivery mode per category (IMMEDIATE, DIGEST or OFF); missing rows mean the category default.
+CREATE TABLE IF NOT EXISTS notification_preferences (
+    user_id BIGINT NOT NULL,
+    category VARCHAR(20) NOT NULL,
+    mode VARCHAR(10) NOT NULL,
+
+    CONSTRAINT pk_notification_preferences PRIMARY KEY (user_id, category),
+    CONSTRAINT fk_notification_preferences_user FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
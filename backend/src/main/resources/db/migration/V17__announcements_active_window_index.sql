@@ -0,0 +1,4 @@
+-- Active announcement feed: range scan on start_date for the active set and MIN(start_date)
+-- for the next activation; end_date and posted_at are filtered and sorted from the index entries.
+CREATE INDEX IF NOT EXISTS idx_announcements_active_window
+    ON announcements(start_date, end_date, posted_at);
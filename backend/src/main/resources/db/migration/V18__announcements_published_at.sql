@@ -0,0 +1,12 @@
+-- When an announcement went live and its notifications were sent; NULL while it is still scheduled.
+ALTER TABLE announcements ADD COLUMN IF NOT EXISTS published_at TIMESTAMP;
+
+-- Announcements that already started count as published, so they are not announced again
+UPDATE announcements
+SET published_at = COALESCE(start_date, posted_at)
+WHERE published_at IS NULL AND (start_date IS NULL OR start_date <= now());
+
+-- Startup reload of pending publish timers
+CREATE INDEX IF NOT EXISTS idx_announcements_unpublished
+    ON announcements(start_date)
+    WHERE published_at IS NULL;
@@ -0,0 +1,7 @@
+-- Hall of Fame leaderboards: re-ranking the players of a few teams after a result goes from their
+-- memberships to the tournaments those teams won or reached the final of, and to the matches they
+-- won. Only decided matches are indexed.
+CREATE INDEX IF NOT EXISTS idx_tournaments_champion ON tournaments(champion_id);
+CREATE INDEX IF NOT EXISTS idx_tournaments_runner_up ON tournaments(runner_up_id);
+CREATE INDEX IF NOT EXISTS idx_matches_winner_team
+    ON matches(winner_team_id, sport_id) WHERE winner_team_id IS NOT NULL;
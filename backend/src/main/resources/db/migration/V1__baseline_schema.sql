@@ -0,0 +1,202 @@
+-- Schema as Hibernate generated it (ddl-auto) before the versioned migrations, so an empty
+-- database reaches the current schema by running every migration from here. Databases that
+-- were built by ddl-auto and the manually applied V3-V5 are baselined at V5 instead (see
+-- spring.flyway.baseline-version); they never run this script, only V6 onwards.
+
+CREATE TABLE users (
+    user_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    address VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    phone VARCHAR(255),
+    profile_photo VARCHAR(255),
+    role VARCHAR(255) NOT NULL,
+    username VARCHAR(255),
+    CONSTRAINT users_pkey PRIMARY KEY (user_id),
+    CONSTRAINT uk6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email),
+    CONSTRAINT ukr43af9ap4edm43mmtq01oddj6 UNIQUE (username),
+    CONSTRAINT users_role_check CHECK (role IN ('PLAYER', 'ADMIN', 'CAPTAIN', 'SCOREKEEPER'))
+);
+
+CREATE TABLE role (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    created_on TIMESTAMP WITH TIME ZONE,
+    is_active BOOLEAN,
+    updated_on TIMESTAMP WITH TIME ZONE,
+    name VARCHAR(255),
+    CONSTRAINT role_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE refresh_token (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    created_on TIMESTAMP WITH TIME ZONE,
+    is_active BOOLEAN,
+    updated_on TIMESTAMP WITH TIME ZONE,
+    token VARCHAR(255),
+    user_id BIGINT,
+    CONSTRAINT refresh_token_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE sports (
+    sport_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    is_team_game BOOLEAN NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    player_count INTEGER,
+    rules TEXT,
+    captain_id BIGINT,
+    recent_champion_id BIGINT,
+    recent_runner_up_id BIGINT,
+    CONSTRAINT sports_pkey PRIMARY KEY (sport_id)
+);
+
+CREATE TABLE tournaments (
+    tournament_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    end_date DATE,
+    fixture_generated BOOLEAN,
+    name VARCHAR(255) NOT NULL,
+    start_date DATE,
+    champion_id BIGINT,
+    created_by BIGINT NOT NULL,
+    runner_up_id BIGINT,
+    sport_id BIGINT NOT NULL,
+    CONSTRAINT tournaments_pkey PRIMARY KEY (tournament_id)
+);
+
+CREATE TABLE teams (
+    team_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    dummy BOOLEAN,
+    logo VARCHAR(255),
+    team_name VARCHAR(255) NOT NULL,
+    created_by BIGINT NOT NULL,
+    sport_id BIGINT NOT NULL,
+    tournament_id BIGINT,
+    CONSTRAINT teams_pkey PRIMARY KEY (team_id)
+);
+
+CREATE TABLE team_members (
+    team_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    role_in_team VARCHAR(255),
+    status VARCHAR(255),
+    CONSTRAINT team_members_pkey PRIMARY KEY (team_id, user_id),
+    CONSTRAINT team_members_status_check CHECK (status IN ('PENDING', 'ACCEPTED'))
+);
+
+CREATE TABLE rounds (
+    round_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    round_name VARCHAR(255) NOT NULL,
+    round_value INTEGER NOT NULL,
+    type VARCHAR(255),
+    tournament_id BIGINT NOT NULL,
+    CONSTRAINT rounds_pkey PRIMARY KEY (round_id),
+    CONSTRAINT rounds_type_check CHECK (type IN ('ROUND_ROBIN', 'KNOCKOUT'))
+);
+
+CREATE TABLE matches (
+    match_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    scheduled_time TIMESTAMP,
+    status VARCHAR(255) NOT NULL,
+    team_a_final_score INTEGER,
+    team_b_final_score INTEGER,
+    venue VARCHAR(255),
+    round_id BIGINT,
+    sport_id BIGINT NOT NULL,
+    team1_id BIGINT NOT NULL,
+    team2_id BIGINT,
+    tournament_id BIGINT NOT NULL,
+    winner_team_id BIGINT,
+    CONSTRAINT matches_pkey PRIMARY KEY (match_id),
+    CONSTRAINT matches_status_check CHECK (status IN ('SCHEDULED', 'ONGOING', 'COMPLETED', 'CANCELLED'))
+);
+
+CREATE TABLE scores (
+    score_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    team_a_id BIGINT NOT NULL,
+    team_a_points INTEGER NOT NULL,
+    team_b_id BIGINT NOT NULL,
+    team_b_points INTEGER NOT NULL,
+    match_id BIGINT NOT NULL,
+    CONSTRAINT scores_pkey PRIMARY KEY (score_id)
+);
+
+CREATE TABLE hall_of_fame (
+    hof_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    photo VARCHAR(255),
+    stats TEXT,
+    title VARCHAR(255) NOT NULL,
+    match_id BIGINT,
+    sport_id BIGINT NOT NULL,
+    tournament_id BIGINT,
+    user_id BIGINT NOT NULL,
+    CONSTRAINT hall_of_fame_pkey PRIMARY KEY (hof_id)
+);
+
+CREATE TABLE announcements (
+    announcement_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    content TEXT NOT NULL,
+    end_date TIMESTAMP,
+    posted_at TIMESTAMP NOT NULL,
+    start_date TIMESTAMP,
+    title VARCHAR(255) NOT NULL,
+    posted_by BIGINT NOT NULL,
+    related_sport_id BIGINT,
+    related_tournament_id BIGINT,
+    CONSTRAINT announcements_pkey PRIMARY KEY (announcement_id)
+);
+
+CREATE TABLE notifications (
+    notification_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    recipient_id BIGINT NOT NULL,
+    message TEXT NOT NULL,
+    sent_at TIMESTAMP NOT NULL,
+    is_read BOOLEAN NOT NULL DEFAULT false,
+    CONSTRAINT notifications_pkey PRIMARY KEY (notification_id),
+    FOREIGN KEY (recipient_id) REFERENCES users(user_id)
+);
+
+-- Sports, tournaments and teams reference each other, so foreign keys come after the tables
+ALTER TABLE sports
+    ADD CONSTRAINT fkfxqobkcfcx9wsr8o384c83ft3 FOREIGN KEY (captain_id) REFERENCES users(user_id),
+    ADD CONSTRAINT fk4d70mk35iqbgmt1aeh4w2g4dw FOREIGN KEY (recent_champion_id) REFERENCES teams(team_id),
+    ADD CONSTRAINT fk1nksqngv2mby6r0252cbgufwe FOREIGN KEY (recent_runner_up_id) REFERENCES teams(team_id);
+
+ALTER TABLE tournaments
+    ADD CONSTRAINT fkbamkwsikmigo49ef9cbpl00nx FOREIGN KEY (champion_id) REFERENCES teams(team_id),
+    ADD CONSTRAINT fkg9th3w94s0c70bexogt0g3syw FOREIGN KEY (created_by) REFERENCES users(user_id),
+    ADD CONSTRAINT fkhfxeew1nwg9lfyidj5cmqt6a3 FOREIGN KEY (runner_up_id) REFERENCES teams(team_id),
+    ADD CONSTRAINT fktfww9ee33aoy7mkoohd1t3d1o FOREIGN KEY (sport_id) REFERENCES sports(sport_id);
+
+ALTER TABLE teams
+    ADD CONSTRAINT fkpkesgpdiuhrjgaafjx09g8dx6 FOREIGN KEY (created_by) REFERENCES users(user_id),
+    ADD CONSTRAINT fkc2kpkonbxgprdwilacrp2tkp8 FOREIGN KEY (sport_id) REFERENCES sports(sport_id),
+    ADD CONSTRAINT fko5qehaxeuk4i5bxwpf20dvcws FOREIGN KEY (tournament_id) REFERENCES tournaments(tournament_id);
+
+ALTER TABLE team_members
+    ADD CONSTRAINT fktgca08el3ofisywcf11f0f76t FOREIGN KEY (team_id) REFERENCES teams(team_id),
+    ADD CONSTRAINT fkee8x7x5026imwmma9kndkxs36 FOREIGN KEY (user_id) REFERENCES users(user_id);
+
+ALTER TABLE rounds
+    ADD CONSTRAINT fkhub61cvyqvwkgyntpdlo016xe FOREIGN KEY (tournament_id) REFERENCES tournaments(tournament_id);
+
+ALTER TABLE matches
+    ADD CONSTRAINT fkjqepgamspeqo5q36vffq2h593 FOREIGN KEY (round_id) REFERENCES rounds(round_id),
+    ADD CONSTRAINT fklo85d6syiegp2utk9l2vewxq5 FOREIGN KEY (sport_id) REFERENCES sports(sport_id),
+    ADD CONSTRAINT fk3ioil1py4fu8omd77sivakcwi FOREIGN KEY (team1_id) REFERENCES teams(team_id),
+    ADD CONSTRAINT fkdkphr8xw4l2dgywsnbdbe04d7 FOREIGN KEY (team2_id) REFERENCES teams(team_id),
+    ADD CONSTRAINT fkeeniokyjgo5k6rmhjujatn27i FOREIGN KEY (tournament_id) REFERENCES tournaments(tournament_id),
+    ADD CONSTRAINT fkn66swy9if3qemrk5407f81hc5 FOREIGN KEY (winner_team_id) REFERENCES teams(team_id);
+
+ALTER TABLE scores
+    ADD CONSTRAINT fkmhr6nu0xje0kgubcx0j405gwq FOREIGN KEY (match_id) REFERENCES matches(match_id);
+
+ALTER TABLE hall_of_fame
+    ADD CONSTRAINT fk83eqw6t71bg4224agtrgtf91m FOREIGN KEY (match_id) REFERENCES matches(match_id),
+    ADD CONSTRAINT fkschglcq729hv1412e65luy1gk FOREIGN KEY (sport_id) REFERENCES sports(sport_id),
+    ADD CONSTRAINT fkr97qr8v43g38lseg5gl6ek0i8 FOREIGN KEY (tournament_id) REFERENCES tournaments(tournament_id),
+    ADD CONSTRAINT fke1uoec5ctto5hl9s8231vefiw FOREIGN KEY (user_id) REFERENCES users(user_id);
+
+ALTER TABLE announcements
+    ADD CONSTRAINT fk9ywjg6gmlqe5m9wvwkjogwn8s FOREIGN KEY (posted_by) REFERENCES users(user_id),
+    ADD CONSTRAINT fkpxorpv3ja79oudrgf0wjsabxs FOREIGN KEY (related_sport_id) REFERENCES sports(sport_id),
+    ADD CONSTRAINT fkbq128n7bu3r4udwsactrk0sb8 FOREIGN KEY (related_tournament_id) REFERENCES tournaments(tournament_id);
@@ -0,0 +1,18 @@
+-- Career statistics per player and sport, materialized from matches, cricket_scores, tournaments
+-- and certificates. Primary key (user_id, sport_id) makes a player's stats one index range scan.
+CREATE TABLE IF NOT EXISTS player_career_stats (
+    user_id BIGINT NOT NULL,
+    sport_id BIGINT NOT NULL,
+    sport_name VARCHAR(255),
+    matches_played INTEGER NOT NULL,
+    wins INTEGER NOT NULL,
+    titles INTEGER NOT NULL,
+    runs INTEGER NOT NULL,
+    wickets INTEGER NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT pk_player_career_stats PRIMARY KEY (user_id, sport_id)
+);
+
+-- Refreshing a finished match reads the cricket scores of its two teams
+CREATE INDEX IF NOT EXISTS idx_cricket_scores_match_team ON cricket_scores(match_id, team_id);
@@ -0,0 +1,6 @@
+-- Profile photos move to the content-addressed photo store; users keep only the SHA-256 key.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS profile_photo_key VARCHAR(64);
+
+-- The base64 profile_photo column is emptied in batches by the photo migration job, which walks
+-- the remaining rows in user_id order. Drop the column (and this index) once it is empty.
+CREATE INDEX IF NOT EXISTS idx_users_legacy_profile_photo ON users(user_id) WHERE profile_photo IS NOT NULL;
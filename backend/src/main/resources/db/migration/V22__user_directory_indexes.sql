@@ -0,0 +1,6 @@
+-- User directory: ordered by lower(name) in byte order (C collation), user_id as tie-breaker.
+-- The C collation lets the same index serve the name-prefix range and the keyset cursor.
+CREATE INDEX IF NOT EXISTS idx_users_directory_name ON users((lower(name) COLLATE "C"), user_id);
+
+-- Directory filtered by role
+CREATE INDEX IF NOT EXISTS idx_users_directory_role_name ON users(role, (lower(name) COLLATE "C"), user_id);
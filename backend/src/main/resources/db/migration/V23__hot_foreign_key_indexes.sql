@@ -0,0 +1,28 @@
+-- Foreign keys on hot paths that had no index (PostgreSQL does not index referencing columns).
+-- On large production tables the indexes can be built by hand with CREATE INDEX CONCURRENTLY
+-- before deploying; the migration then skips them.
+-- Already covered: teams.tournament_id (V9), notifications.recipient_id (leading column of
+-- idx_notifications_recipient_cursor, V15).
+
+-- Matches of a round and of a tournament (fixtures, round results, tournament pages)
+CREATE INDEX IF NOT EXISTS idx_matches_round_id ON matches(round_id);
+CREATE INDEX IF NOT EXISTS idx_matches_tournament_id ON matches(tournament_id);
+
+-- Matches of a team (team1 OR team2 as a bitmap OR), and the reference checks of team deletes
+CREATE INDEX IF NOT EXISTS idx_matches_team1_id ON matches(team1_id);
+CREATE INDEX IF NOT EXISTS idx_matches_team2_id ON matches(team2_id);
+
+-- Teams of a user; the primary key (team_id, user_id) only serves lookups by team
+CREATE INDEX IF NOT EXISTS idx_team_members_user_id ON team_members(user_id);
+
+-- Refresh token lookup and revocation on every token refresh and logout
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user_id ON refresh_token(user_id);
+
+-- Rounds of a tournament, looked up by round value
+CREATE INDEX IF NOT EXISTS idx_rounds_tournament_round_value ON rounds(tournament_id, round_value);
+
+-- Scores of a match
+CREATE INDEX IF NOT EXISTS idx_scores_match_id ON scores(match_id);
+
+-- Created by V5, missing where cricket_scores was created by ddl-auto
+CREATE INDEX IF NOT EXISTS idx_cricket_scores_team_id ON cricket_scores(team_id);
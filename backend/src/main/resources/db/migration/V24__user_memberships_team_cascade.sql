@@ -0,0 +1,10 @@
+-- Teams are also deleted in bulk without passing through MembershipReadModelService
+-- (dummy teams of a round, the orphan sweep, tournament deletes); let the database drop
+-- their projected memberships. Served by idx_user_memberships_team_id (V8).
+DELETE FROM user_memberships um
+WHERE NOT EXISTS (SELECT 1 FROM teams t WHERE t.team_id = um.team_id);
+
+ALTER TABLE user_memberships DROP CONSTRAINT IF EXISTS fk_user_memberships_team;
+ALTER TABLE user_memberships
+    ADD CONSTRAINT fk_user_memberships_team
+    FOREIGN KEY (team_id) REFERENCES teams(team_id) ON DELETE CASCADE;
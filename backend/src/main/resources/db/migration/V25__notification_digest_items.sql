@@ -0,0 +1,14 @@
+-- Messages buffered for a recipient's next digest (DIGEST mode), kept until the digest is written
+-- so a restart does not lose them. Served by the (recipient_id, item_id) index when flushing.
+CREATE TABLE IF NOT EXISTS notification_digest_items (
+    item_id BIGSERIAL PRIMARY KEY,
+    recipient_id BIGINT NOT NULL,
+    category VARCHAR(20) NOT NULL,
+    message TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT fk_notification_digest_items_recipient FOREIGN KEY (recipient_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_digest_items_recipient_item
+    ON notification_digest_items(recipient_id, item_id);
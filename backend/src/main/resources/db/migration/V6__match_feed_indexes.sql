@@ -0,0 +1,8 @@
+-- Composite indexes backing the keyset-paginated match feeds.
+-- Upcoming/ongoing feeds seek on (status, scheduled_time, match_id).
+CREATE INDEX IF NOT EXISTS idx_matches_status_scheduled_time_id
+    ON matches(status, scheduled_time, match_id);
+
+-- Time-window lookups (findByScheduledTimeBetween) regardless of status.
+CREATE INDEX IF NOT EXISTS idx_matches_scheduled_time_id
+    ON matches(scheduled_time, match_id);
@@ -0,0 +1,3 @@
+-- Per-sport default match length used for venue double-booking checks
+ALTER TABLE sports
+    ADD COLUMN IF NOT EXISTS match_duration_minutes INTEGER;
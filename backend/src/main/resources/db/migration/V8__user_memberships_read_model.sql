@@ -0,0 +1,34 @@
+-- Denormalized user -> teams -> tournaments read model for the player dashboard.
+-- Primary key (user_id, team_id) makes "all memberships of a user" a single index range scan.
+CREATE TABLE IF NOT EXISTS user_memberships (
+    user_id BIGINT NOT NULL,
+    team_id BIGINT NOT NULL,
+    role_in_team VARCHAR(255),
+    status VARCHAR(255),
+    team_name VARCHAR(255) NOT NULL,
+    logo VARCHAR(255),
+    dummy BOOLEAN,
+    sport_id BIGINT,
+    sport_name VARCHAR(255),
+    created_by_id BIGINT,
+    created_by_name VARCHAR(255),
+    tournament_id BIGINT,
+    tournament_name VARCHAR(255),
+    tournament_sport_id BIGINT,
+    tournament_sport_name VARCHAR(255),
+    tournament_start_date DATE,
+    tournament_end_date DATE,
+    tournament_created_by_id BIGINT,
+    tournament_created_by_name VARCHAR(255),
+    champion_id BIGINT,
+    champion_name VARCHAR(255),
+    runner_up_id BIGINT,
+    runner_up_name VARCHAR(255),
+    fixture_generated BOOLEAN,
+    updated_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT pk_user_memberships PRIMARY KEY (user_id, team_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_memberships_team_id ON user_memberships(team_id);
+CREATE INDEX IF NOT EXISTS idx_user_memberships_tournament_id ON user_memberships(tournament_id);
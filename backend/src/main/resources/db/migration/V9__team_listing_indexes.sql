@@ -0,0 +1,7 @@
+-- Filter columns of the paginated team listing (foreign keys are not indexed automatically)
+CREATE INDEX IF NOT EXISTS idx_teams_sport_id ON teams(sport_id);
+CREATE INDEX IF NOT EXISTS idx_teams_tournament_id ON teams(tournament_id);
+CREATE INDEX IF NOT EXISTS idx_teams_created_by ON teams(created_by);
+
+-- Default sort: team name with team id as tie-breaker
+CREATE INDEX IF NOT EXISTS idx_teams_team_name_id ON teams(team_name, team_id);
@@ -0,0 +1,160 @@
+package com.i_you_tea.sportify.controller;
+
+import com.i_you_tea.sportify.Config.JWTService;
+import com.i_you_tea.sportify.Config.QueryCounter;
+import com.i_you_tea.sportify.entity.User;
+import com.i_you_tea.sportify.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Calls controller endpoints against seeded data and counts the Hibernate statements each
+ * request executes, including lazy loads while controllers map entities to DTOs. Every endpoint
+ * declares a budget and is called for a small and a large result; it fails when either call goes
+ * over budget or when the large result needs more statements than the small one (N+1).
+ * The count includes the user lookup of the JWT filter.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryBudgetTests {
+
+    // Seeded ids are SEED + 1 to SEED_END, far above the ids of any development data
+    private static final long SEED = 2_000_000L;
+    private static final long SEED_END = SEED + 100;
+    private static final long ADMIN = SEED + 1;
+    private static final long SMALL_TOURNAMENT = SEED + 1;
+    private static final long LARGE_TOURNAMENT = SEED + 2;
+
+    private record Endpoint(String name, String smallPath, String largePath, long budget) {
+    }
+
+    private static final List<Endpoint> ENDPOINTS = List.of(
+            new Endpoint("matches of a tournament", "/api/matches/tournament/" + SMALL_TOURNAMENT,
+                    "/api/matches/tournament/" + LARGE_TOURNAMENT, 2),
+            new Endpoint("matches of a round", "/api/matches/round/" + (SEED + 1),
+                    "/api/matches/round/" + (SEED + 2), 2),
+            new Endpoint("existing fixture", "/api/tournaments/" + SMALL_TOURNAMENT + "/fixture/existing",
+                    "/api/tournaments/" + LARGE_TOURNAMENT + "/fixture/existing", 4),
+            new Endpoint("dummy teams of a tournament", "/api/teams/dummy/tournament/" + SMALL_TOURNAMENT,
+                    "/api/teams/dummy/tournament/" + LARGE_TOURNAMENT, 3),
+            new Endpoint("dummy teams of a round", "/api/teams/dummy/tournament/" + SMALL_TOURNAMENT + "/round/1",
+                    "/api/teams/dummy/tournament/" + LARGE_TOURNAMENT + "/round/2", 4),
+            new Endpoint("team summaries of a tournament", "/api/teams/tournament/" + SMALL_TOURNAMENT,
+                    "/api/teams/tournament/" + LARGE_TOURNAMENT, 2),
+            new Endpoint("team details", "/api/teams/" + (SEED + 1), "/api/teams/" + (SEED + 11), 2)
+    );
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private JWTService jwtService;
+    @Autowired
+    private UserRepository userRepository;
+
+    private String authorization;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (user_id, username, email, name, role) " +
+                "SELECT ? + i, 'budget-seed-' || i, 'budget-seed-' || i || '@example.test', 'Budget Seed ' || i, " +
+                "CASE WHEN i = 1 THEN 'ADMIN' ELSE 'PLAYER' END FROM generate_series(1, 20) i", SEED);
+        jdbcTemplate.update("INSERT INTO sports (sport_id, name, is_team_game) VALUES (?, 'Budget Seed Sport', true)", SEED + 1);
+        jdbcTemplate.update("INSERT INTO tournaments (tournament_id, name, sport_id, created_by) VALUES " +
+                "(?, 'Budget Small Cup', ?, ?), (?, 'Budget Large Cup', ?, ?)",
+                SMALL_TOURNAMENT, SEED + 1, ADMIN, LARGE_TOURNAMENT, SEED + 1, ADMIN);
+        // Small: one round. Large: rounds 2 and 1.
+        jdbcTemplate.update("INSERT INTO rounds (round_id, round_name, round_value, type, tournament_id) VALUES " +
+                "(?, 'Final', 1, 'KNOCKOUT', ?), (?, 'Semi Final', 2, 'KNOCKOUT', ?), (?, 'Final', 1, 'KNOCKOUT', ?)",
+                SEED + 1, SMALL_TOURNAMENT, SEED + 2, LARGE_TOURNAMENT, SEED + 3, LARGE_TOURNAMENT);
+        // Every team has its own creator, so per-row lazy loads show up as extra statements
+        jdbcTemplate.update("INSERT INTO teams (team_id, team_name, created_by, sport_id, tournament_id) " +
+                "SELECT ? + i, 'Budget Team ' || i, ? + i, ?, ? FROM generate_series(1, 2) i UNION ALL " +
+                "SELECT ? + i, 'Budget Team ' || i, ? + i, ?, ? FROM generate_series(11, 18) i",
+                SEED, SEED, SEED + 1, SMALL_TOURNAMENT, SEED, SEED, SEED + 1, LARGE_TOURNAMENT);
+        jdbcTemplate.update("INSERT INTO teams (team_id, team_name, created_by, sport_id, tournament_id, dummy, source_round_id) " +
+                "VALUES (?, 'Winner Small Round 1', ?, ?, ?, true, ?)",
+                SEED + 3, SEED + 4, SEED + 1, SMALL_TOURNAMENT, SEED + 1);
+        jdbcTemplate.update("INSERT INTO teams (team_id, team_name, created_by, sport_id, tournament_id, dummy, source_round_id) " +
+                "SELECT ? + i, 'Winner Large Match ' || i || ' Round 2', ? + i - 16, ?, ?, true, ? " +
+                "FROM generate_series(21, 24) i",
+                SEED, SEED, SEED + 1, LARGE_TOURNAMENT, SEED + 2);
+        jdbcTemplate.update("INSERT INTO matches (match_id, status, sport_id, tournament_id, round_id, team1_id, team2_id, winner_team_id) VALUES " +
+                "(?, 'COMPLETED', ?, ?, ?, ?, ?, ?)",
+                SEED + 1, SEED + 1, SMALL_TOURNAMENT, SEED + 1, SEED + 1, SEED + 2, SEED + 1);
+        // Large: four semi finals between distinct teams, two finals
+        jdbcTemplate.update("INSERT INTO matches (match_id, status, sport_id, tournament_id, round_id, team1_id, team2_id, winner_team_id) " +
+                "SELECT ? + 10 + i, 'COMPLETED', ?, ?, ?, ? + 9 + 2 * i, ? + 10 + 2 * i, ? + 9 + 2 * i " +
+                "FROM generate_series(1, 4) i",
+                SEED, SEED + 1, LARGE_TOURNAMENT, SEED + 2, SEED, SEED, SEED);
+        jdbcTemplate.update("INSERT INTO matches (match_id, status, sport_id, tournament_id, round_id, team1_id, team2_id) " +
+                "VALUES (?, 'SCHEDULED', ?, ?, ?, ?, ?), (?, 'SCHEDULED', ?, ?, ?, ?, ?)",
+                SEED + 15, SEED + 1, LARGE_TOURNAMENT, SEED + 3, SEED + 11, SEED + 13,
+                SEED + 16, SEED + 1, LARGE_TOURNAMENT, SEED + 3, SEED + 15, SEED + 17);
+
+        User admin = userRepository.findById(ADMIN).orElseThrow();
+        authorization = "Bearer " + jwtService.generateToken(admin);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM matches WHERE match_id BETWEEN ? AND ?", SEED + 1, SEED_END);
+        jdbcTemplate.update("DELETE FROM teams WHERE team_id BETWEEN ? AND ?", SEED + 1, SEED_END);
+        jdbcTemplate.update("DELETE FROM rounds WHERE round_id BETWEEN ? AND ?", SEED + 1, SEED_END);
+        jdbcTemplate.update("DELETE FROM tournaments WHERE tournament_id BETWEEN ? AND ?", SEED + 1, SEED_END);
+        jdbcTemplate.update("DELETE FROM sports WHERE sport_id BETWEEN ? AND ?", SEED + 1, SEED_END);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id BETWEEN ? AND ?", SEED + 1, SEED_END);
+    }
+
+    @Test
+    void endpointsStayWithinBudgetAndFreeOfNPlusOne() throws Exception {
+        List<String> failures = new ArrayList<>();
+        for (Endpoint endpoint : ENDPOINTS) {
+            // Warm-up fills the second-level cache, which later calls may hit
+            count(endpoint.smallPath());
+            Measured small = count(endpoint.smallPath());
+            Measured large = count(endpoint.largePath());
+
+            if (small.status() != 200 || large.status() != 200) {
+                failures.add(endpoint.name() + ": status " + small.status() + "/" + large.status());
+                continue;
+            }
+            if (small.statements() > endpoint.budget() || large.statements() > endpoint.budget()) {
+                failures.add(endpoint.name() + ": " + Math.max(small.statements(), large.statements())
+                        + " statements, budget " + endpoint.budget());
+            }
+            if (large.statements() > small.statements()) {
+                failures.add(endpoint.name() + ": " + small.statements() + " statements for the small result but "
+                        + large.statements() + " for the large one");
+            }
+        }
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    private record Measured(int status, long statements) {
+    }
+
+    private Measured count(String path) throws Exception {
+        QueryCounter.start();
+        try {
+            MvcResult result = mockMvc.perform(get(path).header("Authorization", authorization)).andReturn();
+            return new Measured(result.getResponse().getStatus(), QueryCounter.current());
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.i_you_tea.sportify.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.i_you_tea.sportify.entity.Match;
+import com.i_you_tea.sportify.entity.Team;
+import com.i_you_tea.sportify.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the hot repository queries against a seeded dataset and fails if PostgreSQL would answer
+ * any of them with a sequential scan over a large table. The SQL Hibernate sends is captured,
+ * prepared and explained as a generic plan, the plan every execution with other values gets
+ * once PostgreSQL caches it. The seed, its statistics and the prepared statements live in the
+ * test transaction and are rolled back.
+ */
+@SpringBootTest
+@Transactional
+@Import(QueryPlanRegressionTests.CaptureConfig.class)
+class QueryPlanRegressionTests {
+
+    // Seeded ids start here, far above the ids of any development data
+    private static final long SEED = 1_000_000L;
+    // Sequential scans over relations estimated smaller than this are cheaper than an index and allowed
+    private static final double LARGE_RELATION_ROWS = 1_000;
+
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CapturingStatementInspector inspector;
+
+    @Autowired
+    private MatchRepository matchRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+    @Autowired
+    private RoundRepository roundRepository;
+    @Autowired
+    private ScoreRepository scoreRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        CapturingStatementInspector capturingStatementInspector() {
+            return new CapturingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    /**
+     * Records the SQL of the current thread while capturing; statements pass through unchanged.
+     */
+    static class CapturingStatementInspector implements StatementInspector {
+
+        private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = captured.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+
+        List<String> capture(Runnable queries) {
+            List<String> statements = new ArrayList<>();
+            captured.set(statements);
+            try {
+                queries.run();
+            } finally {
+                captured.remove();
+            }
+            return statements;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (user_id, email, name, role) " +
+                "SELECT ? + i, 'plan-seed-' || i || '@example.test', 'Plan Seed ' || i, 'PLAYER' " +
+                "FROM generate_series(1, 20000) i", SEED);
+        jdbcTemplate.update("INSERT INTO sports (sport_id, name, is_team_game) VALUES (?, 'Plan Seed Sport', true)", SEED);
+        jdbcTemplate.update("INSERT INTO tournaments (tournament_id, name, sport_id, created_by) " +
+                "SELECT ? + i, 'Plan Seed Cup ' || i, ?, ? + i FROM generate_series(1, 1000) i", SEED, SEED, SEED);
+        jdbcTemplate.update("INSERT INTO teams (team_id, team_name, created_by, sport_id, tournament_id) " +
+                "SELECT ? + i, 'Plan Seed Team ' || i, ? + i, ?, ? + 1 + i % 1000 " +
+                "FROM generate_series(1, 20000) i", SEED, SEED, SEED, SEED);
+        // Three members per team, each user in three teams
+        jdbcTemplate.update("INSERT INTO team_members (team_id, user_id, status) " +
+                "SELECT ? + t, ? + 1 + (t + k * 101) % 20000, 'ACCEPTED' " +
+                "FROM generate_series(1, 20000) t, generate_series(0, 2) k", SEED, SEED);
+        // Five rounds per tournament
+        jdbcTemplate.update("INSERT INTO rounds (round_id, round_name, round_value, type, tournament_id) " +
+                "SELECT ? + i, 'Round ' || ((i - 1) % 5 + 1), (i - 1) % 5 + 1, 'ROUND_ROBIN', ? + 1 + (i - 1) / 5 " +
+                "FROM generate_series(1, 5000) i", SEED, SEED);
+        jdbcTemplate.update("INSERT INTO matches (match_id, status, sport_id, team1_id, team2_id, tournament_id, round_id, scheduled_time) " +
+                "SELECT ? + i, 'SCHEDULED', ?, ? + 1 + i % 20000, ? + 1 + (i + 1) % 20000, ? + 1 + i % 1000, ? + 1 + i % 5000, " +
+                "now() + (i % 10000) * INTERVAL '1 hour' " +
+                "FROM generate_series(1, 100000) i", SEED, SEED, SEED, SEED, SEED, SEED);
+        jdbcTemplate.update("INSERT INTO scores (score_id, match_id, team_a_id, team_a_points, team_b_id, team_b_points) " +
+                "SELECT ? + i, ? + i, ? + 1 + i % 20000, 0, ? + 1 + (i + 1) % 20000, 0 " +
+                "FROM generate_series(1, 50000) i", SEED, SEED, SEED, SEED);
+        jdbcTemplate.update("INSERT INTO refresh_token (id, token, user_id, is_active) " +
+                "SELECT ? + i, md5(i::text), ? + i, true FROM generate_series(1, 20000) i", SEED, SEED);
+        jdbcTemplate.update("INSERT INTO notifications (notification_id, recipient_id, message, sent_at) " +
+                "SELECT ? + i, ? + 1 + i % 20000, 'Plan seed', now() - (i % 30) * INTERVAL '1 day' " +
+                "FROM generate_series(1, 100000) i", SEED, SEED);
+        jdbcTemplate.execute("ANALYZE users, sports, tournaments, teams, team_members, rounds, matches, scores, " +
+                "refresh_token, notifications");
+    }
+
+    @Test
+    void hotQueriesUseIndexes() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("matches of a round", () -> matchRepository.findByRound_RoundId(SEED + 1));
+        queries.put("matches of a tournament", () -> matchRepository.findByTournament_TournamentId(SEED + 1));
+        queries.put("matches of a team", () -> matchRepository.findByTeam(entityManager.getReference(Team.class, SEED + 1)));
+        queries.put("teams of a tournament", () -> teamRepository.findByTournamentTournamentId(SEED + 1));
+        queries.put("teams of a user", () -> teamMemberRepository.findByUser(entityManager.getReference(User.class, SEED + 1)));
+        queries.put("round of a tournament by value",
+                () -> roundRepository.findByTournament_TournamentIdAndRoundValue(SEED + 1, 1));
+        queries.put("scores of a match", () -> scoreRepository.findByMatch(entityManager.getReference(Match.class, SEED + 1)));
+        queries.put("refresh token of a user", () -> refreshTokenRepository.findByUserId(SEED + 1));
+        queries.put("notification page", () -> notificationRepository.findPageBefore(SEED + 1,
+                LocalDateTime.now(), Long.MAX_VALUE, PageRequest.of(0, 20)));
+        queries.put("unread notification count", () -> notificationRepository.countUnreadByRecipientId(SEED + 1));
+
+        List<String> failures = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            List<String> statements = inspector.capture(query);
+            assertFalse(statements.isEmpty(), name + " ran no SQL");
+            for (String sql : statements) {
+                for (String scan : sequentialScans(sql)) {
+                    failures.add(name + ": Seq Scan on " + scan + " in " + sql);
+                }
+            }
+        });
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    @Test
+    void matchFeedSeeksToTheCursor() {
+        // Without a range bound on scheduled_time the index is only searched by status, and every
+        // page re-reads all rows of that status before the cursor
+        List<String> statements = inspector.capture(() -> matchRepository.findFeedPage(Match.MatchStatus.SCHEDULED,
+                LocalDateTime.now().plusDays(200), SEED + 1, PageRequest.of(0, 20)));
+        assertFalse(statements.isEmpty(), "match feed page ran no SQL");
+        for (String sql : statements) {
+            List<String> conditions = new ArrayList<>();
+            collectIndexConditions(explain(sql), "idx_matches_status_scheduled_time_id", conditions);
+            assertFalse(conditions.isEmpty(), "match feed page does not use idx_matches_status_scheduled_time_id: " + sql);
+            assertTrue(conditions.stream().allMatch(condition -> condition.contains("scheduled_time")),
+                    "match feed page searches the index by status only: " + conditions);
+        }
+    }
+
+    /**
+     * Large relations the generic plan of the statement scans sequentially.
+     */
+    private List<String> sequentialScans(String sql) {
+        List<String> scans = new ArrayList<>();
+        collectSequentialScans(explain(sql), scans);
+        return scans;
+    }
+
+    /**
+     * Root node of the generic plan of the statement.
+     */
+    private JsonNode explain(String sql) {
+        Matcher parameters = PARAMETER.matcher(sql);
+        StringBuilder numbered = new StringBuilder();
+        int count = 0;
+        while (parameters.find()) {
+            parameters.appendReplacement(numbered, "\\$" + (++count));
+        }
+        parameters.appendTail(numbered);
+
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("PREPARE plan_check AS " + numbered);
+        try {
+            // Values only matter for partition pruning; the plan itself is generic
+            String types = jdbcTemplate.queryForObject("SELECT array_to_string(parameter_types::text[], ',') " +
+                    "FROM pg_prepared_statements WHERE name = 'plan_check'", String.class);
+            List<String> arguments = new ArrayList<>();
+            for (String type : types.isEmpty() ? new String[0] : types.split(",")) {
+                arguments.add(sampleValue(type));
+            }
+            String explain = "EXPLAIN (FORMAT JSON) EXECUTE plan_check" +
+                    (arguments.isEmpty() ? "" : "(" + String.join(", ", arguments) + ")");
+            return objectMapper.readTree(jdbcTemplate.queryForObject(explain, String.class)).get(0).get("Plan");
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not explain " + sql + ": " + e.getMessage(), e);
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE plan_check");
+        }
+    }
+
+    private void collectSequentialScans(JsonNode node, List<String> scans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            String relation = node.path("Relation Name").asText();
+            Double rows = jdbcTemplate.queryForObject(
+                    "SELECT reltuples::float8 FROM pg_class WHERE oid = to_regclass(?)", Double.class, relation);
+            if (rows != null && rows >= LARGE_RELATION_ROWS) {
+                scans.add(relation + " (" + rows.longValue() + " rows)");
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, scans);
+        }
+    }
+
+    private void collectIndexConditions(JsonNode node, String index, List<String> conditions) {
+        if (index.equals(node.path("Index Name").asText())) {
+            conditions.add(node.path("Index Cond").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectIndexConditions(child, index, conditions);
+        }
+    }
+
+    private static String sampleValue(String type) {
+        return switch (type) {
+            case "bigint", "integer", "smallint" -> "CAST(" + (SEED + 1) + " AS " + type + ")";
+            case "boolean" -> "false";
+            case "timestamp without time zone", "timestamp with time zone" -> "CAST(now() AS " + type + ")";
+            case "date" -> "CURRENT_DATE";
+            default -> "CAST('x' AS " + type + ")";
+        };
+    }
+}
@@ -0,0 +1,218 @@
+package com.i_you_tea.sportify.repository;
+
+import com.i_you_tea.sportify.entity.User;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Upgrades databases as they looked before Flyway was enabled, without a history table, using the
+ * baseline settings of application.yml: every migration after V5 has to run.
+ * The schema Hibernate generated from the baseline entities is V1, so V1 and the hand-applied
+ * V3-V5 give a database that stopped there; it has to end up identical to one migrated from empty.
+ * Databases kept running with ddl-auto=update also hold what Hibernate made of the later entities,
+ * so that database is additionally updated by Hibernate from the current entities; ddl-auto objects
+ * keep their own names and types, so it only has to validate against the entities and carry every
+ * index of a migrated database.
+ * All are scratch databases next to the application's, dropped afterwards; schemas would not do,
+ * since unqualified names in the scripts fall through to public.
+ */
+@SpringBootTest
+class SchemaMigrationTests {
+
+    private static final String LEGACY = "sportify_migration_test_legacy";
+    private static final String FRESH = "sportify_migration_test_fresh";
+    // The last script applied by hand before Flyway took over
+    private static final MigrationVersion LAST_MANUAL = MigrationVersion.fromVersion("5");
+
+    // Catalog queries describing the tables of the public schema, one line per column, index or
+    // constraint. Partitions are left out: which months exist depends on the data.
+    private static final String COLUMNS = "SELECT c.relname || '.' || a.attname || ' ' || format_type(a.atttypid, a.atttypmod) " +
+            "|| CASE WHEN a.attnotnull THEN ' NOT NULL' ELSE '' END " +
+            "|| COALESCE(' DEFAULT ' || pg_get_expr(d.adbin, d.adrelid), '') " +
+            "FROM pg_attribute a JOIN pg_class c ON c.oid = a.attrelid " +
+            "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "LEFT JOIN pg_attrdef d ON d.adrelid = a.attrelid AND d.adnum = a.attnum " +
+            "WHERE n.nspname = 'public' AND c.relkind IN ('r', 'p') AND NOT c.relispartition " +
+            "AND a.attnum > 0 AND NOT a.attisdropped AND c.relname <> 'flyway_schema_history'";
+    private static final String INDEXES = "SELECT pg_get_indexdef(i.indexrelid) " +
+            "FROM pg_index i JOIN pg_class c ON c.oid = i.indrelid " +
+            "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = 'public' AND NOT c.relispartition AND c.relname <> 'flyway_schema_history'";
+    // Indexes not backing a primary key or unique constraint, whose names follow the constraint
+    private static final String SECONDARY_INDEXES = INDEXES + " AND NOT EXISTS (SELECT 1 FROM pg_constraint con " +
+            "WHERE con.conrelid = i.indrelid AND con.conindid = i.indexrelid)";
+    private static final String CONSTRAINTS = "SELECT c.relname || ' ' || con.conname || ' ' || pg_get_constraintdef(con.oid) " +
+            "FROM pg_constraint con JOIN pg_class c ON c.oid = con.conrelid " +
+            "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = 'public' AND NOT c.relispartition AND c.relname <> 'flyway_schema_history'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+    @Autowired
+    private FlywayProperties flywayProperties;
+    @Autowired
+    private EntityManagerFactoryBuilder entityManagerFactoryBuilder;
+    @Autowired
+    private JpaProperties jpaProperties;
+    @Autowired
+    private HibernateProperties hibernateProperties;
+
+    private final List<SingleConnectionDataSource> openDataSources = new ArrayList<>();
+
+    @BeforeEach
+    void createDatabases() {
+        dropDatabases();
+        jdbcTemplate.execute("CREATE DATABASE " + LEGACY);
+        jdbcTemplate.execute("CREATE DATABASE " + FRESH);
+    }
+
+    @AfterEach
+    void dropDatabases() {
+        openDataSources.forEach(SingleConnectionDataSource::destroy);
+        openDataSources.clear();
+        jdbcTemplate.execute("DROP DATABASE IF EXISTS " + LEGACY);
+        jdbcTemplate.execute("DROP DATABASE IF EXISTS " + FRESH);
+    }
+
+    @Test
+    void databaseFromBeforeFlywayMigratesToHead() {
+        JdbcTemplate legacy = new JdbcTemplate(database(LEGACY));
+        JdbcTemplate fresh = new JdbcTemplate(database(FRESH));
+        flyway(legacy).target(LAST_MANUAL).load().migrate();
+        legacy.execute("DROP TABLE flyway_schema_history");
+        seedLegacyData(legacy);
+
+        Flyway upgrade = upgrade(legacy);
+        MigrateResult result = upgrade.migrate();
+
+        assertEquals(LAST_MANUAL.getVersion(), result.initialSchemaVersion);
+        List<String> expected = Arrays.stream(upgrade.info().all())
+                .map(MigrationInfo::getVersion)
+                .filter(version -> version.compareTo(LAST_MANUAL) > 0)
+                .map(MigrationVersion::getVersion)
+                .toList();
+        List<String> applied = result.migrations.stream().map(migration -> migration.version).toList();
+        assertEquals(expected, applied);
+        assertEquals(0, upgrade.info().pending().length);
+
+        MigrateResult fromEmpty = flyway(fresh).load().migrate();
+        assertEquals(fromEmpty.targetSchemaVersion, result.targetSchemaVersion);
+        assertEquals(describe(fresh, COLUMNS), describe(legacy, COLUMNS));
+        assertEquals(describe(fresh, INDEXES), describe(legacy, INDEXES));
+        assertEquals(describe(fresh, CONSTRAINTS), describe(legacy, CONSTRAINTS));
+
+        // Data migrations: notifications move into the partitioned table, duplicate certificates collapse
+        assertEquals(List.of("Kick-off moved"), legacy.queryForList("SELECT message FROM notifications", String.class));
+        assertEquals(List.of("Champion"), legacy.queryForList("SELECT position FROM certificates", String.class));
+    }
+
+    @Test
+    void databaseKeptUpToDateByDdlAutoMigratesToHead() {
+        JdbcTemplate legacy = new JdbcTemplate(database(LEGACY));
+        JdbcTemplate fresh = new JdbcTemplate(database(FRESH));
+        flyway(legacy).target(LAST_MANUAL).load().migrate();
+        legacy.execute("DROP TABLE flyway_schema_history");
+        startHibernate(legacy, "update");
+
+        Flyway upgrade = upgrade(legacy);
+        MigrateResult result = upgrade.migrate();
+
+        assertEquals(LAST_MANUAL.getVersion(), result.initialSchemaVersion);
+        assertEquals(0, upgrade.info().pending().length);
+        startHibernate(legacy, "validate");
+
+        flyway(fresh).load().migrate();
+        List<String> legacyIndexes = describe(legacy, SECONDARY_INDEXES);
+        List<String> missing = describe(fresh, SECONDARY_INDEXES).stream()
+                .filter(index -> !legacyIndexes.contains(index))
+                .toList();
+        assertEquals(List.of(), missing);
+    }
+
+    private DataSource database(String name) {
+        String url = dataSourceProperties.determineUrl().replaceFirst("/[^/?]+(\\?|$)", "/" + name + "$1");
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(url,
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(), true);
+        openDataSources.add(dataSource);
+        return dataSource;
+    }
+
+    private FluentConfiguration flyway(JdbcTemplate database) {
+        return Flyway.configure()
+                .dataSource(database.getDataSource())
+                .locations(flywayProperties.getLocations().toArray(String[]::new));
+    }
+
+    private Flyway upgrade(JdbcTemplate database) {
+        return flyway(database)
+                .baselineOnMigrate(flywayProperties.isBaselineOnMigrate())
+                .baselineVersion(flywayProperties.getBaselineVersion())
+                .load();
+    }
+
+    /**
+     * Starts and closes Hibernate on the database with the application's JPA settings and the given
+     * ddl-auto mode; "update" applies the entities as every start did before Flyway, "validate" fails
+     * when the schema does not match them.
+     */
+    private void startHibernate(JdbcTemplate database, String ddlAuto) {
+        Map<String, Object> properties = new HashMap<>(hibernateProperties.determineHibernateProperties(
+                jpaProperties.getProperties(), new HibernateSettings()));
+        properties.put(AvailableSettings.HBM2DDL_AUTO, ddlAuto);
+        // Caches of a second factory would share regions with the application's
+        properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+        LocalContainerEntityManagerFactoryBean factory = entityManagerFactoryBuilder
+                .dataSource(database.getDataSource())
+                .packages(User.class)
+                .persistenceUnit("ddl-auto-" + ddlAuto)
+                .properties(properties)
+                .build();
+        factory.afterPropertiesSet();
+        factory.destroy();
+    }
+
+    private static void seedLegacyData(JdbcTemplate legacy) {
+        legacy.update("INSERT INTO users (user_id, username, email, name, role) " +
+                "VALUES (1, 'legacy', 'legacy@example.test', 'Legacy Player', 'PLAYER')");
+        legacy.update("INSERT INTO sports (sport_id, name, is_team_game) VALUES (1, 'Cricket', true)");
+        legacy.update("INSERT INTO tournaments (tournament_id, name, sport_id, created_by) " +
+                "VALUES (1, 'Legacy Cup', 1, 1)");
+        legacy.update("INSERT INTO certificates (user_id, tournament_id, sport_id, position) " +
+                "VALUES (1, 1, 1, 'Participant'), (1, 1, 1, 'Champion')");
+        legacy.update("INSERT INTO notifications (recipient_id, message, sent_at) " +
+                "VALUES (1, 'Kick-off moved', now() - INTERVAL '40 days')");
+    }
+
+    private static List<String> describe(JdbcTemplate database, String catalogQuery) {
+        return database.queryForList(catalogQuery, String.class).stream().sorted().toList();
+    }
+}
@@ -0,0 +1,243 @@
+package com.i_you_tea.sportify.service;
+
+import com.i_you_tea.sportify.Exception.ScheduleConflictException;
+import com.i_you_tea.sportify.dto.ScheduleConflictDTO;
+import com.i_you_tea.sportify.entity.Match;
+import com.i_you_tea.sportify.entity.Tournament;
+import com.i_you_tea.sportify.repository.MatchRepository;
+import com.i_you_tea.sportify.repository.SportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Conflict checks of ScheduleConflictService against a mocked repository. Rows in committedRows are
+ * what other transactions see; transactions are simulated with TransactionSynchronizationManager.
+ */
+class ScheduleConflictServiceTests {
+
+    private static final LocalDateTime TEN = LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.DAYS).withHour(10);
+
+    private final Map<Long, MatchRepository.MatchSlotView> committedRows = new ConcurrentHashMap<>();
+    private ScheduleConflictService service;
+
+    @BeforeEach
+    void setUp() {
+        MatchRepository matchRepository = mock(MatchRepository.class);
+        when(matchRepository.findBookedSlotsByMatchIds(any())).thenAnswer(invocation -> {
+            Collection<Long> matchIds = invocation.getArgument(0);
+            return matchIds.stream().map(committedRows::get).filter(row -> row != null).toList();
+        });
+        when(matchRepository.findBookedSlotsFrom(any())).thenAnswer(invocation -> List.copyOf(committedRows.values()));
+        service = new ScheduleConflictService(matchRepository, mock(SportRepository.class));
+        ReflectionTestUtils.setField(service, "defaultMatchDurationMinutes", 90);
+        ReflectionTestUtils.setField(service, "indexLookbackDays", 30);
+        service.rebuild();
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void overlappingBookingIsRejected() {
+        book(1L, "Court 1", TEN);
+
+        ScheduleConflictException conflict = assertThrows(ScheduleConflictException.class,
+                () -> service.reserve(match(2L, " court 1 ", TEN.plusHours(1))));
+        List<ScheduleConflictDTO> conflicts = conflict.getConflicts();
+        assertEquals(1, conflicts.size());
+        assertEquals(1L, conflicts.get(0).getConflictingMatchId());
+
+        assertDoesNotThrow(() -> service.reserve(match(3L, "Court 1", TEN.plusMinutes(90))));
+        assertDoesNotThrow(() -> service.reserve(match(4L, "Court 2", TEN)));
+    }
+
+    @Test
+    void uncommittedBookingBlocksConcurrentReservation() {
+        begin();
+        service.reserve(match(1L, "Court 1", TEN));
+
+        // The other transaction cannot see match 1 yet, but must not book over it
+        assertInstanceOf(ScheduleConflictException.class, reserveConcurrently(match(2L, "Court 1", TEN.plusMinutes(30))));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        committedRows.put(1L, row(1L, "Court 1", TEN));
+        assertThrows(ScheduleConflictException.class, () -> service.reserve(match(2L, "Court 1", TEN.plusMinutes(30))));
+    }
+
+    @Test
+    void rolledBackBookingFreesTheSlot() {
+        begin();
+        service.reserve(match(1L, "Court 1", TEN));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertDoesNotThrow(() -> service.reserve(match(2L, "Court 1", TEN)));
+    }
+
+    @Test
+    void rescheduleHoldsBothSlotsUntilCommit() {
+        book(1L, "Court 1", TEN);
+
+        begin();
+        service.reserve(match(1L, "Court 1", TEN.plusHours(5)));
+        assertInstanceOf(ScheduleConflictException.class, reserveConcurrently(match(2L, "Court 1", TEN.plusMinutes(30))));
+        assertInstanceOf(ScheduleConflictException.class, reserveConcurrently(match(3L, "Court 1", TEN.plusHours(5))));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        committedRows.put(1L, row(1L, "Court 1", TEN.plusHours(5)));
+        assertDoesNotThrow(() -> service.reserve(match(2L, "Court 1", TEN.plusMinutes(30))));
+        assertThrows(ScheduleConflictException.class, () -> service.reserve(match(3L, "Court 1", TEN.plusHours(5))));
+    }
+
+    @Test
+    void rolledBackRescheduleKeepsTheOldSlot() {
+        book(1L, "Court 1", TEN);
+
+        begin();
+        service.reserve(match(1L, "Court 2", TEN));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThrows(ScheduleConflictException.class, () -> service.reserve(match(2L, "Court 1", TEN)));
+        assertDoesNotThrow(() -> service.reserve(match(3L, "Court 2", TEN)));
+    }
+
+    @Test
+    void bookingOfBulkDeletedMatchIsEvicted() {
+        book(1L, "Court 1", TEN);
+        committedRows.remove(1L);
+
+        assertDoesNotThrow(() -> book(2L, "Court 1", TEN));
+        List<ScheduleConflictDTO> conflicts = service.findConflicts(3L, null, "Court 1", TEN);
+        assertEquals(List.of(2L), conflicts.stream().map(ScheduleConflictDTO::getConflictingMatchId).toList());
+    }
+
+    @Test
+    void bookingOfMovedMatchIsReplacedByTheStoredSlot() {
+        book(1L, "Court 1", TEN);
+        committedRows.put(1L, row(1L, "Court 1", TEN.plusHours(4)));
+
+        assertDoesNotThrow(() -> service.reserve(match(2L, "Court 1", TEN)));
+        assertThrows(ScheduleConflictException.class, () -> service.reserve(match(3L, "Court 1", TEN.plusHours(4))));
+    }
+
+    @Test
+    void rescheduledMatchIsNotReportedAgainstItself() {
+        committedRows.put(1L, row(1L, 7L, "Court 1", TEN));
+        service.rebuild();
+
+        begin();
+        service.reserve(tournamentMatch(1L, 7L, "Court 1", TEN.plusMinutes(30)));
+
+        assertEquals(List.of(), service.getTournamentDayConflicts(7L, TEN.toLocalDate()));
+    }
+
+    @Test
+    void dayReportDropsStaleBookings() {
+        committedRows.put(1L, row(1L, 7L, "Court 1", TEN));
+        committedRows.put(2L, row(2L, 7L, "Court 1", TEN.plusMinutes(30)));
+        // Rebuilding indexes rows as stored, overlapping or not
+        service.rebuild();
+        assertEquals(1, service.getTournamentDayConflicts(7L, TEN.toLocalDate()).size());
+
+        committedRows.remove(1L);
+        assertEquals(List.of(), service.getTournamentDayConflicts(7L, TEN.toLocalDate()));
+    }
+
+    private void book(Long matchId, String venue, LocalDateTime start) {
+        service.reserve(match(matchId, venue, start));
+        committedRows.put(matchId, row(matchId, venue, start));
+    }
+
+    private Throwable reserveConcurrently(Match match) {
+        try {
+            CompletableFuture.runAsync(() -> service.reserve(match)).join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+    }
+
+    private static void begin() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static Match match(Long matchId, String venue, LocalDateTime start) {
+        Match match = new Match();
+        match.setMatchId(matchId);
+        match.setVenue(venue);
+        match.setScheduledTime(start);
+        match.setStatus(Match.MatchStatus.SCHEDULED);
+        return match;
+    }
+
+    private static Match tournamentMatch(Long matchId, Long tournamentId, String venue, LocalDateTime start) {
+        Match match = match(matchId, venue, start);
+        Tournament tournament = new Tournament();
+        tournament.setTournamentId(tournamentId);
+        match.setTournament(tournament);
+        return match;
+    }
+
+    private static MatchRepository.MatchSlotView row(Long matchId, String venue, LocalDateTime start) {
+        return row(matchId, null, venue, start);
+    }
+
+    private static MatchRepository.MatchSlotView row(Long matchId, Long tournamentId, String venue, LocalDateTime start) {
+        return new MatchRepository.MatchSlotView() {
+            @Override
+            public Long getMatchId() {
+                return matchId;
+            }
+
+            @Override
+            public Long getTournamentId() {
+                return tournamentId;
+            }
+
+            @Override
+            public Long getSportId() {
+                return null;
+            }
+
+            @Override
+            public String getVenue() {
+                return venue;
+            }
+
+            @Override
+            public LocalDateTime getScheduledTime() {
+                return start;
+            }
+        };
+    }
+}
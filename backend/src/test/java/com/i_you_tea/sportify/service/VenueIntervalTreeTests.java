@@ -0,0 +1,132 @@
+package com.i_you_tea.sportify.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VenueIntervalTreeTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void ascendingInsertsStayBalanced() {
+        VenueIntervalTree tree = new VenueIntervalTree();
+        for (long i = 0; i < 1023; i++) {
+            tree.insert(slot(i, i * 60, 90));
+        }
+        // Sorted input only stays logarithmic through left rotations
+        assertEquals(1023, tree.size());
+        assertEquals(10, tree.height());
+    }
+
+    @Test
+    void descendingInsertsStayBalanced() {
+        VenueIntervalTree tree = new VenueIntervalTree();
+        for (long i = 1022; i >= 0; i--) {
+            tree.insert(slot(i, i * 60, 90));
+        }
+        assertEquals(10, tree.height());
+    }
+
+    @Test
+    void zigZagInsertsStayBalanced() {
+        VenueIntervalTree tree = new VenueIntervalTree();
+        // Each insert lands between the previous two, forcing double rotations
+        long low = 0;
+        long high = 1_000_000;
+        for (long i = 0; i < 1000; i++) {
+            long start = i % 2 == 0 ? ++low : --high;
+            tree.insert(slot(i, start, 30));
+        }
+        assertTrue(tree.height() <= maxAvlHeight(1000), "height " + tree.height());
+    }
+
+    @Test
+    void removalsKeepTreeBalancedAndQueriesCorrect() {
+        VenueIntervalTree tree = new VenueIntervalTree();
+        List<VenueIntervalTree.Slot> slots = new ArrayList<>();
+        for (long i = 0; i < 2000; i++) {
+            VenueIntervalTree.Slot slot = slot(i, i * 10, 5);
+            slots.add(slot);
+            tree.insert(slot);
+        }
+        for (int i = 0; i < slots.size(); i += 2) {
+            assertTrue(tree.remove(slots.get(i)));
+        }
+        assertEquals(1000, tree.size());
+        assertTrue(tree.height() <= maxAvlHeight(1000), "height " + tree.height());
+        assertEquals(List.of(slots.get(1), slots.get(3)), tree.overlapping(BASE, BASE.plusMinutes(35)));
+    }
+
+    @Test
+    void overlapQueriesMatchBruteForce() {
+        Random random = new Random(42);
+        VenueIntervalTree tree = new VenueIntervalTree();
+        List<VenueIntervalTree.Slot> slots = new ArrayList<>();
+        for (long i = 0; i < 500; i++) {
+            VenueIntervalTree.Slot slot = slot(i, random.nextInt(10_000), 1 + random.nextInt(600));
+            slots.add(slot);
+            tree.insert(slot);
+        }
+        // Remove a random fifth so the max-end augmentation is exercised after deletions too
+        Collections.shuffle(slots, random);
+        for (VenueIntervalTree.Slot slot : new ArrayList<>(slots.subList(0, 100))) {
+            assertTrue(tree.remove(slot));
+            slots.remove(slot);
+        }
+
+        for (int query = 0; query < 500; query++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(11_000));
+            LocalDateTime end = start.plusMinutes(1 + random.nextInt(300));
+            List<VenueIntervalTree.Slot> expected = slots.stream()
+                    .filter(slot -> slot.overlaps(start, end))
+                    .sorted(Comparator.comparing(VenueIntervalTree.Slot::start).thenComparing(VenueIntervalTree.Slot::matchId))
+                    .toList();
+            assertEquals(expected, tree.overlapping(start, end), "query [" + start + ", " + end + ")");
+        }
+    }
+
+    @Test
+    void intervalsAreHalfOpen() {
+        VenueIntervalTree tree = new VenueIntervalTree();
+        VenueIntervalTree.Slot slot = slot(1, 60, 60);
+        tree.insert(slot);
+
+        assertTrue(tree.overlapping(BASE, BASE.plusMinutes(60)).isEmpty());
+        assertTrue(tree.overlapping(BASE.plusMinutes(120), BASE.plusMinutes(180)).isEmpty());
+        assertEquals(List.of(slot), tree.overlapping(BASE.plusMinutes(119), BASE.plusMinutes(180)));
+    }
+
+    @Test
+    void slotsOfOneMatchWithTheSameStartAreKeptApart() {
+        VenueIntervalTree tree = new VenueIntervalTree();
+        VenueIntervalTree.Slot committed = slot(1, 0, 60);
+        VenueIntervalTree.Slot pending = slot(1, 0, 90);
+        tree.insert(committed);
+        tree.insert(pending);
+
+        assertTrue(tree.remove(committed));
+        assertEquals(List.of(pending), tree.overlapping(BASE, BASE.plusMinutes(120)));
+        assertFalse(tree.remove(committed));
+        assertTrue(tree.remove(pending));
+        assertTrue(tree.isEmpty());
+    }
+
+    private static VenueIntervalTree.Slot slot(long matchId, long startMinute, long lengthMinutes) {
+        LocalDateTime start = BASE.plusMinutes(startMinute);
+        return new VenueIntervalTree.Slot(matchId, null, "Court 1", start, start.plusMinutes(lengthMinutes));
+    }
+
+    private static int maxAvlHeight(int size) {
+        return (int) Math.floor(1.44 * Math.log(size + 2) / Math.log(2));
+    }
+}